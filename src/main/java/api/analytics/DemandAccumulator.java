@@ -0,0 +1,88 @@
+package api.analytics;
+
+import api.pojos.response.CartResponse;
+import api.utils.collections.IntLongHashMap;
+import api.utils.collections.LongLongHashMap;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mutable per-thread container of a parallel demand reduction
+ * Each worker folds its carts into its own primitive maps; the partial results are then
+ * summed pairwise, so no map is shared and nothing is boxed.
+ *
+ */
+final class DemandAccumulator {
+
+    final IntLongHashMap quantities = new IntLongHashMap();
+    final IntLongHashMap carts = new IntLongHashMap();
+    /** (productId, userId) packed into one key, counted per cart */
+    final LongLongHashMap userProducts = new LongLongHashMap();
+    /** (lower productId, higher productId) packed into one key, counted per cart */
+    final LongLongHashMap pairs = new LongLongHashMap();
+    long cartCount;
+    long lineCount;
+    /** Reused per cart on the owning thread */
+    private int[] distinct = new int[16];
+
+    void add(CartResponse cart) {
+        cartCount++;
+        List<CartResponse.ProductItem> items = cart.getProducts();
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        if (distinct.length < items.size()) {
+            distinct = new int[Math.max(items.size(), distinct.length * 2)];
+        }
+        int count = 0;
+        for (CartResponse.ProductItem item : items) {
+            if (item.getProductId() == null) {
+                continue;
+            }
+            int productId = item.getProductId();
+            quantities.addTo(productId, item.getQuantity() != null ? item.getQuantity() : 0);
+            distinct[count++] = productId;
+            lineCount++;
+        }
+
+        // A product listed on several lines of a cart counts once for carts, users and pairs
+        Arrays.sort(distinct, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[unique++] = distinct[i];
+            }
+        }
+        for (int i = 0; i < unique; i++) {
+            carts.addTo(distinct[i], 1);
+            if (cart.getUserId() != null) {
+                userProducts.addTo(pack(distinct[i], cart.getUserId()), 1);
+            }
+            for (int j = i + 1; j < unique; j++) {
+                pairs.addTo(pack(distinct[i], distinct[j]), 1);
+            }
+        }
+    }
+
+    void merge(DemandAccumulator other) {
+        quantities.addAll(other.quantities);
+        carts.addAll(other.carts);
+        userProducts.addAll(other.userProducts);
+        pairs.addAll(other.pairs);
+        cartCount += other.cartCount;
+        lineCount += other.lineCount;
+    }
+
+    static long pack(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    static int high(long key) {
+        return (int) (key >>> 32);
+    }
+
+    static int low(long key) {
+        return (int) key;
+    }
+}
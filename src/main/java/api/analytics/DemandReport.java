@@ -0,0 +1,191 @@
+package api.analytics;
+
+import api.pojos.response.CartResponse;
+import api.utils.collections.IntLongHashMap;
+import api.utils.collections.LongLongHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Per-product demand over a cart snapshot
+ * Built by a parallel reduction: every worker thread folds its share of the carts into
+ * its own primitive int/long maps (quantity and carts per product, carts per product and
+ * user, carts per product pair) and the partial maps are summed, without a boxed key or
+ * a groupingBy collector. Lookups are hash probes; top-N queries scan the maps once.
+ *
+ * <pre>
+ * DemandReport demand = DemandReport.of(carts);
+ * List&lt;ProductDemand&gt; best = demand.topByQuantity(10);
+ * List&lt;ProductPair&gt; together = demand.topPairs(10);
+ * </pre>
+ *
+ */
+public class DemandReport {
+
+    private final IntLongHashMap quantities;
+    private final IntLongHashMap carts;
+    private final IntLongHashMap distinctUsers;
+    private final LongLongHashMap pairs;
+    private final long cartCount;
+    private final long lineCount;
+
+    private DemandReport(DemandAccumulator result) {
+        this.quantities = result.quantities;
+        this.carts = result.carts;
+        this.pairs = result.pairs;
+        this.cartCount = result.cartCount;
+        this.lineCount = result.lineCount;
+        this.distinctUsers = new IntLongHashMap(result.carts.size());
+        result.userProducts.forEach((key, count) -> distinctUsers.addTo(DemandAccumulator.high(key), 1));
+    }
+
+    /**
+     * Aggregate demand over all carts on all cores
+     * @param carts Carts
+     * @return DemandReport
+     */
+    public static DemandReport of(CartResponse[] carts) {
+        return new DemandReport(Arrays.stream(carts).parallel()
+                .collect(DemandAccumulator::new, DemandAccumulator::add, DemandAccumulator::merge));
+    }
+
+    /**
+     * Aggregate demand over all carts on all cores
+     * @param carts Carts
+     * @return DemandReport
+     */
+    public static DemandReport of(Collection<CartResponse> carts) {
+        return new DemandReport(carts.parallelStream()
+                .collect(DemandAccumulator::new, DemandAccumulator::add, DemandAccumulator::merge));
+    }
+
+    public long getCarts() {
+        return cartCount;
+    }
+
+    public long getLines() {
+        return lineCount;
+    }
+
+    /**
+     * Number of distinct products in the snapshot
+     * @return Product count
+     */
+    public int getProducts() {
+        return quantities.size();
+    }
+
+    /**
+     * Total quantity ordered of a product
+     * @param productId Product ID
+     * @return Quantity, 0 when the product is in no cart
+     */
+    public long quantityOf(int productId) {
+        return quantities.get(productId, 0);
+    }
+
+    /**
+     * Carts containing a product
+     * @param productId Product ID
+     * @return Cart count
+     */
+    public long cartsWith(int productId) {
+        return carts.get(productId, 0);
+    }
+
+    /**
+     * Distinct users with the product in at least one cart
+     * @param productId Product ID
+     * @return User count
+     */
+    public long distinctUsersOf(int productId) {
+        return distinctUsers.get(productId, 0);
+    }
+
+    /**
+     * Carts containing both products
+     * @param productA Product ID
+     * @param productB Other product ID
+     * @return Cart count, 0 for the same product twice
+     */
+    public long cartsWithBoth(int productA, int productB) {
+        if (productA == productB) {
+            return 0;
+        }
+        return pairs.get(DemandAccumulator.pack(Math.min(productA, productB), Math.max(productA, productB)), 0);
+    }
+
+    /**
+     * Demand of one product
+     * @param productId Product ID
+     * @return ProductDemand
+     */
+    public ProductDemand demandOf(int productId) {
+        return ProductDemand.builder()
+                .productId(productId)
+                .quantity(quantityOf(productId))
+                .carts(cartsWith(productId))
+                .distinctUsers(distinctUsersOf(productId))
+                .build();
+    }
+
+    /**
+     * Products with the highest total quantity
+     * @param limit Maximum products
+     * @return Products by quantity, highest first, ties by product ID
+     */
+    public List<ProductDemand> topByQuantity(int limit) {
+        Comparator<ProductDemand> order = Comparator.comparingLong(ProductDemand::getQuantity).reversed()
+                .thenComparingInt(ProductDemand::getProductId);
+        PriorityQueue<ProductDemand> top = new PriorityQueue<>(order.reversed());
+        quantities.forEach((productId, quantity) -> {
+            if (limit <= 0) {
+                return;
+            }
+            if (top.size() < limit || quantity >= top.peek().getQuantity()) {
+                top.add(demandOf(productId));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        });
+        List<ProductDemand> result = new ArrayList<>(top);
+        result.sort(order);
+        return result;
+    }
+
+    /**
+     * Product pairs found together in the most carts
+     * @param limit Maximum pairs
+     * @return Pairs by cart count, highest first, ties by product IDs
+     */
+    public List<ProductPair> topPairs(int limit) {
+        Comparator<ProductPair> order = Comparator.comparingLong(ProductPair::getCarts).reversed()
+                .thenComparingInt(ProductPair::getProductA)
+                .thenComparingInt(ProductPair::getProductB);
+        PriorityQueue<ProductPair> top = new PriorityQueue<>(order.reversed());
+        pairs.forEach((key, count) -> {
+            if (limit <= 0) {
+                return;
+            }
+            if (top.size() < limit || count >= top.peek().getCarts()) {
+                top.add(ProductPair.builder()
+                        .productA(DemandAccumulator.high(key))
+                        .productB(DemandAccumulator.low(key))
+                        .carts(count)
+                        .build());
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        });
+        List<ProductPair> result = new ArrayList<>(top);
+        result.sort(order);
+        return result;
+    }
+}
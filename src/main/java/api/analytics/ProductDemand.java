@@ -0,0 +1,21 @@
+package api.analytics;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Product Demand value object
+ * Aggregated demand for one product over a cart snapshot
+ *
+ */
+@Value
+@Builder
+public class ProductDemand {
+
+    int productId;
+    /** Sum of the line quantities */
+    long quantity;
+    /** Carts containing the product */
+    long carts;
+    long distinctUsers;
+}
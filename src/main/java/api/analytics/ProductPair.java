@@ -0,0 +1,20 @@
+package api.analytics;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Product Pair value object
+ * Two products bought together, with the number of carts containing both
+ *
+ */
+@Value
+@Builder
+public class ProductPair {
+
+    /** Lower product ID */
+    int productA;
+    /** Higher product ID */
+    int productB;
+    long carts;
+}
@@ -1,5 +1,6 @@
 package api.base;
 
+import api.config.FrameworkConfig;
 import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
@@ -17,29 +18,33 @@ import org.testng.annotations.BeforeClass;
  */
 public class BaseTest {
 
-    protected static final String BASE_URI = "https://fakestoreapi.com";
-    protected static final String BASE_PATH = "";
-    
+    protected FrameworkConfig config;
     protected RequestSpecification requestSpec;
     protected ResponseSpecification responseSpec;
 
     @BeforeClass
     public void setup() {
-        RestAssured.baseURI = BASE_URI;
-        RestAssured.basePath = BASE_PATH;
+        // Base URI, timeouts, connection pool and logging from config.properties and overrides
+        config = FrameworkConfig.get();
+        config.applyToRestAssured();
+        LogDetail logDetail = config.getHttpLogDetail();
         
         // Request Specification
-        requestSpec = new RequestSpecBuilder()
+        RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder()
                 .setContentType(ContentType.JSON)
                 .setAccept(ContentType.JSON)
-                .addFilter(new AllureRestAssured())
-                .log(LogDetail.ALL)
-                .build();
+                .addFilter(new AllureRestAssured());
+        if (logDetail != null) {
+            requestSpecBuilder.log(logDetail);
+        }
+        requestSpec = requestSpecBuilder.build();
         
         // Response Specification
-        responseSpec = new ResponseSpecBuilder()
-                .log(LogDetail.ALL)
-                .build();
+        ResponseSpecBuilder responseSpecBuilder = new ResponseSpecBuilder();
+        if (logDetail != null) {
+            responseSpecBuilder.log(logDetail);
+        }
+        responseSpec = responseSpecBuilder.build();
     }
 
     /**
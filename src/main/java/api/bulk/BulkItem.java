@@ -0,0 +1,28 @@
+package api.bulk;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Bulk Item value object
+ * Outcome of one request in a bulk run, at the position of its input
+ *
+ * @param <R> Response body type
+ */
+@Value
+@Builder
+public class BulkItem<R> {
+
+    /** Zero-based position in the input */
+    int index;
+    /** HTTP status, 0 when the request failed before a response arrived */
+    int statusCode;
+    /** Deserialized body of a successful response, null without a response type or on failure */
+    R value;
+    /** Failure description, null on success */
+    String error;
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,59 @@
+package api.bulk;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk Result value object
+ * Per-item outcomes of a bulk run in input order, with totals
+ *
+ * @param <R> Response body type
+ */
+@Value
+@Builder
+public class BulkResult<R> {
+
+    /** One item per submitted request, in input order */
+    List<BulkItem<R>> items;
+    int succeeded;
+    int failed;
+    /** Fail-fast stopped the run before every input was submitted */
+    boolean aborted;
+    long elapsedMillis;
+
+    public int getSubmitted() {
+        return items.size();
+    }
+
+    /**
+     * Values of the successful items, in input order
+     * @return List of values
+     */
+    public List<R> values() {
+        return items.stream()
+                .filter(BulkItem::isSuccess)
+                .map(BulkItem::getValue)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Failed items, in input order
+     * @return List of BulkItem
+     */
+    public List<BulkItem<R>> failures() {
+        return items.stream()
+                .filter(item -> !item.isSuccess())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Requests completed per second
+     * @return Throughput
+     */
+    public double getThroughput() {
+        return elapsedMillis > 0 ? items.size() * 1000.0 / elapsedMillis : 0;
+    }
+}
@@ -0,0 +1,186 @@
+package api.bulk;
+
+import api.utils.JsonUtils;
+import api.utils.ThreadUtils;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Pipelined bulk requests with a bounded in-flight window
+ * Up to window requests are outstanding at once, each on its own (virtual, where available)
+ * thread, so seeding N items takes about N / window round trips instead of N. Inputs are
+ * pulled lazily, only when a window slot is free, so a Stream is never materialized.
+ * Results come back in input order with the error of every failed item; with fail-fast
+ * no new request is started after the first failure and in-flight ones are awaited.
+ *
+ * <pre>
+ * BulkResult&lt;ProductResponse&gt; result = BulkRunner.of(ProductsAPI::createProduct, ProductResponse.class)
+ *         .window(32)
+ *         .failFast(true)
+ *         .run(products);
+ * </pre>
+ *
+ * @param <Q> Request type
+ * @param <R> Response body type
+ */
+public class BulkRunner<Q, R> {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkRunner.class);
+
+    public static final int DEFAULT_WINDOW = 16;
+
+    private final Function<Q, Response> call;
+    private final Class<R> responseType;
+    private int window = DEFAULT_WINDOW;
+    private boolean failFast;
+
+    private BulkRunner(Function<Q, Response> call, Class<R> responseType) {
+        this.call = call;
+        this.responseType = responseType;
+    }
+
+    /**
+     * Create a runner for an endpoint call
+     * @param call Sends one request, e.g. ProductsAPI::createProduct
+     * @param responseType Class to deserialize successful responses into, or null to skip
+     * @param <Q> Request type
+     * @param <R> Response body type
+     * @return BulkRunner
+     */
+    public static <Q, R> BulkRunner<Q, R> of(Function<Q, Response> call, Class<R> responseType) {
+        return new BulkRunner<>(call, responseType);
+    }
+
+    /**
+     * Maximum requests in flight
+     * @param size Window size
+     * @return this runner
+     */
+    public BulkRunner<Q, R> window(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Window must be at least 1: " + size);
+        }
+        this.window = size;
+        return this;
+    }
+
+    /**
+     * Stop starting new requests after the first failure
+     * @param enabled Fail fast
+     * @return this runner
+     */
+    public BulkRunner<Q, R> failFast(boolean enabled) {
+        this.failFast = enabled;
+        return this;
+    }
+
+    /**
+     * Send every request in the list
+     * @param requests Requests in order
+     * @return BulkResult
+     */
+    public BulkResult<R> run(List<Q> requests) {
+        return run(requests.iterator());
+    }
+
+    /**
+     * Send every request of a stream, pulling items only as window slots free up
+     * @param requests Requests in order
+     * @return BulkResult
+     */
+    public BulkResult<R> run(Stream<Q> requests) {
+        try (Stream<Q> stream = requests) {
+            return run(stream.iterator());
+        }
+    }
+
+    private BulkResult<R> run(Iterator<Q> requests) {
+        long start = System.nanoTime();
+        Semaphore slots = new Semaphore(window);
+        List<CompletableFuture<BulkItem<R>>> pending = new ArrayList<>();
+        boolean aborted = false;
+        // A new executor per run: its threads start from the caller and inherit its Allure test context
+        ExecutorService executor = ThreadUtils.newThreadPerTaskExecutor("bulk-");
+        AtomicBoolean failed = new AtomicBoolean();
+        try {
+            while (requests.hasNext()) {
+                slots.acquire();
+                if (failFast && failed.get()) {
+                    slots.release();
+                    aborted = true;
+                    break;
+                }
+                Q request = requests.next();
+                int index = pending.size();
+                CompletableFuture<BulkItem<R>> item = CompletableFuture.supplyAsync(() -> send(index, request), executor);
+                item.whenComplete((result, error) -> {
+                    if (result == null || !result.isSuccess()) {
+                        failed.set(true);
+                    }
+                    slots.release();
+                });
+                pending.add(item);
+            }
+            slots.acquire(window);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            aborted = true;
+        } finally {
+            executor.shutdown();
+        }
+
+        List<BulkItem<R>> items = new ArrayList<>(pending.size());
+        int succeeded = 0;
+        for (CompletableFuture<BulkItem<R>> item : pending) {
+            BulkItem<R> result = item.join();
+            items.add(result);
+            if (result.isSuccess()) {
+                succeeded++;
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Bulk run: {} request(s), {} failed{}, window {}, {} ms", items.size(), items.size() - succeeded,
+                aborted ? ", stopped early" : "", window, elapsedMillis);
+        return BulkResult.<R>builder()
+                .items(items)
+                .succeeded(succeeded)
+                .failed(items.size() - succeeded)
+                .aborted(aborted)
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    /**
+     * Never throws: every outcome becomes an item
+     */
+    private BulkItem<R> send(int index, Q request) {
+        BulkItem.BulkItemBuilder<R> item = BulkItem.<R>builder().index(index);
+        try {
+            Response response = call.apply(request);
+            int status = response.getStatusCode();
+            item.statusCode(status);
+            if (status < 200 || status >= 300) {
+                return item.error("HTTP " + status + ": " + abbreviate(response.asString())).build();
+            }
+            return item.value(responseType != null ? JsonUtils.fromResponse(response, responseType) : null).build();
+        } catch (Exception e) {
+            // RestAssured rethrows checked IOExceptions undeclared, so RuntimeException is not enough
+            return item.error(e.toString()).build();
+        }
+    }
+
+    private static String abbreviate(String body) {
+        return body == null || body.length() <= 200 ? body : body.substring(0, 200) + "...";
+    }
+}
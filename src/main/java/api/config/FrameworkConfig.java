@@ -0,0 +1,343 @@
+package api.config;
+
+import api.retry.RetryBudget;
+import api.retry.RetryPolicy;
+import api.retry.RetryingHttpClient;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.log.LogDetail;
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.filter.log.ResponseLoggingFilter;
+import lombok.Builder;
+import lombok.Value;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.CoreConnectionPNames;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Framework Config value object
+ * Typed, immutable settings read from config.properties with layered overrides:
+ * built-in defaults, config.properties, config-&lt;profile&gt;.properties, environment
+ * variables (THREAD_COUNT for thread.count) and finally -D system properties.
+ * The profile (e.g. smoke, load, soak) is chosen with config.profile in any layer.
+ *
+ */
+@Value
+@Builder
+public class FrameworkConfig {
+
+    public static final String PROFILE_PROPERTY = "config.profile";
+
+    private static final Logger log = LoggerFactory.getLogger(FrameworkConfig.class);
+
+    private static final String BASE_FILE = "config.properties";
+    private static final List<String> LOG_LEVELS = Arrays.asList("TRACE", "DEBUG", "INFO", "WARN", "ERROR", "OFF");
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put(PROFILE_PROPERTY, "");
+        DEFAULTS.put("base.uri", "https://fakestoreapi.com");
+        DEFAULTS.put("base.path", "");
+        DEFAULTS.put("parallel.execution", "true");
+        DEFAULTS.put("thread.count", "3");
+        DEFAULTS.put("log.level", "INFO");
+        DEFAULTS.put("connection.timeout", "30000");
+        DEFAULTS.put("socket.timeout", "30000");
+        DEFAULTS.put("http.max.connections", "20");
+        DEFAULTS.put("http.reuse.connections", "false");
+        DEFAULTS.put("max.retry.count", "3");
+        DEFAULTS.put("retry.delay", "1000");
+        DEFAULTS.put("retry.max.delay", "30000");
+        DEFAULTS.put("retry.budget", "100");
+    }
+
+    private static volatile FrameworkConfig current;
+    private static FrameworkConfig applied;
+
+    /** Profile name, empty for none */
+    String profile;
+    String baseUri;
+    String basePath;
+    boolean parallelExecution;
+    int threadCount;
+    /** TRACE, DEBUG, INFO, WARN, ERROR or OFF; controls RestAssured request/response logging */
+    String logLevel;
+    int connectionTimeoutMillis;
+    int socketTimeoutMillis;
+    /** Size of the shared connection pool when connections are reused */
+    int maxConnections;
+    /** Share one pooled HTTP client across requests instead of a client per request */
+    boolean reuseConnections;
+    /** Retries of idempotent calls on transient failures; 0 disables retrying */
+    int maxRetryCount;
+    /** Base of the jittered exponential backoff */
+    long retryDelayMillis;
+    long retryMaxDelayMillis;
+    /** Total retries allowed across the run */
+    int retryBudget;
+    /** Layer each setting was taken from, e.g. "thread.count" -> "env THREAD_COUNT" */
+    Map<String, String> sources;
+
+    /**
+     * Configuration of this JVM, loaded on first use
+     * @return FrameworkConfig
+     */
+    public static FrameworkConfig get() {
+        FrameworkConfig config = current;
+        if (config == null) {
+            synchronized (FrameworkConfig.class) {
+                if (current == null) {
+                    current = load(System.getenv(), System.getProperties());
+                    log.info("Framework configuration: {}", current.describe());
+                }
+                config = current;
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Load the configuration from the classpath files and the given overrides
+     * @param environment Environment variables
+     * @param systemProperties System properties
+     * @return FrameworkConfig
+     */
+    public static FrameworkConfig load(Map<String, String> environment, Properties systemProperties) {
+        Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+        Map<String, String> sources = new TreeMap<>();
+        DEFAULTS.keySet().forEach(key -> sources.put(key, "default"));
+
+        Properties base = readResource(BASE_FILE);
+        merge(values, sources, base, BASE_FILE);
+
+        String profile = firstNonBlank(systemProperties.getProperty(PROFILE_PROPERTY),
+                environment.get(environmentName(PROFILE_PROPERTY)), values.get(PROFILE_PROPERTY));
+        if (!profile.isEmpty()) {
+            String profileFile = "config-" + profile + ".properties";
+            Properties overrides = readResource(profileFile);
+            if (overrides == null) {
+                throw new IllegalArgumentException("Unknown configuration profile '" + profile + "': " + profileFile + " not found");
+            }
+            merge(values, sources, overrides, profileFile);
+            values.put(PROFILE_PROPERTY, profile);
+        }
+
+        for (String key : values.keySet()) {
+            String name = environmentName(key);
+            String value = environment.get(name);
+            if (value != null) {
+                values.put(key, value.trim());
+                sources.put(key, "env " + name);
+            }
+        }
+        for (String key : values.keySet()) {
+            String value = systemProperties.getProperty(key);
+            if (value != null) {
+                values.put(key, value.trim());
+                sources.put(key, "-D" + key);
+            }
+        }
+
+        return FrameworkConfig.builder()
+                .profile(values.get(PROFILE_PROPERTY))
+                .baseUri(values.get("base.uri"))
+                .basePath(values.get("base.path"))
+                .parallelExecution(parseBoolean(values, sources, "parallel.execution"))
+                .threadCount(parseInt(values, sources, "thread.count", 1))
+                .logLevel(parseLogLevel(values, sources))
+                .connectionTimeoutMillis(parseInt(values, sources, "connection.timeout", 0))
+                .socketTimeoutMillis(parseInt(values, sources, "socket.timeout", 0))
+                .maxConnections(parseInt(values, sources, "http.max.connections", 1))
+                .reuseConnections(parseBoolean(values, sources, "http.reuse.connections"))
+                .maxRetryCount(parseInt(values, sources, "max.retry.count", 0))
+                .retryDelayMillis(parseInt(values, sources, "retry.delay", 0))
+                .retryMaxDelayMillis(parseInt(values, sources, "retry.max.delay", 0))
+                .retryBudget(parseInt(values, sources, "retry.budget", 0))
+                .sources(Collections.unmodifiableMap(sources))
+                .build();
+    }
+
+    /**
+     * Apply base URI, HTTP client timeouts, pool and retries, and request/response logging to RestAssured;
+     * repeated calls with the same configuration keep the existing pooled client
+     */
+    @SuppressWarnings("deprecation") // RestAssured configures HttpClient 4 through its legacy params
+    public void applyToRestAssured() {
+        synchronized (FrameworkConfig.class) {
+            if (applied == this) {
+                return;
+            }
+            applied = this;
+        }
+        RestAssured.baseURI = baseUri;
+        RestAssured.basePath = basePath;
+
+        HttpClientConfig httpClient = RestAssured.config().getHttpClientConfig()
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, connectionTimeoutMillis)
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, socketTimeoutMillis);
+        if (reuseConnections || maxRetryCount > 0) {
+            httpClient = httpClient.httpClientFactory(this::createHttpClient);
+        }
+        if (reuseConnections) {
+            httpClient = httpClient.reuseHttpClientInstance();
+            if (RestAssured.filters().stream().noneMatch(ResponseBufferingFilter.class::isInstance)) {
+                RestAssured.filters(new ResponseBufferingFilter());
+            }
+        }
+        RetryBudget.global().setLimit(retryBudget);
+        RestAssured.config = RestAssured.config().httpClient(httpClient);
+        installLogging();
+    }
+
+    /**
+     * Log detail for request/response specifications at the configured level
+     * @return LogDetail, or null when HTTP traffic should not be logged
+     */
+    public LogDetail getHttpLogDetail() {
+        return LOG_LEVELS.indexOf(logLevel) <= LOG_LEVELS.indexOf("INFO") ? LogDetail.ALL : null;
+    }
+
+    /**
+     * Retry policy for idempotent calls
+     * @return RetryPolicy
+     */
+    public RetryPolicy retryPolicy() {
+        return RetryPolicy.builder()
+                .maxRetries(maxRetryCount)
+                .baseDelayMillis(retryDelayMillis)
+                .maxDelayMillis(Math.max(retryDelayMillis, retryMaxDelayMillis))
+                .build();
+    }
+
+    /**
+     * One-line summary of the effective settings and where they came from
+     * @return Description
+     */
+    public String describe() {
+        StringBuilder description = new StringBuilder(profile.isEmpty() ? "no profile" : "profile " + profile);
+        sources.forEach((key, source) -> {
+            if (!"default".equals(source) && !BASE_FILE.equals(source)) {
+                description.append(", ").append(key).append(" from ").append(source);
+            }
+        });
+        return description.append(" -> threads=").append(parallelExecution ? threadCount : 1)
+                .append(", timeouts=").append(connectionTimeoutMillis).append('/').append(socketTimeoutMillis)
+                .append(" ms, pool=").append(reuseConnections ? String.valueOf(maxConnections) : "off")
+                .append(", retries=").append(maxRetryCount).append(" (").append(retryDelayMillis).append("..")
+                .append(retryMaxDelayMillis).append(" ms, budget ").append(retryBudget).append(')')
+                .append(", log=").append(logLevel).append(", baseUri=").append(baseUri).toString();
+    }
+
+    @SuppressWarnings("deprecation")
+    private DefaultHttpClient createHttpClient() {
+        ClientConnectionManager connections = null;
+        if (reuseConnections) {
+            PoolingClientConnectionManager pool = new PoolingClientConnectionManager();
+            pool.setMaxTotal(maxConnections);
+            pool.setDefaultMaxPerRoute(maxConnections);
+            connections = pool;
+        }
+        return maxRetryCount > 0
+                ? new RetryingHttpClient(connections, retryPolicy(), RetryBudget.global())
+                : new DefaultHttpClient(connections);
+    }
+
+    /**
+     * DEBUG and TRACE log every request and response, INFO only those failing RestAssured validation
+     */
+    private void installLogging() {
+        int level = LOG_LEVELS.indexOf(logLevel);
+        if (level <= LOG_LEVELS.indexOf("DEBUG")) {
+            List<Filter> filters = Arrays.asList(new RequestLoggingFilter(LogDetail.ALL), new ResponseLoggingFilter(LogDetail.ALL));
+            RestAssured.filters(filters);
+        } else if (level == LOG_LEVELS.indexOf("INFO")) {
+            RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        }
+    }
+
+    private static Properties readResource(String name) {
+        try (InputStream in = FrameworkConfig.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                return null;
+            }
+            Properties properties = new Properties();
+            properties.load(in);
+            return properties;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read configuration file: " + name, e);
+        }
+    }
+
+    private static void merge(Map<String, String> values, Map<String, String> sources, Properties layer, String source) {
+        if (layer == null) {
+            return;
+        }
+        for (String key : layer.stringPropertyNames()) {
+            values.put(key, layer.getProperty(key).trim());
+            sources.put(key, source);
+        }
+    }
+
+    /**
+     * Environment variable for a setting: thread.count -> THREAD_COUNT
+     */
+    private static String environmentName(String key) {
+        return key.toUpperCase(Locale.ROOT).replace('.', '_');
+    }
+
+    private static String firstNonBlank(String... candidates) {
+        for (String candidate : candidates) {
+            if (candidate != null && !candidate.isBlank()) {
+                return candidate.trim();
+            }
+        }
+        return "";
+    }
+
+    private static int parseInt(Map<String, String> values, Map<String, String> sources, String key, int minimum) {
+        try {
+            int value = Integer.parseInt(values.get(key));
+            if (value < minimum) {
+                throw new IllegalArgumentException(invalid(values, sources, key) + ": must be at least " + minimum);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(invalid(values, sources, key) + ": not a number", e);
+        }
+    }
+
+    private static boolean parseBoolean(Map<String, String> values, Map<String, String> sources, String key) {
+        String value = values.get(key).toLowerCase(Locale.ROOT);
+        if (!value.equals("true") && !value.equals("false")) {
+            throw new IllegalArgumentException(invalid(values, sources, key) + ": expected true or false");
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    private static String parseLogLevel(Map<String, String> values, Map<String, String> sources) {
+        String level = values.get("log.level").toUpperCase(Locale.ROOT);
+        if (!LOG_LEVELS.contains(level)) {
+            throw new IllegalArgumentException(invalid(values, sources, "log.level") + ": expected one of " + LOG_LEVELS);
+        }
+        return level;
+    }
+
+    private static String invalid(Map<String, String> values, Map<String, String> sources, String key) {
+        return "Invalid " + key + "='" + values.get(key) + "' (from " + sources.get(key) + ")";
+    }
+}
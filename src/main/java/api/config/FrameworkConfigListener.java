@@ -0,0 +1,35 @@
+package api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Applies parallel.execution and thread.count from FrameworkConfig to the suites
+ * before they run, replacing the values in testng.xml. A suite that is not
+ * parallel in testng.xml runs its methods in parallel when enabled.
+ *
+ */
+public class FrameworkConfigListener implements IAlterSuiteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(FrameworkConfigListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        FrameworkConfig config = FrameworkConfig.get();
+        for (XmlSuite suite : suites) {
+            if (!config.isParallelExecution()) {
+                suite.setParallel(XmlSuite.ParallelMode.NONE);
+            } else {
+                if (suite.getParallel() == null || suite.getParallel() == XmlSuite.ParallelMode.NONE) {
+                    suite.setParallel(XmlSuite.ParallelMode.METHODS);
+                }
+                suite.setThreadCount(config.getThreadCount());
+            }
+            log.info("Suite '{}': parallel={}, thread-count={}", suite.getName(), suite.getParallel(), suite.getThreadCount());
+        }
+    }
+}
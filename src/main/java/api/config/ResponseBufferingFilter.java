@@ -0,0 +1,25 @@
+package api.config;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Reads every response body to the end so its connection returns to the pool
+ * Needed when one pooled HTTP client is shared: callers that only check the
+ * status code would otherwise hold on to their connection until it is collected.
+ *
+ */
+class ResponseBufferingFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        response.asByteArray();
+        return response;
+    }
+}
@@ -0,0 +1,28 @@
+package api.diff;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Diff Summary value object
+ * Totals of one snapshot diff
+ *
+ */
+@Value
+@Builder
+public class DiffSummary {
+
+    long unchanged;
+    long added;
+    long removed;
+    long changed;
+    /** Changed entities per field path, array indexes collapsed (products[].quantity) */
+    Map<String, Long> fieldChanges;
+    long elapsedMillis;
+
+    public boolean isIdentical() {
+        return added == 0 && removed == 0 && changed == 0;
+    }
+}
@@ -0,0 +1,28 @@
+package api.diff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Entity Change value object
+ * An entity added, removed or changed between two snapshots
+ *
+ */
+@Value
+@Builder
+public class EntityChange {
+
+    public enum Type { ADDED, REMOVED, CHANGED }
+
+    Type type;
+    long id;
+    /** Entity in the earlier snapshot, null when added */
+    JsonNode before;
+    /** Entity in the later snapshot, null when removed */
+    JsonNode after;
+    /** Changed fields, empty unless changed */
+    List<FieldChange> fields;
+}
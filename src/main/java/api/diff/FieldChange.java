@@ -0,0 +1,22 @@
+package api.diff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Field Change value object
+ * One leaf value that differs between two versions of an entity
+ *
+ */
+@Value
+@Builder
+public class FieldChange {
+
+    /** Dotted path with array indexes, e.g. rating.rate or products[1].quantity */
+    String path;
+    /** Old value, null when the field was added */
+    JsonNode before;
+    /** New value, null when the field was removed */
+    JsonNode after;
+}
@@ -0,0 +1,317 @@
+package api.diff;
+
+import api.utils.JsonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Entity-level diff of two snapshots of a collection (products, users, carts)
+ * Both snapshots are ordered by ID and then merge-joined in one streaming pass: an ID
+ * only in the earlier snapshot is removed, only in the later one added, and in both it is
+ * compared field by field (nested objects and arrays included). Changes go to a consumer
+ * as they are found. Unsorted input goes through an external merge sort that keeps at
+ * most runSize entities per snapshot in memory and spills sorted runs to temporary files,
+ * so snapshots of millions of entities are diffed in a fixed memory budget. Snapshots
+ * written with writeSorted can be diffed with diffSorted without sorting again.
+ *
+ * <pre>
+ * DiffSummary summary = SnapshotDiff.byId().diff(previousResponse, ProductsAPI.getAllProducts(),
+ *         change -&gt; log.info("{} {} {}", change.getType(), change.getId(), change.getFields()));
+ * </pre>
+ *
+ */
+public class SnapshotDiff {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotDiff.class);
+
+    public static final int DEFAULT_RUN_SIZE = 100_000;
+
+    private final String idField;
+    private int runSize = DEFAULT_RUN_SIZE;
+    private Path tempDir = Paths.get(System.getProperty("java.io.tmpdir"));
+
+    private SnapshotDiff(String idField) {
+        this.idField = idField;
+    }
+
+    /**
+     * Diff entities identified by their "id" field
+     * @return SnapshotDiff
+     */
+    public static SnapshotDiff byId() {
+        return by("id");
+    }
+
+    /**
+     * Diff entities identified by a top-level integer field
+     * @param idField ID field name
+     * @return SnapshotDiff
+     */
+    public static SnapshotDiff by(String idField) {
+        return new SnapshotDiff(idField);
+    }
+
+    /**
+     * Maximum entities of one snapshot held in memory while sorting
+     * @param size Run size
+     * @return this diff
+     */
+    public SnapshotDiff runSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Run size must be at least 1: " + size);
+        }
+        this.runSize = size;
+        return this;
+    }
+
+    /**
+     * Directory for the sort runs of snapshots larger than the run size
+     * @param directory Temporary directory
+     * @return this diff
+     */
+    public SnapshotDiff tempDir(Path directory) {
+        this.tempDir = directory;
+        return this;
+    }
+
+    /**
+     * Diff two fetched collections (JSON arrays)
+     * @param before Earlier response
+     * @param after Later response
+     * @param changes Receives every change in ID order
+     * @return DiffSummary
+     */
+    public DiffSummary diff(Response before, Response after, Consumer<EntityChange> changes) {
+        try (MappingIterator<JsonNode> a = JsonUtils.readValues(before.asInputStream(), JsonNode.class);
+             MappingIterator<JsonNode> b = JsonUtils.readValues(after.asInputStream(), JsonNode.class)) {
+            return diff(a, b, changes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to close snapshot responses", e);
+        }
+    }
+
+    /**
+     * Diff two snapshot files: JSON lines, or Smile with a ".smile" extension
+     * @param before Earlier snapshot
+     * @param after Later snapshot
+     * @param changes Receives every change in ID order
+     * @return DiffSummary
+     */
+    public DiffSummary diff(Path before, Path after, Consumer<EntityChange> changes) {
+        try (MappingIterator<JsonNode> a = JsonUtils.readValues(before.toString(), JsonNode.class);
+             MappingIterator<JsonNode> b = JsonUtils.readValues(after.toString(), JsonNode.class)) {
+            return diff(a, b, changes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to close snapshot files", e);
+        }
+    }
+
+    /**
+     * Diff two snapshots in any order
+     * @param before Earlier entities, POJOs or JsonNodes
+     * @param after Later entities, POJOs or JsonNodes
+     * @param changes Receives every change in ID order
+     * @return DiffSummary
+     */
+    public DiffSummary diff(Iterator<?> before, Iterator<?> after, Consumer<EntityChange> changes) {
+        long start = System.nanoTime();
+        try (SortedRuns a = SortedRuns.sort(before, idField, runSize, tempDir);
+             SortedRuns b = SortedRuns.sort(after, idField, runSize, tempDir)) {
+            return merge(a, b, changes, start);
+        }
+    }
+
+    /**
+     * Diff two snapshot files written by writeSorted, in a single pass without sorting
+     * @param before Earlier snapshot
+     * @param after Later snapshot
+     * @param changes Receives every change in ID order
+     * @return DiffSummary
+     */
+    public DiffSummary diffSorted(Path before, Path after, Consumer<EntityChange> changes) {
+        try (MappingIterator<JsonNode> a = JsonUtils.readValues(before.toString(), JsonNode.class);
+             MappingIterator<JsonNode> b = JsonUtils.readValues(after.toString(), JsonNode.class)) {
+            return diffSorted(a, b, changes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to close snapshot files", e);
+        }
+    }
+
+    /**
+     * Diff two snapshots already in ascending ID order, in a single pass
+     * @param before Earlier entities, POJOs or JsonNodes
+     * @param after Later entities, POJOs or JsonNodes
+     * @param changes Receives every change in ID order
+     * @return DiffSummary
+     * @throws IllegalStateException if an ID is out of order or repeated
+     */
+    public DiffSummary diffSorted(Iterator<?> before, Iterator<?> after, Consumer<EntityChange> changes) {
+        return merge(before, after, changes, System.nanoTime());
+    }
+
+    private DiffSummary merge(Iterator<?> before, Iterator<?> after, Consumer<EntityChange> changes, long start) {
+        Side a = new Side(before, "earlier");
+        Side b = new Side(after, "later");
+        long unchanged = 0;
+        long added = 0;
+        long removed = 0;
+        long changed = 0;
+        Map<String, Long> fieldChanges = new TreeMap<>();
+
+        while (a.node != null || b.node != null) {
+            if (b.node == null || (a.node != null && a.id < b.id)) {
+                changes.accept(change(EntityChange.Type.REMOVED, a.id, a.node, null, List.of()));
+                removed++;
+                a.advance();
+            } else if (a.node == null || b.id < a.id) {
+                changes.accept(change(EntityChange.Type.ADDED, b.id, null, b.node, List.of()));
+                added++;
+                b.advance();
+            } else {
+                List<FieldChange> fields = new ArrayList<>();
+                compare("", a.node, b.node, fields);
+                if (fields.isEmpty()) {
+                    unchanged++;
+                } else {
+                    changes.accept(change(EntityChange.Type.CHANGED, a.id, a.node, b.node, fields));
+                    changed++;
+                    Set<String> paths = new LinkedHashSet<>();
+                    for (FieldChange field : fields) {
+                        paths.add(field.getPath().replaceAll("\\[\\d+]", "[]"));
+                    }
+                    paths.forEach(path -> fieldChanges.merge(path, 1L, Long::sum));
+                }
+                a.advance();
+                b.advance();
+            }
+        }
+
+        DiffSummary summary = DiffSummary.builder()
+                .unchanged(unchanged)
+                .added(added)
+                .removed(removed)
+                .changed(changed)
+                .fieldChanges(Collections.unmodifiableMap(fieldChanges))
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+        log.info("Snapshot diff: {} added, {} removed, {} changed, {} unchanged", added, removed, changed, unchanged);
+        return summary;
+    }
+
+    /**
+     * Sort a snapshot by ID into a file for later diffSorted calls
+     * @param values Entities in any order, POJOs or JsonNodes
+     * @param target JSON-lines file, or Smile with a ".smile" extension
+     * @return Number of entities written
+     */
+    public long writeSorted(Iterator<?> values, Path target) {
+        try (SortedRuns sorted = SortedRuns.sort(values, idField, runSize, tempDir)) {
+            return JsonUtils.writeValues(sorted, target.toString());
+        }
+    }
+
+    static long id(JsonNode node, String idField) {
+        JsonNode id = node.get(idField);
+        if (id == null || !id.isIntegralNumber() || !id.canConvertToLong()) {
+            throw new IllegalArgumentException("Entity has no integer '" + idField + "': " + abbreviate(node.toString()));
+        }
+        return id.longValue();
+    }
+
+    /**
+     * Collect the leaf differences of two JSON values; numbers compare by value (10 equals 10.0)
+     */
+    private static void compare(String path, JsonNode before, JsonNode after, List<FieldChange> fields) {
+        boolean hasBefore = before != null && !before.isMissingNode();
+        boolean hasAfter = after != null && !after.isMissingNode();
+        if (hasBefore && hasAfter) {
+            if (before.isObject() && after.isObject()) {
+                Set<String> names = new LinkedHashSet<>();
+                before.fieldNames().forEachRemaining(names::add);
+                after.fieldNames().forEachRemaining(names::add);
+                for (String name : names) {
+                    compare(path.isEmpty() ? name : path + "." + name, before.get(name), after.get(name), fields);
+                }
+                return;
+            }
+            if (before.isArray() && after.isArray()) {
+                for (int i = 0; i < Math.max(before.size(), after.size()); i++) {
+                    compare(path + "[" + i + "]", before.get(i), after.get(i), fields);
+                }
+                return;
+            }
+            if (before.equals(after) || (before.isNumber() && after.isNumber()
+                    && before.decimalValue().compareTo(after.decimalValue()) == 0)) {
+                return;
+            }
+        } else if (!hasBefore && !hasAfter) {
+            return;
+        }
+        fields.add(FieldChange.builder()
+                .path(path)
+                .before(hasBefore ? before : null)
+                .after(hasAfter ? after : null)
+                .build());
+    }
+
+    private static EntityChange change(EntityChange.Type type, long id, JsonNode before, JsonNode after, List<FieldChange> fields) {
+        return EntityChange.builder()
+                .type(type)
+                .id(id)
+                .before(before)
+                .after(after)
+                .fields(fields)
+                .build();
+    }
+
+    private static String abbreviate(String json) {
+        return json.length() <= 200 ? json : json.substring(0, 200) + "...";
+    }
+
+    /**
+     * Current entity of one snapshot, checking that IDs ascend
+     */
+    private final class Side {
+        final Iterator<?> values;
+        final String name;
+        JsonNode node;
+        long id;
+
+        Side(Iterator<?> values, String name) {
+            this.values = values;
+            this.name = name;
+            advance();
+        }
+
+        void advance() {
+            if (!values.hasNext()) {
+                node = null;
+                return;
+            }
+            long previous = id;
+            boolean first = node == null;
+            node = JsonUtils.toTree(values.next());
+            id = SnapshotDiff.id(node, idField);
+            if (!first && id <= previous) {
+                throw new IllegalStateException("The " + name + " snapshot is not in ascending ID order: "
+                        + id + " follows " + previous + (id == previous ? " (duplicate ID)" : ""));
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package api.diff;
+
+import api.utils.JsonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * External merge sort of entities by ID
+ * Entities are read in runs of at most runSize; each run is sorted and, unless the whole
+ * input fits in one run, spilled to a temporary Smile file. Iteration merges the runs
+ * through a heap holding one entity per run, so memory stays bounded by the run size.
+ * Temporary files are deleted on close.
+ *
+ */
+final class SortedRuns implements Iterator<JsonNode>, Closeable {
+
+    private final List<Path> files = new ArrayList<>();
+    private final List<MappingIterator<JsonNode>> readers = new ArrayList<>();
+    private final PriorityQueue<Cursor> heap = new PriorityQueue<>(Comparator.comparingLong(cursor -> cursor.id));
+    private final String idField;
+    private Iterator<JsonNode> inMemory;
+
+    private SortedRuns(String idField) {
+        this.idField = idField;
+    }
+
+    static SortedRuns sort(Iterator<?> values, String idField, int runSize, Path tempDir) {
+        SortedRuns runs = new SortedRuns(idField);
+        try {
+            List<JsonNode> run = new ArrayList<>(Math.min(runSize, 1024));
+            while (values.hasNext()) {
+                run.add(JsonUtils.toTree(values.next()));
+                if (run.size() == runSize) {
+                    runs.spill(run, tempDir);
+                    run = new ArrayList<>(Math.min(runSize, 1024));
+                }
+            }
+            if (runs.files.isEmpty()) {
+                run.sort(Comparator.comparingLong(node -> SnapshotDiff.id(node, idField)));
+                runs.inMemory = run.iterator();
+            } else {
+                if (!run.isEmpty()) {
+                    runs.spill(run, tempDir);
+                }
+                runs.openRuns();
+            }
+            return runs;
+        } catch (RuntimeException e) {
+            runs.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return inMemory != null ? inMemory.hasNext() : !heap.isEmpty();
+    }
+
+    @Override
+    public JsonNode next() {
+        if (inMemory != null) {
+            return inMemory.next();
+        }
+        Cursor cursor = heap.poll();
+        if (cursor == null) {
+            throw new NoSuchElementException();
+        }
+        JsonNode value = cursor.node;
+        if (cursor.advance()) {
+            heap.add(cursor);
+        }
+        return value;
+    }
+
+    @Override
+    public void close() {
+        for (MappingIterator<JsonNode> reader : readers) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // Deleting the file below matters more than a failed close
+            }
+        }
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    private void spill(List<JsonNode> run, Path tempDir) {
+        run.sort(Comparator.comparingLong(node -> SnapshotDiff.id(node, idField)));
+        try {
+            Path file = Files.createTempFile(tempDir, "snapshot-run-", ".smile");
+            files.add(file);
+            JsonUtils.writeValues(run.iterator(), file.toString());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create a sort run in " + tempDir, e);
+        }
+    }
+
+    private void openRuns() {
+        for (Path file : files) {
+            MappingIterator<JsonNode> reader = JsonUtils.readValues(file.toString(), JsonNode.class);
+            readers.add(reader);
+            Cursor cursor = new Cursor(reader);
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+    }
+
+    /**
+     * Head entity of one run
+     */
+    private final class Cursor {
+        final Iterator<JsonNode> reader;
+        JsonNode node;
+        long id;
+
+        Cursor(Iterator<JsonNode> reader) {
+            this.reader = reader;
+        }
+
+        boolean advance() {
+            if (!reader.hasNext()) {
+                return false;
+            }
+            node = reader.next();
+            id = SnapshotDiff.id(node, idField);
+            return true;
+        }
+    }
+}
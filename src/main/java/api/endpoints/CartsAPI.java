@@ -1,9 +1,16 @@
 package api.endpoints;
 
+import api.bulk.BulkResult;
+import api.bulk.BulkRunner;
+import api.paging.PageSource;
 import api.pojos.request.CartRequest;
+import api.pojos.response.CartResponse;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 import static io.restassured.RestAssured.given;
 
 /**
@@ -68,6 +75,46 @@ public class CartsAPI {
                 .post(CARTS_ENDPOINT);
     }
 
+    /**
+     * Create carts with up to window requests in flight
+     * @param carts Cart request bodies
+     * @param window Maximum requests in flight
+     * @return BulkResult in input order
+     */
+    @Step("Create carts in bulk (window {window})")
+    public static BulkResult<CartResponse> createCarts(List<CartRequest> carts, int window) {
+        return BulkRunner.<CartRequest, CartResponse>of(CartsAPI::createCart, CartResponse.class)
+                .window(window)
+                .run(carts);
+    }
+
+    /**
+     * Create carts from a stream with up to window requests in flight; the stream is read lazily
+     * @param carts Cart request bodies
+     * @param window Maximum requests in flight
+     * @return BulkResult in input order
+     */
+    @Step("Create carts in bulk (window {window})")
+    public static BulkResult<CartResponse> createCarts(Stream<CartRequest> carts, int window) {
+        return BulkRunner.<CartRequest, CartResponse>of(CartsAPI::createCart, CartResponse.class)
+                .window(window)
+                .run(carts);
+    }
+
+    /**
+     * Create a new cart from a pre-serialized JSON body
+     * @param body UTF-8 JSON request body, e.g. from a RequestTemplate
+     * @return Response
+     */
+    @Step("Create new cart")
+    public static Response createCart(byte[] body) {
+        return given()
+                .contentType("application/json")
+                .body(body)
+                .when()
+                .post(CARTS_ENDPOINT);
+    }
+
     /**
      * Update a cart
      * @param cartId Cart ID
@@ -125,6 +172,19 @@ public class CartsAPI {
                 .get(CARTS_ENDPOINT);
     }
 
+    /**
+     * Walk all carts page by page, fetching the next page in the background
+     * Not an Allure step: pages are requested from a background thread
+     * @param pageSize Number of carts per page
+     * @return PageSource; use stream() or publisher()
+     */
+    public static PageSource<CartResponse> getCartPages(int pageSize) {
+        return new PageSource<>(limit -> given()
+                .queryParam("limit", limit)
+                .when()
+                .get(CARTS_ENDPOINT), CartResponse.class, pageSize);
+    }
+
     /**
      * Get sorted carts
      * @param sortOrder Sort order (asc or desc)
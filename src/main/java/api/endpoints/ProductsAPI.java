@@ -1,10 +1,16 @@
 package api.endpoints;
 
+import api.bulk.BulkResult;
+import api.bulk.BulkRunner;
+import api.paging.PageSource;
 import api.pojos.request.ProductRequest;
 import api.pojos.response.ProductResponse;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 import static io.restassured.RestAssured.given;
 
 /**
@@ -57,6 +63,32 @@ public class ProductsAPI {
                 .post(PRODUCTS_ENDPOINT);
     }
 
+    /**
+     * Create products with up to window requests in flight
+     * @param products Product request bodies
+     * @param window Maximum requests in flight
+     * @return BulkResult in input order
+     */
+    @Step("Create products in bulk (window {window})")
+    public static BulkResult<ProductResponse> createProducts(List<ProductRequest> products, int window) {
+        return BulkRunner.<ProductRequest, ProductResponse>of(ProductsAPI::createProduct, ProductResponse.class)
+                .window(window)
+                .run(products);
+    }
+
+    /**
+     * Create products from a stream with up to window requests in flight; the stream is read lazily
+     * @param products Product request bodies
+     * @param window Maximum requests in flight
+     * @return BulkResult in input order
+     */
+    @Step("Create products in bulk (window {window})")
+    public static BulkResult<ProductResponse> createProducts(Stream<ProductRequest> products, int window) {
+        return BulkRunner.<ProductRequest, ProductResponse>of(ProductsAPI::createProduct, ProductResponse.class)
+                .window(window)
+                .run(products);
+    }
+
     /**
      * Update a product
      * @param productId Product ID
@@ -139,6 +171,29 @@ public class ProductsAPI {
                 .get(PRODUCTS_ENDPOINT);
     }
 
+    /**
+     * Walk all products page by page, fetching the next page in the background
+     * Not an Allure step: pages are requested from a background thread
+     * @param pageSize Number of products per page
+     * @return PageSource; use stream() or publisher()
+     */
+    public static PageSource<ProductResponse> getProductPages(int pageSize) {
+        return new PageSource<>(limit -> given()
+                .queryParam("limit", limit)
+                .when()
+                .get(PRODUCTS_ENDPOINT), ProductResponse.class, pageSize);
+    }
+
+    /**
+     * Get all products without an Allure step, for background refreshes
+     * @return Response
+     */
+    public static Response getProductCatalog() {
+        return given()
+                .when()
+                .get(PRODUCTS_ENDPOINT);
+    }
+
     /**
      * Get sorted products
      * @param sortOrder Sort order (asc or desc)
@@ -1,9 +1,16 @@
 package api.endpoints;
 
+import api.bulk.BulkResult;
+import api.bulk.BulkRunner;
+import api.paging.PageSource;
 import api.pojos.request.UserRequest;
+import api.pojos.response.UserResponse;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 import static io.restassured.RestAssured.given;
 
 /**
@@ -54,6 +61,46 @@ public class UsersAPI {
                 .post(USERS_ENDPOINT);
     }
 
+    /**
+     * Create users with up to window requests in flight
+     * @param users User request bodies
+     * @param window Maximum requests in flight
+     * @return BulkResult in input order
+     */
+    @Step("Create users in bulk (window {window})")
+    public static BulkResult<UserResponse> createUsers(List<UserRequest> users, int window) {
+        return BulkRunner.<UserRequest, UserResponse>of(UsersAPI::createUser, UserResponse.class)
+                .window(window)
+                .run(users);
+    }
+
+    /**
+     * Create users from a stream with up to window requests in flight; the stream is read lazily
+     * @param users User request bodies
+     * @param window Maximum requests in flight
+     * @return BulkResult in input order
+     */
+    @Step("Create users in bulk (window {window})")
+    public static BulkResult<UserResponse> createUsers(Stream<UserRequest> users, int window) {
+        return BulkRunner.<UserRequest, UserResponse>of(UsersAPI::createUser, UserResponse.class)
+                .window(window)
+                .run(users);
+    }
+
+    /**
+     * Create a new user from a pre-serialized JSON body
+     * @param body UTF-8 JSON request body, e.g. from a RequestTemplate
+     * @return Response
+     */
+    @Step("Create new user")
+    public static Response createUser(byte[] body) {
+        return given()
+                .contentType("application/json")
+                .body(body)
+                .when()
+                .post(USERS_ENDPOINT);
+    }
+
     /**
      * Update a user
      * @param userId User ID
@@ -96,6 +143,29 @@ public class UsersAPI {
                 .get(USERS_ENDPOINT);
     }
 
+    /**
+     * Walk all users page by page, fetching the next page in the background
+     * Not an Allure step: pages are requested from a background thread
+     * @param pageSize Number of users per page
+     * @return PageSource; use stream() or publisher()
+     */
+    public static PageSource<UserResponse> getUserPages(int pageSize) {
+        return new PageSource<>(limit -> given()
+                .queryParam("limit", limit)
+                .when()
+                .get(USERS_ENDPOINT), UserResponse.class, pageSize);
+    }
+
+    /**
+     * Get all users without an Allure step, for background refreshes
+     * @return Response
+     */
+    public static Response getUserSnapshot() {
+        return given()
+                .when()
+                .get(USERS_ENDPOINT);
+    }
+
     /**
      * Get sorted users
      * @param sortOrder Sort order (asc or desc)
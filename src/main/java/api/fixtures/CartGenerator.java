@@ -0,0 +1,103 @@
+package api.fixtures;
+
+import api.pojos.request.CartRequest;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeded generator for CartRequest payloads
+ * User and product ids are drawn from the ranges the API serves, so generated
+ * carts always reference existing entities.
+ *
+ */
+public class CartGenerator extends SeededGenerator<CartRequest> {
+
+    public static final int DEFAULT_USER_COUNT = 10;
+    public static final int DEFAULT_PRODUCT_COUNT = 20;
+
+    private static final int MAX_ITEMS = 5;
+    private static final int MAX_QUANTITY = 5;
+    // 2019-01-01 and 2024-12-31 as days since 1970-01-01
+    private static final int FIRST_DAY = 17_897;
+    private static final int LAST_DAY = 20_088;
+
+    private static final int USER = 0;
+    private static final int DAY = 1;
+    private static final int ITEMS = 2;
+    private static final int FIRST_ITEM = 3;
+
+    private final int userCount;
+    private final int productCount;
+
+    public CartGenerator(long seed) {
+        this(seed, DEFAULT_USER_COUNT, DEFAULT_PRODUCT_COUNT);
+    }
+
+    public CartGenerator(long seed, int userCount, int productCount) {
+        super(seed, FIRST_ITEM + 2 * MAX_ITEMS);
+        this.userCount = userCount;
+        this.productCount = productCount;
+    }
+
+    @Override
+    void draw(long index, RecordRandom random, int[] slots) {
+        slots[USER] = random.nextInt(1, userCount + 1);
+        slots[DAY] = random.nextInt(FIRST_DAY, LAST_DAY + 1);
+        int items = random.nextInt(1, Math.min(MAX_ITEMS, productCount) + 1);
+        slots[ITEMS] = items;
+        // Distinct products: step through the id range from a random start with a random stride coprime to it
+        int start = random.nextInt(productCount);
+        int stride = coprimeStride(random.nextInt(1, Math.max(2, productCount)));
+        for (int i = 0; i < items; i++) {
+            slots[FIRST_ITEM + 2 * i] = (int) ((start + (long) i * stride) % productCount) + 1;
+            slots[FIRST_ITEM + 2 * i + 1] = random.nextInt(1, MAX_QUANTITY + 1);
+        }
+    }
+
+    @Override
+    CartRequest build(long index, int[] slots, TextBuffer text) {
+        int items = slots[ITEMS];
+        List<CartRequest.ProductItem> products = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            products.add(CartRequest.ProductItem.builder()
+                    .productId(slots[FIRST_ITEM + 2 * i])
+                    .quantity(slots[FIRST_ITEM + 2 * i + 1])
+                    .build());
+        }
+        return CartRequest.builder()
+                .userId(slots[USER])
+                .date(text.clear().appendDate(slots[DAY]).toString())
+                .products(products)
+                .build();
+    }
+
+    @Override
+    void write(long index, int[] slots, TextBuffer text, JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("userId", slots[USER]);
+        writeText(json, "date", text.clear().appendDate(slots[DAY]));
+        json.writeArrayFieldStart("products");
+        for (int i = 0; i < slots[ITEMS]; i++) {
+            json.writeStartObject();
+            json.writeNumberField("productId", slots[FIRST_ITEM + 2 * i]);
+            json.writeNumberField("quantity", slots[FIRST_ITEM + 2 * i + 1]);
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    private int coprimeStride(int candidate) {
+        while (gcd(candidate, productCount) != 1) {
+            candidate++;
+        }
+        return candidate;
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
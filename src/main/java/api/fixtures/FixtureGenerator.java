@@ -0,0 +1,45 @@
+package api.fixtures;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes generated fixture files for data-driven and volume tests. Run with:
+ * ./gradlew generateFixtures -Dfixtures.type=carts -Dfixtures.count=1000000 -Dfixtures.file=build/fixtures/carts.jsonl
+ *
+ */
+public class FixtureGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(FixtureGenerator.class);
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: FixtureGenerator <products|users|carts> <count> <file> [seed]");
+        }
+        long count = Long.parseLong(args[1]);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 0L;
+        SeededGenerator<?> generator = forType(args[0], seed);
+        long start = System.nanoTime();
+        generator.writeFile(args[2], count);
+        log.info("Wrote {} {} (seed {}) to {} in {} ms", count, args[0], seed, args[2], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Generator for a fixture type name
+     * @param type "products", "users" or "carts"
+     * @param seed Generator seed
+     * @return SeededGenerator
+     */
+    public static SeededGenerator<?> forType(String type, long seed) {
+        switch (type) {
+            case "products":
+                return new ProductGenerator(seed);
+            case "users":
+                return new UserGenerator(seed);
+            case "carts":
+                return new CartGenerator(seed);
+            default:
+                throw new IllegalArgumentException("Unknown fixture type: " + type + ", expected products, users or carts");
+        }
+    }
+}
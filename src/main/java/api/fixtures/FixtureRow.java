@@ -0,0 +1,46 @@
+package api.fixtures;
+
+/**
+ * Deferred fixture record for parallel data providers
+ * Bound to the record at its position in the file when the row is created, so its
+ * toString() (used by TestNG and Allure for the invocation's parameters) identifies
+ * the record, and a row that fails before get() does not shift the others. The record
+ * itself is only read when the test calls get() and is handed over, not kept.
+ *
+ */
+public class FixtureRow<T> {
+
+    private final FixtureWindow<T> window;
+    private final long index;
+    private boolean taken;
+
+    FixtureRow(FixtureWindow<T> window, long index) {
+        this.window = window;
+        this.index = index;
+    }
+
+    /**
+     * Read this row's record; may be called once
+     * @return Fixture record
+     */
+    public synchronized T get() {
+        if (taken) {
+            throw new IllegalStateException("Fixture row #" + index + " was already taken");
+        }
+        taken = true;
+        return window.get(index);
+    }
+
+    /**
+     * Zero-based position of the record in the fixture file
+     * @return Record index
+     */
+    public long index() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "fixture row #" + index;
+    }
+}
@@ -0,0 +1,232 @@
+package api.fixtures;
+
+import api.endpoints.CartsAPI;
+import api.endpoints.ProductsAPI;
+import api.endpoints.UsersAPI;
+import api.pojos.response.CartResponse;
+import api.pojos.response.ProductResponse;
+import api.pojos.response.UserResponse;
+import api.utils.JsonUtils;
+import io.restassured.response.Response;
+import lombok.Value;
+
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Suite-scoped store of reference data fetched once and shared across test classes
+ * Entries are keyed by endpoint template and parameters. The first caller of a key
+ * fetches and deserializes it while concurrent callers of the same key wait for that
+ * result; other keys load independently. Every caller then gets the same instances: lists
+ * are unmodifiable and the response POJOs are immutable, so no test can change what
+ * another reads. Types passed to list()/single() must be immutable as well. A failed
+ * load is not cached; the next caller retries.
+ *
+ */
+public class FixtureStore {
+
+    private static final FixtureStore SUITE = new FixtureStore();
+
+    private final Map<FixtureKey, CompletableFuture<Object>> entries = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Store shared by the running suite, cleared by FixtureStoreListener
+     * @return FixtureStore
+     */
+    public static FixtureStore suite() {
+        return SUITE;
+    }
+
+    /**
+     * All products (GET /products)
+     * @return Unmodifiable list of shared products
+     */
+    public List<ProductResponse> products() {
+        return list(ProductResponse.class, "GET /products", ProductsAPI::getAllProducts);
+    }
+
+    /**
+     * Product by ID (GET /products/{id})
+     * @param productId Product ID
+     * @return Shared product
+     */
+    public ProductResponse product(int productId) {
+        return single(ProductResponse.class, "GET /products/{id}", () -> ProductsAPI.getProductById(productId), productId);
+    }
+
+    /**
+     * All product categories (GET /products/categories)
+     * @return Unmodifiable list of categories
+     */
+    public List<String> categories() {
+        return list(String.class, "GET /products/categories", ProductsAPI::getAllCategories);
+    }
+
+    /**
+     * Products of a category (GET /products/category/{category})
+     * @param category Category name
+     * @return Unmodifiable list of shared products
+     */
+    public List<ProductResponse> productsInCategory(String category) {
+        return list(ProductResponse.class, "GET /products/category/{category}",
+                () -> ProductsAPI.getProductsByCategory(category), category);
+    }
+
+    /**
+     * All users (GET /users)
+     * @return Unmodifiable list of shared users
+     */
+    public List<UserResponse> users() {
+        return list(UserResponse.class, "GET /users", UsersAPI::getAllUsers);
+    }
+
+    /**
+     * User by ID (GET /users/{id})
+     * @param userId User ID
+     * @return Shared user
+     */
+    public UserResponse user(int userId) {
+        return single(UserResponse.class, "GET /users/{id}", () -> UsersAPI.getUserById(userId), userId);
+    }
+
+    /**
+     * All carts (GET /carts)
+     * @return Unmodifiable list of shared carts
+     */
+    public List<CartResponse> carts() {
+        return list(CartResponse.class, "GET /carts", CartsAPI::getAllCarts);
+    }
+
+    /**
+     * Cart by ID (GET /carts/{id})
+     * @param cartId Cart ID
+     * @return Shared cart
+     */
+    public CartResponse cart(int cartId) {
+        return single(CartResponse.class, "GET /carts/{id}", () -> CartsAPI.getCartById(cartId), cartId);
+    }
+
+    /**
+     * Load-once list fixture for any endpoint returning a JSON array
+     * @param type Element class
+     * @param endpoint Endpoint template, part of the key
+     * @param fetch Request returning the array
+     * @param params Request parameters, part of the key
+     * @param <T> Element type
+     * @return Unmodifiable list of shared elements
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> list(Class<T> type, String endpoint, Supplier<Response> fetch, Object... params) {
+        Class<T[]> arrayType = (Class<T[]>) Array.newInstance(type, 0).getClass();
+        return (List<T>) get(new FixtureKey(endpoint, Arrays.asList(params), arrayType), fetch,
+                json -> Collections.unmodifiableList(Arrays.asList(JsonUtils.fromJson(json, arrayType))));
+    }
+
+    /**
+     * Load-once fixture for any endpoint returning a single JSON document
+     * @param type Document class
+     * @param endpoint Endpoint template, part of the key
+     * @param fetch Request returning the document
+     * @param params Request parameters, part of the key
+     * @param <T> Document type
+     * @return Shared instance
+     */
+    public <T> T single(Class<T> type, String endpoint, Supplier<Response> fetch, Object... params) {
+        return type.cast(get(new FixtureKey(endpoint, Arrays.asList(params), type), fetch,
+                json -> JsonUtils.fromJson(json, type)));
+    }
+
+    /**
+     * Requests made to fill the store
+     * @return Load count
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    /**
+     * Calls served from the store without a request
+     * @return Hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop every entry and reset the counters
+     */
+    public void clear() {
+        entries.clear();
+        loads.reset();
+        hits.reset();
+    }
+
+    private Object get(FixtureKey key, Supplier<Response> fetch, Function<String, Object> parser) {
+        CompletableFuture<Object> existing = entries.get(key);
+        if (existing == null) {
+            CompletableFuture<Object> loading = new CompletableFuture<>();
+            existing = entries.putIfAbsent(key, loading);
+            if (existing == null) {
+                // Fetched outside any map lock so slow loads never block other keys
+                return load(key, loading, fetch, parser);
+            }
+        }
+        hits.increment();
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                    : new RuntimeException("Failed to load fixture " + key, e.getCause());
+        }
+    }
+
+    private Object load(FixtureKey key, CompletableFuture<Object> loading, Supplier<Response> fetch,
+                        Function<String, Object> parser) {
+        try {
+            Response response = fetch.get();
+            if (response.getStatusCode() != 200) {
+                throw new RuntimeException("Failed to load fixture " + key + ": HTTP " + response.getStatusCode());
+            }
+            String json = new String(response.asByteArray(), StandardCharsets.UTF_8);
+            Object value = parser.apply(json);
+            loads.increment();
+            loading.complete(value);
+            return value;
+        } catch (Throwable e) {
+            entries.remove(key, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Endpoint template, parameters and target type
+     */
+    @Value
+    private static class FixtureKey {
+        String endpoint;
+        List<Object> params;
+        Class<?> type;
+
+        @Override
+        public String toString() {
+            return params.isEmpty() ? endpoint : endpoint + " " + params;
+        }
+    }
+}
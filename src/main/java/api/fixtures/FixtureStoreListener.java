@@ -0,0 +1,30 @@
+package api.fixtures;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * TestNG suite listener scoping FixtureStore to one suite
+ * Clears the store on suite start and finish, and logs how many requests it saved
+ *
+ */
+public class FixtureStoreListener implements ISuiteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(FixtureStoreListener.class);
+
+    @Override
+    public void onStart(ISuite suite) {
+        FixtureStore.suite().clear();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        FixtureStore store = FixtureStore.suite();
+        if (store.size() > 0) {
+            log.info("Fixture store: {} fixture(s) loaded, {} served from the store", store.getLoads(), store.getHits());
+        }
+        store.clear();
+    }
+}
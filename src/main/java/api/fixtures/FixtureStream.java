@@ -0,0 +1,218 @@
+package api.fixtures;
+
+import api.utils.JsonUtils;
+import api.utils.ThreadUtils;
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded, lazily streamed fixture records for TestNG data providers
+ * A background thread reads a JSON-lines or Smile file through JsonUtils into a
+ * fixed-size read-ahead queue. The reader blocks while the queue is full, so at
+ * most readAhead records are in memory no matter how large the file is, and
+ * consumers on any number of threads take records as they run. Parallel rows read
+ * their own record by index through a FixtureWindow instead.
+ *
+ */
+public class FixtureStream<T> implements AutoCloseable {
+
+    public static final String DIR_PROPERTY = "fixtures.dir";
+    public static final int DEFAULT_READ_AHEAD = 256;
+    private static final String DEFAULT_DIR = "src/test/resources/fixtures";
+
+    private static final ThreadFactory READER_THREADS = ThreadUtils.daemonThreadFactory("fixture-reader-");
+    private static final Object END = new Object();
+
+    private final String filePath;
+    private final Class<T> type;
+    private final BlockingQueue<Object> queue;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile Thread reader;
+    private volatile boolean closed;
+
+    public FixtureStream(String filePath, Class<T> type, int readAhead) {
+        this.filePath = filePath;
+        this.type = type;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, readAhead));
+    }
+
+    /**
+     * Resolve a fixture file in the directory named by fixtures.dir
+     * @param fileName Fixture file name
+     * @return Fixture file path
+     */
+    public static String fixtureFile(String fileName) {
+        return Paths.get(System.getProperty(DIR_PROPERTY, DEFAULT_DIR), fileName).toString();
+    }
+
+    /**
+     * Rows for a sequential data provider, each holding one record
+     * @param filePath JSON-lines or Smile fixture file
+     * @param type Record class
+     * @param <T> Type parameter
+     * @return Lazy iterator of {record} rows
+     */
+    public static <T> Iterator<Object[]> rows(String filePath, Class<T> type) {
+        return rows(filePath, type, DEFAULT_READ_AHEAD);
+    }
+
+    /**
+     * Rows for a sequential data provider, each holding one record
+     * @param filePath JSON-lines or Smile fixture file
+     * @param type Record class
+     * @param readAhead Maximum records buffered ahead of the consumer
+     * @param <T> Type parameter
+     * @return Lazy iterator of {record} rows
+     */
+    public static <T> Iterator<Object[]> rows(String filePath, Class<T> type, int readAhead) {
+        FixtureStream<T> stream = new FixtureStream<>(filePath, type, readAhead);
+        return new Iterator<>() {
+            private FixtureRecord<T> next;
+
+            @Override
+            public synchronized boolean hasNext() {
+                if (next == null) {
+                    next = stream.take();
+                }
+                return next != null;
+            }
+
+            @Override
+            public synchronized Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T value = next.value;
+                next = null;
+                return new Object[]{value};
+            }
+        };
+    }
+
+    /**
+     * Rows for a parallel data provider, each holding a FixtureRow handle
+     * TestNG drains a parallel provider's iterator before running any invocation, so
+     * the rows carry handles instead of records: the file is counted up front with a
+     * token scan, each handle is bound to its record index, and the record is read
+     * through a bounded window only when its test method calls get().
+     * @param filePath JSON-lines or Smile fixture file
+     * @param type Record class
+     * @param <T> Type parameter
+     * @return Iterator of {FixtureRow} rows, one per record
+     */
+    public static <T> Iterator<Object[]> parallelRows(String filePath, Class<T> type) {
+        return parallelRows(filePath, type, DEFAULT_READ_AHEAD);
+    }
+
+    /**
+     * Rows for a parallel data provider, each holding a FixtureRow handle
+     * @param filePath JSON-lines or Smile fixture file
+     * @param type Record class
+     * @param readAhead Maximum records buffered ahead of the consumers
+     * @param <T> Type parameter
+     * @return Iterator of {FixtureRow} rows, one per record
+     */
+    public static <T> Iterator<Object[]> parallelRows(String filePath, Class<T> type, int readAhead) {
+        long count = JsonUtils.countValues(filePath);
+        FixtureWindow<T> window = new FixtureWindow<>(filePath, type, readAhead);
+        return new Iterator<>() {
+            private long issued;
+
+            @Override
+            public synchronized boolean hasNext() {
+                return issued < count;
+            }
+
+            @Override
+            public synchronized Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return new Object[]{new FixtureRow<>(window, issued++)};
+            }
+        };
+    }
+
+    /**
+     * Take the next record, starting the reader on first use
+     * @return Next record, or null once the file is exhausted
+     */
+    FixtureRecord<T> take() {
+        if (started.compareAndSet(false, true)) {
+            reader = READER_THREADS.newThread(this::read);
+            reader.start();
+        }
+        Object item;
+        try {
+            item = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while reading fixture file: " + filePath, e);
+        }
+        if (item == END || item instanceof RuntimeException) {
+            // Put the terminal marker back so every other consumer sees it too
+            queue.offer(item);
+            if (item == END) {
+                return null;
+            }
+            throw new RuntimeException("Failed to read fixture file: " + filePath, (RuntimeException) item);
+        }
+        @SuppressWarnings("unchecked")
+        FixtureRecord<T> record = (FixtureRecord<T>) item;
+        return record;
+    }
+
+    /**
+     * Stop the reader and release the file; only needed when records are left unread
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Thread current = reader;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void read() {
+        Object terminal = END;
+        try (MappingIterator<T> values = JsonUtils.readValues(filePath, type)) {
+            long index = 0;
+            while (!closed && values.hasNext()) {
+                queue.put(new FixtureRecord<>(index++, values.next()));
+            }
+        } catch (InterruptedException e) {
+            return;
+        } catch (RuntimeException e) {
+            terminal = e;
+        } catch (Exception e) {
+            terminal = new RuntimeException(e);
+        }
+        try {
+            queue.put(terminal);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Record with its position in the file
+     */
+    static final class FixtureRecord<T> {
+
+        final long index;
+        final T value;
+
+        FixtureRecord(long index, T value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+}
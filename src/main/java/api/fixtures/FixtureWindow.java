@@ -0,0 +1,104 @@
+package api.fixtures;
+
+import api.utils.JsonUtils;
+import com.fasterxml.jackson.databind.MappingIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.TreeMap;
+
+/**
+ * Random access to the records of a fixture file through a bounded window
+ * Records are read in file order as rows ask for them; records read past a requested
+ * index are kept until their own rows take them, at most readAhead at a time. When the
+ * window is full the lowest record is dropped, so a row that never calls get() cannot
+ * hold memory or stall other rows; should that row ask later, the file is rescanned up
+ * to its record.
+ *
+ */
+final class FixtureWindow<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(FixtureWindow.class);
+
+    private final String filePath;
+    private final Class<T> type;
+    private final int readAhead;
+    private final TreeMap<Long, T> buffered = new TreeMap<>();
+    private MappingIterator<T> values;
+    private long nextIndex;
+
+    FixtureWindow(String filePath, Class<T> type, int readAhead) {
+        this.filePath = filePath;
+        this.type = type;
+        this.readAhead = Math.max(1, readAhead);
+    }
+
+    /**
+     * Record at a position of the file
+     * @param index Zero-based record index
+     * @return Record
+     */
+    synchronized T get(long index) {
+        T value = buffered.remove(index);
+        if (value != null) {
+            return value;
+        }
+        if (index < nextIndex) {
+            return rescan(index);
+        }
+        if (values == null) {
+            values = JsonUtils.readValues(filePath, type);
+        }
+        while (nextIndex < index) {
+            if (!values.hasNext()) {
+                throw missing(index);
+            }
+            buffered.put(nextIndex++, values.next());
+            if (buffered.size() > readAhead) {
+                buffered.pollFirstEntry();
+            }
+        }
+        if (!values.hasNext()) {
+            throw missing(index);
+        }
+        nextIndex++;
+        value = values.next();
+        if (!values.hasNext()) {
+            close();
+        }
+        return value;
+    }
+
+    synchronized void close() {
+        if (values != null) {
+            try {
+                values.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to close fixture file: " + filePath, e);
+            }
+        }
+    }
+
+    /**
+     * Slow path for a record dropped from the window; leaves the shared reader untouched
+     */
+    private T rescan(long index) {
+        log.debug("Fixture record #{} of {} fell out of the read-ahead window, rescanning", index, filePath);
+        try (MappingIterator<T> scan = JsonUtils.readValues(filePath, type)) {
+            for (long i = 0; scan.hasNext(); i++) {
+                T value = scan.next();
+                if (i == index) {
+                    return value;
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read fixture file: " + filePath, e);
+        }
+        throw missing(index);
+    }
+
+    private IllegalStateException missing(long index) {
+        return new IllegalStateException("Fixture file " + filePath + " has no record #" + index);
+    }
+}
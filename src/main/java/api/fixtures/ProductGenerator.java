@@ -0,0 +1,92 @@
+package api.fixtures;
+
+import api.pojos.request.ProductRequest;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Seeded generator for ProductRequest payloads
+ * Titles, descriptions and prices are combined from fixed word lists, and
+ * categories match the ones the API serves.
+ *
+ */
+public class ProductGenerator extends SeededGenerator<ProductRequest> {
+
+    private static final String[] ADJECTIVES = {"Classic", "Slim", "Rugged", "Premium", "Compact", "Vintage",
+            "Wireless", "Handmade", "Lightweight", "Waterproof", "Ergonomic", "Deluxe"};
+    private static final String[] MATERIALS = {"Cotton", "Leather", "Steel", "Silver", "Gold", "Bamboo",
+            "Wool", "Aluminium", "Denim", "Linen"};
+    private static final String[] NOUNS = {"Backpack", "Jacket", "Ring", "Bracelet", "Monitor", "Hard Drive",
+            "T-Shirt", "Dress", "Headphones", "Wallet", "Watch", "Keyboard", "Scarf", "Necklace"};
+    private static final String[] FEATURES = {"Built to last for everyday use.", "Ships in recyclable packaging.",
+            "Backed by a two year warranty.", "Designed for travel and commuting.",
+            "Easy to clean and maintain.", "Available while stocks last."};
+    private static final String[] NOUNS_LOWER = lowerCase(NOUNS);
+    private static final String[] MATERIALS_LOWER = lowerCase(MATERIALS);
+    private static final String[] CATEGORIES = {"electronics", "jewelery", "men's clothing", "women's clothing"};
+    private static final String IMAGE_PREFIX = "https://fakestoreapi.com/img/";
+
+    private static final int ADJECTIVE = 0;
+    private static final int MATERIAL = 1;
+    private static final int NOUN = 2;
+    private static final int PRICE_CENTS = 3;
+    private static final int FEATURE = 4;
+    private static final int CATEGORY = 5;
+    private static final int IMAGE = 6;
+
+    public ProductGenerator(long seed) {
+        super(seed, 7);
+    }
+
+    @Override
+    void draw(long index, RecordRandom random, int[] slots) {
+        slots[ADJECTIVE] = random.nextInt(ADJECTIVES.length);
+        slots[MATERIAL] = random.nextInt(MATERIALS.length);
+        slots[NOUN] = random.nextInt(NOUNS.length);
+        slots[PRICE_CENTS] = random.nextInt(99, 100_000);
+        slots[FEATURE] = random.nextInt(FEATURES.length);
+        slots[CATEGORY] = random.nextInt(CATEGORIES.length);
+        slots[IMAGE] = random.nextInt(1, 10_000);
+    }
+
+    @Override
+    ProductRequest build(long index, int[] slots, TextBuffer text) {
+        return ProductRequest.builder()
+                .title(title(slots, text).toString())
+                .price(slots[PRICE_CENTS] / 100.0)
+                .description(description(slots, text).toString())
+                .image(image(slots, text).toString())
+                .category(CATEGORIES[slots[CATEGORY]])
+                .build();
+    }
+
+    @Override
+    void write(long index, int[] slots, TextBuffer text, JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        writeText(json, "title", title(slots, text));
+        json.writeFieldName("price");
+        text.clear().appendCents(slots[PRICE_CENTS]);
+        json.writeNumber(text.chars(), 0, text.length());
+        writeText(json, "description", description(slots, text));
+        writeText(json, "image", image(slots, text));
+        json.writeStringField("category", CATEGORIES[slots[CATEGORY]]);
+        json.writeEndObject();
+    }
+
+    private static TextBuffer title(int[] slots, TextBuffer text) {
+        return text.clear().append(ADJECTIVES[slots[ADJECTIVE]]).append(' ')
+                .append(MATERIALS[slots[MATERIAL]]).append(' ').append(NOUNS[slots[NOUN]]);
+    }
+
+    private static TextBuffer description(int[] slots, TextBuffer text) {
+        return text.clear().append(ADJECTIVES[slots[ADJECTIVE]]).append(' ')
+                .append(NOUNS_LOWER[slots[NOUN]]).append(" made of ")
+                .append(MATERIALS_LOWER[slots[MATERIAL]]).append(". ")
+                .append(FEATURES[slots[FEATURE]]);
+    }
+
+    private static TextBuffer image(int[] slots, TextBuffer text) {
+        return text.clear().append(IMAGE_PREFIX).appendPadded(slots[IMAGE], 4).append(".jpg");
+    }
+}
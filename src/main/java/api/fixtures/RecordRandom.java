@@ -0,0 +1,49 @@
+package api.fixtures;
+
+/**
+ * Reusable SplitMix64 random source reseeded for every generated record
+ * The state for record i depends only on the generator seed and i, so any
+ * record can be produced on any thread, in any order, with the same result.
+ *
+ */
+final class RecordRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /**
+     * Position the source at the start of one record's sequence
+     * @param seed Generator seed
+     * @param index Record index
+     * @return this
+     */
+    RecordRandom reset(long seed, long index) {
+        state = mix(seed ^ mix(index + GOLDEN_GAMMA));
+        return this;
+    }
+
+    long nextLong() {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    /**
+     * Uniform int in [0, bound)
+     */
+    int nextInt(int bound) {
+        return (int) (((nextLong() >>> 33) * bound) >>> 31);
+    }
+
+    /**
+     * Uniform int in [origin, bound)
+     */
+    int nextInt(int origin, int bound) {
+        return origin + nextInt(bound - origin);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
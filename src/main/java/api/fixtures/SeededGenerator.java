@@ -0,0 +1,223 @@
+package api.fixtures;
+
+import api.utils.BoundedPool;
+import api.utils.JsonUtils;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Base class for deterministic, seeded request payload generators
+ * Record i is a pure function of (seed, i): its random draws come from a source
+ * reseeded for that index, so records can be generated in parallel, in any order,
+ * and regenerated later without storing them. Each record is drawn into an int
+ * array once and then rendered either as a POJO or directly as JSON bytes,
+ * without building the POJO. Per-record state is borrowed from a bounded pool, so it
+ * is reused across calls even when every call runs on a new (virtual) thread.
+ *
+ */
+public abstract class SeededGenerator<T> {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int CHUNK_RECORDS = 4096;
+
+    private final long seed;
+    private final int slotCount;
+    private final BoundedPool<Scratch> scratch = new BoundedPool<>(BoundedPool.DEFAULT_CAPACITY, Scratch::new);
+
+    SeededGenerator(long seed, int slotCount) {
+        this.seed = seed;
+        this.slotCount = slotCount;
+    }
+
+    /**
+     * Make all random choices of one record
+     * @param index Record index
+     * @param random Random source positioned for this record
+     * @param slots Choices, in a layout private to the generator
+     */
+    abstract void draw(long index, RecordRandom random, int[] slots);
+
+    abstract T build(long index, int[] slots, TextBuffer text);
+
+    abstract void write(long index, int[] slots, TextBuffer text, JsonGenerator json) throws IOException;
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Generate one record as a POJO
+     * @param index Record index
+     * @return Request POJO
+     */
+    public T generate(long index) {
+        Scratch local = scratch.borrow();
+        try {
+            return build(index, local.draw(index), local.text);
+        } finally {
+            scratch.release(local);
+        }
+    }
+
+    /**
+     * Generate one record as compact UTF-8 JSON, without creating the POJO
+     * @param index Record index
+     * @return JSON bytes
+     */
+    public byte[] toBytes(long index) {
+        Scratch local = scratch.borrow();
+        byte[] json;
+        try {
+            write(index, local.draw(index), local.text, local.json);
+            json = local.drain();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate record " + index, e);
+        }
+        // Only returned after a clean render: a failed one may leave partial output behind
+        scratch.release(local);
+        return json;
+    }
+
+    /**
+     * Write one record to an existing generator, e.g. as an element of a larger document
+     * @param index Record index
+     * @param json Target JsonGenerator
+     */
+    public void writeTo(long index, JsonGenerator json) {
+        Scratch local = scratch.borrow();
+        try {
+            write(index, local.draw(index), local.text, json);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate record " + index, e);
+        } finally {
+            scratch.release(local);
+        }
+    }
+
+    /**
+     * Parallel stream of records [from, from + count) as POJOs
+     * @param from First record index
+     * @param count Number of records
+     * @return Stream in index order (when collected in encounter order)
+     */
+    public Stream<T> stream(long from, long count) {
+        return LongStream.range(from, from + count).parallel().mapToObj(this::generate);
+    }
+
+    /**
+     * Parallel stream of records [from, from + count) as JSON bytes
+     * @param from First record index
+     * @param count Number of records
+     * @return Stream in index order (when collected in encounter order)
+     */
+    public Stream<byte[]> byteStream(long from, long count) {
+        return LongStream.range(from, from + count).parallel().mapToObj(this::toBytes);
+    }
+
+    /**
+     * Write records [0, count) to a fixture file
+     * JSON-lines files are rendered in parallel chunks straight to bytes and written
+     * in index order; Smile files go through JsonUtils.writeValues.
+     * @param filePath Target file (".jsonl", or ".smile" for Smile)
+     * @param count Number of records
+     * @return Number of records written
+     */
+    public long writeFile(String filePath, long count) {
+        if (filePath.endsWith(".smile")) {
+            return JsonUtils.writeValues(LongStream.range(0, count).mapToObj(this::generate).iterator(), filePath);
+        }
+        long chunks = (count + CHUNK_RECORDS - 1) / CHUNK_RECORDS;
+        int batch = Runtime.getRuntime().availableProcessors() * 2;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(filePath), 1 << 16)) {
+            for (long first = 0; first < chunks; first += batch) {
+                long batchStart = first;
+                int size = (int) Math.min(batch, chunks - first);
+                byte[][] rendered = IntStream.range(0, size).parallel()
+                        .mapToObj(c -> renderChunk((batchStart + c) * CHUNK_RECORDS,
+                                Math.min(count, (batchStart + c + 1) * CHUNK_RECORDS)))
+                        .toArray(byte[][]::new);
+                for (byte[] chunk : rendered) {
+                    out.write(chunk);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write fixture file: " + filePath, e);
+        }
+        return count;
+    }
+
+    /**
+     * Write a string field from a rendered buffer
+     */
+    static void writeText(JsonGenerator json, String field, TextBuffer text) throws IOException {
+        json.writeFieldName(field);
+        json.writeString(text.chars(), 0, text.length());
+    }
+
+    static String[] lowerCase(String[] values) {
+        String[] lower = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            lower[i] = values[i].toLowerCase(Locale.ROOT);
+        }
+        return lower;
+    }
+
+    private byte[] renderChunk(long from, long to) {
+        Scratch local = scratch.borrow();
+        byte[] chunk;
+        try {
+            for (long index = from; index < to; index++) {
+                write(index, local.draw(index), local.text, local.json);
+                local.json.writeRaw('\n');
+            }
+            chunk = local.drain();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate records " + from + "-" + to, e);
+        }
+        scratch.release(local);
+        return chunk;
+    }
+
+    /**
+     * Pooled draw slots, text buffer and byte output
+     */
+    private final class Scratch {
+
+        final RecordRandom random = new RecordRandom();
+        final int[] slots = new int[slotCount];
+        final TextBuffer text = new TextBuffer();
+        final ByteArrayBuilder bytes = new ByteArrayBuilder(1024);
+        final JsonGenerator json;
+
+        Scratch() {
+            try {
+                json = JSON.createGenerator(bytes);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to create JSON generator", e);
+            }
+            json.setRootValueSeparator(null);
+        }
+
+        int[] draw(long index) {
+            SeededGenerator.this.draw(index, random.reset(seed, index), slots);
+            return slots;
+        }
+
+        byte[] drain() throws IOException {
+            json.flush();
+            byte[] result = bytes.toByteArray();
+            bytes.reset();
+            return result;
+        }
+    }
+}
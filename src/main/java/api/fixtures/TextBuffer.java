@@ -0,0 +1,128 @@
+package api.fixtures;
+
+import java.util.Arrays;
+
+/**
+ * Reusable character buffer for rendering generated field values
+ * Values are rendered once and then either turned into a String for a POJO or
+ * written to a JsonGenerator straight from the buffer, so both forms of a
+ * record always carry exactly the same text.
+ *
+ */
+final class TextBuffer {
+
+    private char[] chars = new char[128];
+    private int length;
+
+    TextBuffer clear() {
+        length = 0;
+        return this;
+    }
+
+    TextBuffer append(char c) {
+        ensure(1);
+        chars[length++] = c;
+        return this;
+    }
+
+    TextBuffer append(String value) {
+        ensure(value.length());
+        value.getChars(0, value.length(), chars, length);
+        length += value.length();
+        return this;
+    }
+
+    TextBuffer append(long value) {
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+        return appendPadded(value, 1);
+    }
+
+    /**
+     * Append a non-negative value left-padded with zeros to width digits
+     */
+    TextBuffer appendPadded(long value, int width) {
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int total = Math.max(digits, width);
+        ensure(total);
+        for (int i = length + total - 1; i >= length; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        length += total;
+        return this;
+    }
+
+    /**
+     * Append a fixed-point value with a fixed number of decimals, e.g. -373159 with 4 as "-37.3159"
+     */
+    TextBuffer appendFixed(long scaled, int decimals) {
+        if (scaled < 0) {
+            append('-');
+            scaled = -scaled;
+        }
+        long factor = pow10(decimals);
+        return appendPadded(scaled / factor, 1).append('.').appendPadded(scaled % factor, decimals);
+    }
+
+    /**
+     * Append an amount in cents the way Double.toString prints it, e.g. 1250 as "12.5" and 700 as "7.0"
+     */
+    TextBuffer appendCents(long cents) {
+        long fraction = cents % 100;
+        appendPadded(cents / 100, 1).append('.');
+        if (fraction % 10 == 0) {
+            return appendPadded(fraction / 10, 1);
+        }
+        return appendPadded(fraction, 2);
+    }
+
+    /**
+     * Append an ISO-8601 date (yyyy-MM-dd) for a day count since 1970-01-01
+     */
+    TextBuffer appendDate(long epochDay) {
+        // Civil-from-days, valid for the proleptic Gregorian calendar
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return appendPadded(year, 4).append('-').appendPadded(month, 2).append('-').appendPadded(day, 2);
+    }
+
+    char[] chars() {
+        return chars;
+    }
+
+    int length() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + extra));
+        }
+    }
+
+    private static long pow10(int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+}
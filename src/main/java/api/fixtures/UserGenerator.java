@@ -0,0 +1,142 @@
+package api.fixtures;
+
+import api.pojos.request.UserRequest;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Seeded generator for UserRequest payloads, including name, address and geolocation
+ * Usernames and emails embed the record index, so they are unique within a seed.
+ *
+ */
+public class UserGenerator extends SeededGenerator<UserRequest> {
+
+    private static final String[] FIRST_NAMES = {"John", "David", "Kevin", "Don", "Derek", "Miriam",
+            "Kate", "Jimmie", "Olivia", "Amelia", "Noah", "Liam", "Sofia", "Mateo", "Aisha", "Wei", "Priya"};
+    private static final String[] LAST_NAMES = {"Doe", "Morrison", "Ryan", "Romer", "Powell", "Russell", "Snyder",
+            "Hale", "Klein", "Garcia", "Nguyen", "Okafor", "Tanaka", "Kowalski", "Silva", "Patel"};
+    private static final String[] FIRST_LOWER = lowerCase(FIRST_NAMES);
+    private static final String[] LAST_LOWER = lowerCase(LAST_NAMES);
+    private static final String[] CITIES = {"kilcoole", "Cullman", "San Antonio", "el paso", "fresno", "mesa",
+            "miami", "fort wayne", "Portland", "Austin", "Denver", "Boston"};
+    private static final String[] STREETS = {"new road", "Lovers Ln", "Frances Ct", "Hunters Creek Dr", "adams St",
+            "prospect st", "saddle st", "vally view ln", "avondale ave", "oak lawn ave", "Main St", "Elm St"};
+    private static final String[] DOMAINS = {"gmail.com", "example.com", "mail.net", "inbox.org"};
+    private static final String PASSWORD_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int PASSWORD_LENGTH = 10;
+
+    private static final int FIRST = 0;
+    private static final int LAST = 1;
+    private static final int DOMAIN = 2;
+    private static final int CITY = 3;
+    private static final int STREET = 4;
+    private static final int NUMBER = 5;
+    private static final int ZIP = 6;
+    private static final int ZIP_EXT = 7;
+    private static final int LAT = 8;
+    private static final int LNG = 9;
+    private static final int PHONE_AREA = 10;
+    private static final int PHONE_EXCHANGE = 11;
+    private static final int PHONE_LINE = 12;
+    private static final int PASSWORD = 13;
+
+    public UserGenerator(long seed) {
+        super(seed, PASSWORD + PASSWORD_LENGTH);
+    }
+
+    @Override
+    void draw(long index, RecordRandom random, int[] slots) {
+        slots[FIRST] = random.nextInt(FIRST_NAMES.length);
+        slots[LAST] = random.nextInt(LAST_NAMES.length);
+        slots[DOMAIN] = random.nextInt(DOMAINS.length);
+        slots[CITY] = random.nextInt(CITIES.length);
+        slots[STREET] = random.nextInt(STREETS.length);
+        slots[NUMBER] = random.nextInt(1, 10_000);
+        slots[ZIP] = random.nextInt(100_000);
+        slots[ZIP_EXT] = random.nextInt(10_000);
+        // Latitude and longitude in 1/10000 degree
+        slots[LAT] = random.nextInt(-900_000, 900_001);
+        slots[LNG] = random.nextInt(-1_800_000, 1_800_001);
+        slots[PHONE_AREA] = random.nextInt(200, 1_000);
+        slots[PHONE_EXCHANGE] = random.nextInt(200, 1_000);
+        slots[PHONE_LINE] = random.nextInt(10_000);
+        for (int i = 0; i < PASSWORD_LENGTH; i++) {
+            slots[PASSWORD + i] = random.nextInt(PASSWORD_CHARS.length());
+        }
+    }
+
+    @Override
+    UserRequest build(long index, int[] slots, TextBuffer text) {
+        return UserRequest.builder()
+                .email(email(index, slots, text).toString())
+                .username(username(index, slots, text).toString())
+                .password(password(slots, text).toString())
+                .name(UserRequest.NameRequest.builder()
+                        .firstname(FIRST_NAMES[slots[FIRST]])
+                        .lastname(LAST_NAMES[slots[LAST]])
+                        .build())
+                .address(UserRequest.AddressRequest.builder()
+                        .city(CITIES[slots[CITY]])
+                        .street(STREETS[slots[STREET]])
+                        .number(slots[NUMBER])
+                        .zipcode(zipcode(slots, text).toString())
+                        .geolocation(UserRequest.GeolocationRequest.builder()
+                                .lat(text.clear().appendFixed(slots[LAT], 4).toString())
+                                .lng(text.clear().appendFixed(slots[LNG], 4).toString())
+                                .build())
+                        .build())
+                .phone(phone(slots, text).toString())
+                .build();
+    }
+
+    @Override
+    void write(long index, int[] slots, TextBuffer text, JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        writeText(json, "email", email(index, slots, text));
+        writeText(json, "username", username(index, slots, text));
+        writeText(json, "password", password(slots, text));
+        json.writeObjectFieldStart("name");
+        json.writeStringField("firstname", FIRST_NAMES[slots[FIRST]]);
+        json.writeStringField("lastname", LAST_NAMES[slots[LAST]]);
+        json.writeEndObject();
+        json.writeObjectFieldStart("address");
+        json.writeStringField("city", CITIES[slots[CITY]]);
+        json.writeStringField("street", STREETS[slots[STREET]]);
+        json.writeNumberField("number", slots[NUMBER]);
+        writeText(json, "zipcode", zipcode(slots, text));
+        json.writeObjectFieldStart("geolocation");
+        writeText(json, "lat", text.clear().appendFixed(slots[LAT], 4));
+        writeText(json, "lng", text.clear().appendFixed(slots[LNG], 4));
+        json.writeEndObject();
+        json.writeEndObject();
+        writeText(json, "phone", phone(slots, text));
+        json.writeEndObject();
+    }
+
+    private static TextBuffer email(long index, int[] slots, TextBuffer text) {
+        return text.clear().append(FIRST_LOWER[slots[FIRST]]).append('.').append(LAST_LOWER[slots[LAST]])
+                .append(index).append('@').append(DOMAINS[slots[DOMAIN]]);
+    }
+
+    private static TextBuffer username(long index, int[] slots, TextBuffer text) {
+        return text.clear().append(FIRST_LOWER[slots[FIRST]]).append(LAST_LOWER[slots[LAST]].charAt(0)).append(index);
+    }
+
+    private static TextBuffer password(int[] slots, TextBuffer text) {
+        text.clear();
+        for (int i = 0; i < PASSWORD_LENGTH; i++) {
+            text.append(PASSWORD_CHARS.charAt(slots[PASSWORD + i]));
+        }
+        return text;
+    }
+
+    private static TextBuffer zipcode(int[] slots, TextBuffer text) {
+        return text.clear().appendPadded(slots[ZIP], 5).append('-').appendPadded(slots[ZIP_EXT], 4);
+    }
+
+    private static TextBuffer phone(int[] slots, TextBuffer text) {
+        return text.clear().append("1-").appendPadded(slots[PHONE_AREA], 3).append('-')
+                .appendPadded(slots[PHONE_EXCHANGE], 3).append('-').appendPadded(slots[PHONE_LINE], 4);
+    }
+}
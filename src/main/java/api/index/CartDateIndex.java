@@ -0,0 +1,292 @@
+package api.index;
+
+import api.endpoints.CartsAPI;
+import api.pojos.response.CartResponse;
+import api.utils.JsonUtils;
+import io.restassured.response.Response;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Local index of carts by date, for many range queries over one snapshot
+ * Cart dates are parsed once to epoch milliseconds and kept in sorted long arrays, so a
+ * range or per-user range query is two binary searches plus the k matching carts:
+ * O(log n + k) instead of a server round trip per window. Added carts go to a small
+ * sorted delta that is merged into the main arrays once it outgrows an eighth of them.
+ * Queries read an immutable snapshot and never block; adds are serialized.
+ * Dates without a time (yyyy-MM-dd) and LocalDate bounds are taken as UTC.
+ *
+ * <pre>
+ * CartDateIndex index = CartDateIndex.load();
+ * List&lt;CartResponse&gt; march = index.between(LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 31));
+ * int userMarch = index.countForUser(3, LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 31));
+ * </pre>
+ *
+ */
+public class CartDateIndex {
+
+    private static final int MIN_DELTA = 1024;
+    /** Carts without a user sort first in the user order and match no user query */
+    private static final int NO_USER = Integer.MIN_VALUE;
+
+    private volatile Segments segments = new Segments(CartDateSegment.EMPTY, CartDateSegment.EMPTY);
+
+    /**
+     * Index of the given carts
+     * @param carts Carts with a parseable date
+     * @return CartDateIndex
+     */
+    public static CartDateIndex of(Collection<CartResponse> carts) {
+        CartDateIndex index = new CartDateIndex();
+        index.add(carts);
+        return index;
+    }
+
+    /**
+     * Index of every cart (GET /carts)
+     * @return CartDateIndex
+     */
+    public static CartDateIndex load() {
+        Response response = CartsAPI.getAllCarts();
+        if (response.getStatusCode() != 200) {
+            throw new RuntimeException("Failed to load carts: HTTP " + response.getStatusCode());
+        }
+        return of(Arrays.asList(JsonUtils.fromResponse(response, CartResponse[].class)));
+    }
+
+    /**
+     * Add one cart
+     * @param cart Cart with a parseable date
+     */
+    public void add(CartResponse cart) {
+        add(List.of(cart));
+    }
+
+    /**
+     * Add carts; queries started afterwards see them
+     * @param carts Carts with a parseable date
+     */
+    public synchronized void add(Collection<CartResponse> carts) {
+        CartDateSegment.Entry[] entries = new CartDateSegment.Entry[carts.size()];
+        int i = 0;
+        for (CartResponse cart : carts) {
+            entries[i++] = new CartDateSegment.Entry(epochMillis(cart), cart.getUserId() != null ? cart.getUserId() : NO_USER, cart);
+        }
+        Segments current = segments;
+        CartDateSegment delta = CartDateSegment.merge(current.delta, CartDateSegment.of(entries));
+        if (delta.size() > Math.max(MIN_DELTA, current.main.size() / 8)) {
+            segments = new Segments(CartDateSegment.merge(current.main, delta), CartDateSegment.EMPTY);
+        } else {
+            segments = new Segments(current.main, delta);
+        }
+    }
+
+    public int size() {
+        Segments current = segments;
+        return current.main.size() + current.delta.size();
+    }
+
+    /**
+     * Carts dated within whole days, like GET /carts?startdate=&amp;enddate=
+     * @param startDate First day, inclusive
+     * @param endDate Last day, inclusive
+     * @return Carts in date order
+     */
+    public List<CartResponse> between(LocalDate startDate, LocalDate endDate) {
+        return range(startOfDay(startDate), startOfDay(endDate.plusDays(1)));
+    }
+
+    /**
+     * Carts dated in [from, to)
+     * @param from Start, inclusive
+     * @param to End, exclusive
+     * @return Carts in date order
+     */
+    public List<CartResponse> range(Instant from, Instant to) {
+        return range(from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    /**
+     * Carts dated in [fromMillis, toMillis)
+     * @param fromMillis Start in epoch milliseconds, inclusive
+     * @param toMillis End in epoch milliseconds, exclusive
+     * @return Carts in date order
+     */
+    public List<CartResponse> range(long fromMillis, long toMillis) {
+        Segments current = segments;
+        CartDateSegment a = current.main;
+        CartDateSegment b = current.delta;
+        return merge(a.times, a.byTime, a.lowerBound(fromMillis), a.lowerBound(toMillis),
+                b.times, b.byTime, b.lowerBound(fromMillis), b.lowerBound(toMillis));
+    }
+
+    /**
+     * Number of carts dated within whole days, without collecting them
+     * @param startDate First day, inclusive
+     * @param endDate Last day, inclusive
+     * @return Cart count
+     */
+    public int count(LocalDate startDate, LocalDate endDate) {
+        return count(startOfDay(startDate), startOfDay(endDate.plusDays(1)));
+    }
+
+    /**
+     * Number of carts dated in [fromMillis, toMillis), in O(log n)
+     * @param fromMillis Start in epoch milliseconds, inclusive
+     * @param toMillis End in epoch milliseconds, exclusive
+     * @return Cart count
+     */
+    public int count(long fromMillis, long toMillis) {
+        Segments current = segments;
+        return span(current.main.lowerBound(fromMillis), current.main.lowerBound(toMillis))
+                + span(current.delta.lowerBound(fromMillis), current.delta.lowerBound(toMillis));
+    }
+
+    /**
+     * Carts of one user dated within whole days
+     * @param userId User ID
+     * @param startDate First day, inclusive
+     * @param endDate Last day, inclusive
+     * @return Carts in date order
+     */
+    public List<CartResponse> forUser(int userId, LocalDate startDate, LocalDate endDate) {
+        return forUser(userId, startOfDay(startDate), startOfDay(endDate.plusDays(1)));
+    }
+
+    /**
+     * Carts of one user dated in [fromMillis, toMillis)
+     * @param userId User ID
+     * @param fromMillis Start in epoch milliseconds, inclusive
+     * @param toMillis End in epoch milliseconds, exclusive
+     * @return Carts in date order
+     */
+    public List<CartResponse> forUser(int userId, long fromMillis, long toMillis) {
+        Segments current = segments;
+        CartDateSegment a = current.main;
+        CartDateSegment b = current.delta;
+        return merge(a.userTimes, a.byUser, a.lowerBound(userId, fromMillis), a.lowerBound(userId, toMillis),
+                b.userTimes, b.byUser, b.lowerBound(userId, fromMillis), b.lowerBound(userId, toMillis));
+    }
+
+    /**
+     * Number of carts of one user dated within whole days, in O(log n)
+     * @param userId User ID
+     * @param startDate First day, inclusive
+     * @param endDate Last day, inclusive
+     * @return Cart count
+     */
+    public int countForUser(int userId, LocalDate startDate, LocalDate endDate) {
+        long fromMillis = startOfDay(startDate);
+        long toMillis = startOfDay(endDate.plusDays(1));
+        Segments current = segments;
+        return span(current.main.lowerBound(userId, fromMillis), current.main.lowerBound(userId, toMillis))
+                + span(current.delta.lowerBound(userId, fromMillis), current.delta.lowerBound(userId, toMillis));
+    }
+
+    /**
+     * Parse a cart date: an ISO instant, an offset date-time or a UTC day (yyyy-MM-dd)
+     * @param date Cart date as returned by the API
+     * @return Epoch milliseconds
+     */
+    public static long epochMillis(String date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Cart date is missing");
+        }
+        try {
+            if (date.length() == 10) {
+                return startOfDay(LocalDate.parse(date));
+            }
+            if (isUtcMillisFormat(date)) {
+                // The API's own format, read field by field: several times faster than OffsetDateTime.parse
+                return LocalDate.of(digits(date, 0, 4), digits(date, 5, 7), digits(date, 8, 10)).toEpochDay() * 86_400_000L
+                        + digits(date, 11, 13) * 3_600_000L + digits(date, 14, 16) * 60_000L
+                        + digits(date, 17, 19) * 1_000L + digits(date, 20, 23);
+            }
+            return OffsetDateTime.parse(date).toInstant().toEpochMilli();
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unparseable cart date: " + date, e);
+        }
+    }
+
+    /**
+     * yyyy-MM-ddTHH:mm:ss.SSSZ with digits everywhere else
+     */
+    private static boolean isUtcMillisFormat(String date) {
+        if (date.length() != 24 || date.charAt(4) != '-' || date.charAt(7) != '-' || date.charAt(10) != 'T'
+                || date.charAt(13) != ':' || date.charAt(16) != ':' || date.charAt(19) != '.' || date.charAt(23) != 'Z') {
+            return false;
+        }
+        for (int i = 0; i < 23; i++) {
+            if ((i == 4 || i == 7 || i == 10 || i == 13 || i == 16 || i == 19) != !Character.isDigit(date.charAt(i))) {
+                return false;
+            }
+        }
+        return digits(date, 11, 13) < 24 && digits(date, 14, 16) < 60 && digits(date, 17, 19) < 60;
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static long epochMillis(CartResponse cart) {
+        try {
+            return epochMillis(cart.getDate());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cannot index cart " + cart.getId() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static long startOfDay(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+    }
+
+    private static int span(int from, int to) {
+        return Math.max(0, to - from);
+    }
+
+    /**
+     * Merge two sorted runs [i, iEnd) and [j, jEnd) by time
+     */
+    private static List<CartResponse> merge(long[] aTimes, CartResponse[] aCarts, int i, int iEnd,
+                                            long[] bTimes, CartResponse[] bCarts, int j, int jEnd) {
+        int size = span(i, iEnd) + span(j, jEnd);
+        if (size == 0) {
+            return List.of();
+        }
+        List<CartResponse> result = new ArrayList<>(size);
+        while (i < iEnd || j < jEnd) {
+            if (j >= jEnd || (i < iEnd && aTimes[i] <= bTimes[j])) {
+                result.add(aCarts[i++]);
+            } else {
+                result.add(bCarts[j++]);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Main and delta segments published together
+     */
+    private static final class Segments {
+        final CartDateSegment main;
+        final CartDateSegment delta;
+
+        Segments(CartDateSegment main, CartDateSegment delta) {
+            this.main = main;
+            this.delta = delta;
+        }
+    }
+}
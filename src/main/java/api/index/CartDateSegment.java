@@ -0,0 +1,154 @@
+package api.index;
+
+import api.pojos.response.CartResponse;
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Immutable run of carts held in two sorted orders
+ * By time: times[i] ascending with byTime[i]. By user: (users[i], userTimes[i]) ascending
+ * with byUser[i]. Both orders are searched with binary search over the primitive arrays.
+ *
+ */
+final class CartDateSegment {
+
+    static final CartDateSegment EMPTY = new CartDateSegment(new Entry[0]);
+
+    private static final Comparator<Entry> BY_TIME = Comparator.comparingLong(Entry::getTime);
+    private static final Comparator<Entry> BY_USER = Comparator.comparingInt(Entry::getUser).thenComparingLong(Entry::getTime);
+
+    final long[] times;
+    final CartResponse[] byTime;
+    final int[] users;
+    final long[] userTimes;
+    final CartResponse[] byUser;
+
+    private CartDateSegment(long[] times, CartResponse[] byTime, int[] users, long[] userTimes, CartResponse[] byUser) {
+        this.times = times;
+        this.byTime = byTime;
+        this.users = users;
+        this.userTimes = userTimes;
+        this.byUser = byUser;
+    }
+
+    /**
+     * Sorts the entries in place, first by time and then by user
+     */
+    private CartDateSegment(Entry[] entries) {
+        int n = entries.length;
+        times = new long[n];
+        byTime = new CartResponse[n];
+        users = new int[n];
+        userTimes = new long[n];
+        byUser = new CartResponse[n];
+        Arrays.parallelSort(entries, BY_TIME);
+        for (int i = 0; i < n; i++) {
+            times[i] = entries[i].getTime();
+            byTime[i] = entries[i].getCart();
+        }
+        Arrays.parallelSort(entries, BY_USER);
+        for (int i = 0; i < n; i++) {
+            users[i] = entries[i].getUser();
+            userTimes[i] = entries[i].getTime();
+            byUser[i] = entries[i].getCart();
+        }
+    }
+
+    static CartDateSegment of(Entry[] entries) {
+        return entries.length == 0 ? EMPTY : new CartDateSegment(entries);
+    }
+
+    int size() {
+        return times.length;
+    }
+
+    /**
+     * Linear merge of two segments, keeping both orders sorted
+     */
+    static CartDateSegment merge(CartDateSegment a, CartDateSegment b) {
+        if (a.size() == 0) {
+            return b;
+        }
+        if (b.size() == 0) {
+            return a;
+        }
+        int n = a.size() + b.size();
+        long[] times = new long[n];
+        CartResponse[] byTime = new CartResponse[n];
+        for (int i = 0, j = 0, k = 0; k < n; k++) {
+            if (j >= b.size() || (i < a.size() && a.times[i] <= b.times[j])) {
+                times[k] = a.times[i];
+                byTime[k] = a.byTime[i++];
+            } else {
+                times[k] = b.times[j];
+                byTime[k] = b.byTime[j++];
+            }
+        }
+        int[] users = new int[n];
+        long[] userTimes = new long[n];
+        CartResponse[] byUser = new CartResponse[n];
+        for (int i = 0, j = 0, k = 0; k < n; k++) {
+            if (j >= b.size() || (i < a.size() && compare(a.users[i], a.userTimes[i], b.users[j], b.userTimes[j]) <= 0)) {
+                users[k] = a.users[i];
+                userTimes[k] = a.userTimes[i];
+                byUser[k] = a.byUser[i++];
+            } else {
+                users[k] = b.users[j];
+                userTimes[k] = b.userTimes[j];
+                byUser[k] = b.byUser[j++];
+            }
+        }
+        return new CartDateSegment(times, byTime, users, userTimes, byUser);
+    }
+
+    /**
+     * First position in time order with time >= key
+     */
+    int lowerBound(long key) {
+        int low = 0;
+        int high = times.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First position in user order with (user, time) >= (userKey, timeKey)
+     */
+    int lowerBound(int userKey, long timeKey) {
+        int low = 0;
+        int high = users.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(users[mid], userTimes[mid], userKey, timeKey) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(int userA, long timeA, int userB, long timeB) {
+        int byUser = Integer.compare(userA, userB);
+        return byUser != 0 ? byUser : Long.compare(timeA, timeB);
+    }
+
+    /**
+     * Cart with its parsed sort keys
+     */
+    @Value
+    static class Entry {
+        long time;
+        int user;
+        CartResponse cart;
+    }
+}
@@ -0,0 +1,402 @@
+package api.index;
+
+import api.endpoints.UsersAPI;
+import api.pojos.response.UserResponse;
+import api.utils.JsonUtils;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Spatial index of users by address geolocation for nearest and within-radius queries
+ * The lat/lng strings are parsed once and stored as points on the unit sphere in three
+ * primitive double columns, laid out as an implicit k-d tree: each range of the arrays
+ * is split at its middle element along its widest axis, so the tree needs no node
+ * objects or pointers. Working in 3D avoids the special cases of lat/lng at the poles
+ * and the antimeridian; straight-line (chord) distance orders points exactly like
+ * great-circle distance, which is only computed for the results.
+ * Users without a parseable geolocation are left out and counted in getSkipped().
+ *
+ * <pre>
+ * GeoIndex geo = GeoIndex.of(users);
+ * List&lt;GeoMatch&gt; closest = geo.nearest(-37.3159, 81.1496, 5);
+ * int nearby = geo.countWithin(-37.3159, 81.1496, 50);
+ * </pre>
+ *
+ */
+public class GeoIndex {
+
+    /** Mean Earth radius */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final UserResponse[] users;
+    private final double[][] coords;
+    private final byte[] axes;
+    private final int skipped;
+
+    private GeoIndex(Collection<UserResponse> input) {
+        int n = input.size();
+        UserResponse[] parsed = new UserResponse[n];
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double[] z = new double[n];
+        int size = 0;
+        for (UserResponse user : input) {
+            double[] latLng = latLng(user);
+            if (latLng != null) {
+                double lat = Math.toRadians(latLng[0]);
+                double lng = Math.toRadians(latLng[1]);
+                x[size] = Math.cos(lat) * Math.cos(lng);
+                y[size] = Math.cos(lat) * Math.sin(lng);
+                z[size] = Math.sin(lat);
+                parsed[size++] = user;
+            }
+        }
+        skipped = n - size;
+
+        double[][] unordered = {x, y, z};
+        int[] order = new int[size];
+        Arrays.setAll(order, i -> i);
+        axes = new byte[size];
+        build(order, unordered, axes, 0, size);
+
+        // Store the columns in tree order so a search walks the arrays by position
+        users = new UserResponse[size];
+        coords = new double[3][size];
+        for (int position = 0; position < size; position++) {
+            int i = order[position];
+            users[position] = parsed[i];
+            coords[0][position] = x[i];
+            coords[1][position] = y[i];
+            coords[2][position] = z[i];
+        }
+    }
+
+    /**
+     * Index of the given users
+     * @param users Users
+     * @return GeoIndex
+     */
+    public static GeoIndex of(Collection<UserResponse> users) {
+        return new GeoIndex(users);
+    }
+
+    /**
+     * Index of every user (GET /users)
+     * @return GeoIndex
+     */
+    public static GeoIndex load() {
+        Response response = UsersAPI.getAllUsers();
+        if (response.getStatusCode() != 200) {
+            throw new RuntimeException("Failed to load users: HTTP " + response.getStatusCode());
+        }
+        return of(Arrays.asList(JsonUtils.fromResponse(response, UserResponse[].class)));
+    }
+
+    public int size() {
+        return users.length;
+    }
+
+    /**
+     * Users left out for a missing or unparseable geolocation
+     * @return Skipped user count
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * The k users closest to a point
+     * @param lat Latitude in degrees
+     * @param lng Longitude in degrees
+     * @param k Number of users
+     * @return Up to k matches, closest first
+     */
+    public List<GeoMatch> nearest(double lat, double lng, int k) {
+        if (k <= 0 || users.length == 0) {
+            return List.of();
+        }
+        double[] query = unitVector(lat, lng);
+        NearestHeap heap = new NearestHeap(Math.min(k, users.length));
+        nearest(query, heap, 0, users.length);
+
+        List<GeoMatch> matches = new ArrayList<>(heap.size);
+        for (int i = 0; i < heap.size; i++) {
+            matches.add(match(heap.positions[i], heap.distances[i]));
+        }
+        matches.sort(Comparator.comparingDouble(GeoMatch::getDistanceKm));
+        return matches;
+    }
+
+    /**
+     * Users within a great-circle distance of a point
+     * @param lat Latitude in degrees
+     * @param lng Longitude in degrees
+     * @param radiusKm Radius in kilometres
+     * @return Matches, closest first
+     */
+    public List<GeoMatch> within(double lat, double lng, double radiusKm) {
+        List<GeoMatch> matches = new ArrayList<>();
+        within(unitVector(lat, lng), chordSquared(radiusKm), 0, users.length,
+                (position, distance) -> matches.add(match(position, distance)));
+        matches.sort(Comparator.comparingDouble(GeoMatch::getDistanceKm));
+        return matches;
+    }
+
+    /**
+     * Number of users within a great-circle distance of a point, without creating matches
+     * @param lat Latitude in degrees
+     * @param lng Longitude in degrees
+     * @param radiusKm Radius in kilometres
+     * @return User count
+     */
+    public int countWithin(double lat, double lng, double radiusKm) {
+        int[] count = new int[1];
+        within(unitVector(lat, lng), chordSquared(radiusKm), 0, users.length, (position, distance) -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Great-circle (haversine) distance between two points
+     * @param lat1 Latitude of the first point in degrees
+     * @param lng1 Longitude of the first point in degrees
+     * @param lat2 Latitude of the second point in degrees
+     * @param lng2 Longitude of the second point in degrees
+     * @return Distance in kilometres
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    private void nearest(double[] query, NearestHeap heap, int lo, int hi) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        heap.offer(mid, distanceSquared(query, mid));
+        if (hi - lo == 1) {
+            return;
+        }
+        int axis = axes[mid];
+        double diff = query[axis] - coords[axis][mid];
+        if (diff < 0) {
+            nearest(query, heap, lo, mid);
+            if (diff * diff < heap.worst()) {
+                nearest(query, heap, mid + 1, hi);
+            }
+        } else {
+            nearest(query, heap, mid + 1, hi);
+            if (diff * diff < heap.worst()) {
+                nearest(query, heap, lo, mid);
+            }
+        }
+    }
+
+    private void within(double[] query, double limit, int lo, int hi, MatchConsumer action) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double distance = distanceSquared(query, mid);
+        if (distance <= limit) {
+            action.accept(mid, distance);
+        }
+        if (hi - lo == 1) {
+            return;
+        }
+        int axis = axes[mid];
+        double diff = query[axis] - coords[axis][mid];
+        if (diff < 0 || diff * diff <= limit) {
+            within(query, limit, lo, mid, action);
+        }
+        if (diff >= 0 || diff * diff <= limit) {
+            within(query, limit, mid + 1, hi, action);
+        }
+    }
+
+    private double distanceSquared(double[] query, int position) {
+        double dx = query[0] - coords[0][position];
+        double dy = query[1] - coords[1][position];
+        double dz = query[2] - coords[2][position];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private GeoMatch match(int position, double chordSquared) {
+        return GeoMatch.builder()
+                .user(users[position])
+                .distanceKm(2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(chordSquared) / 2)))
+                .build();
+    }
+
+    /**
+     * Squared straight-line distance matching a great-circle radius
+     */
+    private static double chordSquared(double radiusKm) {
+        if (radiusKm < 0 || Double.isNaN(radiusKm)) {
+            throw new IllegalArgumentException("Radius must not be negative: " + radiusKm);
+        }
+        if (radiusKm >= Math.PI * EARTH_RADIUS_KM) {
+            return 4;
+        }
+        double chord = 2 * Math.sin(radiusKm / (2 * EARTH_RADIUS_KM));
+        return chord * chord;
+    }
+
+    private static double[] unitVector(double lat, double lng) {
+        double phi = Math.toRadians(lat);
+        double lambda = Math.toRadians(lng);
+        return new double[] {Math.cos(phi) * Math.cos(lambda), Math.cos(phi) * Math.sin(lambda), Math.sin(phi)};
+    }
+
+    /**
+     * Parsed latitude and longitude in degrees, or null when missing or out of range
+     */
+    private static double[] latLng(UserResponse user) {
+        if (user.getAddress() == null || user.getAddress().getGeolocation() == null) {
+            return null;
+        }
+        UserResponse.GeolocationResponse geo = user.getAddress().getGeolocation();
+        if (geo.getLat() == null || geo.getLng() == null) {
+            return null;
+        }
+        try {
+            double lat = Double.parseDouble(geo.getLat().trim());
+            double lng = Double.parseDouble(geo.getLng().trim());
+            return Math.abs(lat) <= 90 && Math.abs(lng) <= 180 ? new double[] {lat, lng} : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Arrange order[lo, hi) as an implicit k-d tree: the middle element splits its range
+     * along the widest axis, smaller coordinates before it and larger ones after
+     */
+    private static void build(int[] order, double[][] coords, byte[] axes, int lo, int hi) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int axis = widestAxis(order, coords, lo, hi);
+        int mid = (lo + hi) >>> 1;
+        select(order, coords[axis], lo, hi - 1, mid);
+        axes[mid] = (byte) axis;
+        build(order, coords, axes, lo, mid);
+        build(order, coords, axes, mid + 1, hi);
+    }
+
+    private static int widestAxis(int[] order, double[][] coords, int lo, int hi) {
+        int widest = 0;
+        double widestSpread = -1;
+        for (int axis = 0; axis < 3; axis++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                double value = coords[axis][order[i]];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > widestSpread) {
+                widestSpread = max - min;
+                widest = axis;
+            }
+        }
+        return widest;
+    }
+
+    /**
+     * Quickselect: move the k-th smallest of order[lo..hi] by key to position k
+     */
+    private static void select(int[] order, double[] key, int lo, int hi, int k) {
+        while (hi > lo) {
+            double a = key[order[lo]];
+            double b = key[order[(lo + hi) >>> 1]];
+            double c = key[order[hi]];
+            double pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (key[order[i]] < pivot) {
+                    i++;
+                }
+                while (key[order[j]] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = order[i];
+                    order[i++] = order[j];
+                    order[j--] = swap;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface MatchConsumer {
+        void accept(int position, double chordSquared);
+    }
+
+    /**
+     * Bounded max-heap of the closest positions found so far, in primitive arrays
+     */
+    private static final class NearestHeap {
+        final int[] positions;
+        final double[] distances;
+        int size;
+
+        NearestHeap(int capacity) {
+            positions = new int[capacity];
+            distances = new double[capacity];
+        }
+
+        double worst() {
+            return size < positions.length ? Double.POSITIVE_INFINITY : distances[0];
+        }
+
+        void offer(int position, double distance) {
+            if (size < positions.length) {
+                int i = size++;
+                while (i > 0 && distances[(i - 1) / 2] < distance) {
+                    positions[i] = positions[(i - 1) / 2];
+                    distances[i] = distances[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+                positions[i] = position;
+                distances[i] = distance;
+            } else if (distance < distances[0]) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && distances[child + 1] > distances[child]) {
+                        child++;
+                    }
+                    if (distances[child] <= distance) {
+                        break;
+                    }
+                    positions[i] = positions[child];
+                    distances[i] = distances[child];
+                    i = child;
+                }
+                positions[i] = position;
+                distances[i] = distance;
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package api.index;
+
+import api.pojos.response.UserResponse;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Geo Match value object
+ * A user found by a spatial query, with its great-circle distance from the query point
+ *
+ */
+@Value
+@Builder
+public class GeoMatch {
+
+    UserResponse user;
+    double distanceKm;
+}
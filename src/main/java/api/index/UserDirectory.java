@@ -0,0 +1,153 @@
+package api.index;
+
+import api.endpoints.UsersAPI;
+import api.pojos.response.UserResponse;
+import api.utils.JsonUtils;
+import api.utils.ThreadUtils;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Users looked up by ID, username or email without fetching and scanning /users
+ * The directory holds one immutable snapshot of the users with open-addressing hash
+ * indexes on each key. A refresh builds the next snapshot off to the side and publishes
+ * it with a single volatile write (copy-on-write), so lookups take no lock and always
+ * see one consistent snapshot. A refresh whose response body is unchanged keeps the
+ * current snapshot instead of rebuilding it. Returned users are shared: do not modify them.
+ *
+ * <pre>
+ * try (UserDirectory users = UserDirectory.start(Duration.ofMinutes(1))) {
+ *     UserResponse user = users.byUsername("johnd");
+ * }
+ * </pre>
+ *
+ */
+public class UserDirectory implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDirectory.class);
+
+    private final Supplier<Response> fetch;
+    private final ScheduledExecutorService refresher;
+    private volatile UserSnapshot snapshot;
+
+    /**
+     * Load the users and reload them in the background
+     * @param fetch Request returning every user
+     * @param refreshInterval Delay between reloads, or null to load only once
+     */
+    public UserDirectory(Supplier<Response> fetch, Duration refreshInterval) {
+        this.fetch = fetch;
+        refresh();
+        if (refreshInterval != null) {
+            long delayMillis = refreshInterval.toMillis();
+            refresher = Executors.newSingleThreadScheduledExecutor(ThreadUtils.daemonThreadFactory("user-refresh-"));
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, delayMillis, delayMillis, TimeUnit.MILLISECONDS);
+        } else {
+            refresher = null;
+        }
+    }
+
+    /**
+     * Directory over the users endpoint
+     * @param refreshInterval Delay between reloads, or null to load only once
+     * @return UserDirectory
+     */
+    public static UserDirectory start(Duration refreshInterval) {
+        return new UserDirectory(UsersAPI::getUserSnapshot, refreshInterval);
+    }
+
+    /**
+     * Reload the users now and publish them as a new snapshot if they changed
+     * @return true if a new snapshot was published
+     */
+    public synchronized boolean refresh() {
+        Response response = fetch.get();
+        if (response.getStatusCode() != 200) {
+            throw new RuntimeException("Failed to load users: HTTP " + response.getStatusCode());
+        }
+        String body = response.asString();
+        UserSnapshot current = snapshot;
+        if (current != null && body.equals(current.source)) {
+            return false;
+        }
+        UserSnapshot next = new UserSnapshot(JsonUtils.fromJson(body, UserResponse[].class), body);
+        if (next.duplicateKeys > 0) {
+            log.warn("User directory: {} duplicate ID/username/email key(s), the first user keeps each", next.duplicateKeys);
+        }
+        snapshot = next;
+        log.debug("User directory loaded: {} user(s)", next.users.length);
+        return true;
+    }
+
+    /**
+     * User by ID
+     * @param userId User ID
+     * @return User, or null if there is none
+     */
+    public UserResponse byId(int userId) {
+        return snapshot.byId(userId);
+    }
+
+    /**
+     * User by exact username
+     * @param username Username
+     * @return User, or null if there is none
+     */
+    public UserResponse byUsername(String username) {
+        return snapshot.byUsername(username);
+    }
+
+    /**
+     * User by email, ignoring case
+     * @param email Email
+     * @return User, or null if there is none
+     */
+    public UserResponse byEmail(String email) {
+        return snapshot.byEmail(email);
+    }
+
+    /**
+     * Every user of the current snapshot
+     * @return Unmodifiable list in API order
+     */
+    public List<UserResponse> all() {
+        return snapshot.view;
+    }
+
+    public int size() {
+        return snapshot.users.length;
+    }
+
+    /**
+     * When the current snapshot was built
+     * @return Instant
+     */
+    public Instant getLoadedAt() {
+        return snapshot.loadedAt;
+    }
+
+    @Override
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot until a reload succeeds
+            log.warn("User directory reload failed: {}", e.toString());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package api.index;
+
+import api.pojos.response.UserResponse;
+import api.utils.collections.IntIntHashMap;
+import api.utils.collections.StringIntHashMap;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable set of users with its hash indexes
+ * Every index maps a key to the user's position in the users array. When two users share
+ * a username or email the first one keeps the key.
+ *
+ */
+final class UserSnapshot {
+
+    static final int ABSENT = -1;
+
+    final UserResponse[] users;
+    final List<UserResponse> view;
+    final IntIntHashMap byId;
+    final StringIntHashMap byUsername;
+    final StringIntHashMap byEmail;
+    final int duplicateKeys;
+    final Instant loadedAt;
+    /** Body the snapshot was parsed from, to skip rebuilding an unchanged directory */
+    final String source;
+
+    UserSnapshot(UserResponse[] users, String source) {
+        this.users = users;
+        this.view = Collections.unmodifiableList(Arrays.asList(users));
+        this.source = source;
+        this.loadedAt = Instant.now();
+        byId = new IntIntHashMap(users.length);
+        byUsername = new StringIntHashMap(users.length);
+        byEmail = new StringIntHashMap(users.length);
+        int duplicates = 0;
+        for (int i = 0; i < users.length; i++) {
+            UserResponse user = users[i];
+            if (user.getId() != null) {
+                if (byId.containsKey(user.getId())) {
+                    duplicates++;
+                } else {
+                    byId.put(user.getId(), i);
+                }
+            }
+            if (user.getUsername() != null && !byUsername.putIfAbsent(user.getUsername(), i)) {
+                duplicates++;
+            }
+            if (user.getEmail() != null && !byEmail.putIfAbsent(normalizeEmail(user.getEmail()), i)) {
+                duplicates++;
+            }
+        }
+        this.duplicateKeys = duplicates;
+    }
+
+    UserResponse byId(int id) {
+        return at(byId.get(id, ABSENT));
+    }
+
+    UserResponse byUsername(String username) {
+        return at(byUsername.get(username, ABSENT));
+    }
+
+    UserResponse byEmail(String email) {
+        return email != null ? at(byEmail.get(normalizeEmail(email), ABSENT)) : null;
+    }
+
+    /**
+     * Emails match case-insensitively
+     */
+    static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private UserResponse at(int position) {
+        return position == ABSENT ? null : users[position];
+    }
+}
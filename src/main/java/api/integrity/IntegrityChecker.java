@@ -0,0 +1,171 @@
+package api.integrity;
+
+import api.endpoints.CartsAPI;
+import api.endpoints.ProductsAPI;
+import api.endpoints.UsersAPI;
+import api.pojos.response.CartResponse;
+import api.utils.JsonUtils;
+import api.utils.ThreadUtils;
+import api.utils.collections.IntHashSet;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Referential integrity of carts against users and products
+ * User and product IDs are held in primitive IntHashSets, so every cart reference is
+ * checked by a hash probe without boxing. Carts are checked in a parallel pass and
+ * violations come out as a lazy Stream: nothing is collected unless the caller does,
+ * so millions of cart lines can be checked in constant extra memory.
+ *
+ * <pre>
+ * IntegrityChecker checker = IntegrityChecker.fetch();
+ * checker.violations().limit(100).forEach(violation -&gt; log.warn("{}", violation));
+ * IntegrityReport report = checker.report(20);
+ * </pre>
+ *
+ */
+public class IntegrityChecker {
+
+    private static final Logger log = LoggerFactory.getLogger(IntegrityChecker.class);
+
+    private final IntHashSet userIds;
+    private final IntHashSet productIds;
+    private final List<CartResponse> carts;
+
+    /**
+     * @param userIds IDs of the existing users
+     * @param productIds IDs of the existing products
+     * @param carts Carts to check
+     */
+    public IntegrityChecker(IntHashSet userIds, IntHashSet productIds, List<CartResponse> carts) {
+        this.userIds = userIds;
+        this.productIds = productIds;
+        this.carts = carts;
+    }
+
+    /**
+     * Fetch users, products and carts of the environment concurrently
+     * User and product IDs are read straight from the response bodies without binding the objects
+     * @return IntegrityChecker over the fetched collections
+     */
+    public static IntegrityChecker fetch() {
+        // A new executor per fetch: its threads start from the caller and inherit its Allure test context
+        ExecutorService executor = ThreadUtils.newThreadPerTaskExecutor("integrity-");
+        try {
+            CompletableFuture<IntHashSet> users = CompletableFuture.supplyAsync(() -> ids(UsersAPI::getAllUsers, "users"), executor);
+            CompletableFuture<IntHashSet> products = CompletableFuture.supplyAsync(() -> ids(ProductsAPI::getAllProducts, "products"), executor);
+            CompletableFuture<List<CartResponse>> carts = CompletableFuture.supplyAsync(() ->
+                    Arrays.asList(JsonUtils.fromResponse(ok(CartsAPI.getAllCarts(), "carts"), CartResponse[].class)), executor);
+            return new IntegrityChecker(users.join(), products.join(), carts.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                    : new RuntimeException("Failed to fetch environment for integrity check", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Every violation, found by a parallel pass over the carts
+     * The stream is lazy and unordered; add sequential() or sorted() when order matters
+     * @return Stream of IntegrityViolation
+     */
+    public Stream<IntegrityViolation> violations() {
+        return carts.parallelStream().mapMulti(this::check);
+    }
+
+    /**
+     * Count every violation and keep the first ones
+     * @param maxSamples Violations to keep in the report
+     * @return IntegrityReport
+     */
+    public IntegrityReport report(int maxSamples) {
+        long start = System.nanoTime();
+        LongAdder unknownUsers = new LongAdder();
+        LongAdder unknownProducts = new LongAdder();
+        AtomicInteger sampled = new AtomicInteger();
+        ConcurrentLinkedQueue<IntegrityViolation> samples = new ConcurrentLinkedQueue<>();
+        violations().forEach(violation -> {
+            (violation.getKind() == IntegrityViolation.Kind.UNKNOWN_USER ? unknownUsers : unknownProducts).increment();
+            if (sampled.getAndIncrement() < maxSamples) {
+                samples.add(violation);
+            }
+        });
+        long cartLines = carts.parallelStream()
+                .mapToLong(cart -> cart.getProducts() != null ? cart.getProducts().size() : 0)
+                .sum();
+
+        List<IntegrityViolation> ordered = new ArrayList<>(samples);
+        ordered.sort(Comparator.comparing(IntegrityViolation::getCartId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparingInt(IntegrityViolation::getLine));
+        IntegrityReport report = IntegrityReport.builder()
+                .users(userIds.size())
+                .products(productIds.size())
+                .carts(carts.size())
+                .cartLines(cartLines)
+                .unknownUsers(unknownUsers.sum())
+                .unknownProducts(unknownProducts.sum())
+                .samples(ordered)
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+        log.info("Integrity check: {} cart(s), {} line(s), {} unknown user(s), {} unknown product(s), {} ms",
+                report.getCarts(), report.getCartLines(), report.getUnknownUsers(), report.getUnknownProducts(),
+                report.getElapsedMillis());
+        return report;
+    }
+
+    private void check(CartResponse cart, Consumer<IntegrityViolation> sink) {
+        Integer userId = cart.getUserId();
+        if (userId == null || !userIds.contains(userId)) {
+            sink.accept(violation(IntegrityViolation.Kind.UNKNOWN_USER, cart, -1, userId));
+        }
+        List<CartResponse.ProductItem> items = cart.getProducts();
+        if (items == null) {
+            return;
+        }
+        for (int line = 0; line < items.size(); line++) {
+            Integer productId = items.get(line).getProductId();
+            if (productId == null || !productIds.contains(productId)) {
+                sink.accept(violation(IntegrityViolation.Kind.UNKNOWN_PRODUCT, cart, line, productId));
+            }
+        }
+    }
+
+    private static IntegrityViolation violation(IntegrityViolation.Kind kind, CartResponse cart, int line, Integer referencedId) {
+        return IntegrityViolation.builder()
+                .kind(kind)
+                .cartId(cart.getId())
+                .line(line)
+                .referencedId(referencedId)
+                .build();
+    }
+
+    private static IntHashSet ids(Supplier<Response> request, String collection) {
+        Response response = ok(request.get(), collection);
+        IntHashSet ids = new IntHashSet();
+        JsonUtils.readIntField(response.asInputStream(), "id", ids::add);
+        return ids;
+    }
+
+    private static Response ok(Response response, String collection) {
+        if (response.getStatusCode() != 200) {
+            throw new RuntimeException("Failed to fetch " + collection + ": HTTP " + response.getStatusCode());
+        }
+        return response;
+    }
+}
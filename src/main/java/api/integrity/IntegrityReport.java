@@ -0,0 +1,34 @@
+package api.integrity;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Integrity Report value object
+ * Totals of one integrity check with the first violations found
+ *
+ */
+@Value
+@Builder
+public class IntegrityReport {
+
+    int users;
+    int products;
+    int carts;
+    long cartLines;
+    long unknownUsers;
+    long unknownProducts;
+    /** Up to the requested number of violations, ordered by cart and line */
+    List<IntegrityViolation> samples;
+    long elapsedMillis;
+
+    public long getViolations() {
+        return unknownUsers + unknownProducts;
+    }
+
+    public boolean isClean() {
+        return getViolations() == 0;
+    }
+}
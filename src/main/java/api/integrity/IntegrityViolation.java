@@ -0,0 +1,23 @@
+package api.integrity;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Integrity Violation value object
+ * A cart reference to a user or product that does not exist
+ *
+ */
+@Value
+@Builder
+public class IntegrityViolation {
+
+    public enum Kind { UNKNOWN_USER, UNKNOWN_PRODUCT }
+
+    Kind kind;
+    Integer cartId;
+    /** Zero-based product line of the cart, -1 for the cart's user */
+    int line;
+    /** Referenced ID, null when the reference is missing */
+    Integer referencedId;
+}
@@ -0,0 +1,276 @@
+package api.load;
+
+import api.load.PhaseResult.ActionResult;
+import api.utils.ThreadUtils;
+import io.restassured.response.Response;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator
+ * Requests are started at a scheduled arrival rate regardless of how many are
+ * still outstanding, each on its own (virtual, where available) thread. Latency is
+ * measured from the scheduled send time so a slow server cannot hide its queueing
+ * delay from the results (coordinated omission correction). Arrivals rejected by the
+ * in-flight limit are recorded with the drain timeout as their latency, so a saturated
+ * run cannot report percentiles from its surviving requests only.
+ *
+ */
+public class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final int DEFAULT_MAX_IN_FLIGHT = 10_000;
+    private static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final Scenario scenario;
+    private final List<LoadPhase> phases = new ArrayList<>();
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+    private Duration drainTimeout = DEFAULT_DRAIN_TIMEOUT;
+    private int partitionIndex = 0;
+    private int partitionCount = 1;
+
+    private LoadGenerator(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    /**
+     * Create a generator for a scenario
+     * @param scenario Scenario to run
+     * @return LoadGenerator
+     */
+    public static LoadGenerator of(Scenario scenario) {
+        return new LoadGenerator(scenario);
+    }
+
+    /**
+     * Append a load phase
+     * @param phase LoadPhase
+     * @return this generator
+     */
+    public LoadGenerator phase(LoadPhase phase) {
+        phases.add(phase);
+        return this;
+    }
+
+    /**
+     * Append several load phases
+     * @param loadPhases LoadPhases in order
+     * @return this generator
+     */
+    public LoadGenerator phases(List<LoadPhase> loadPhases) {
+        phases.addAll(loadPhases);
+        return this;
+    }
+
+    /**
+     * Limit outstanding requests; arrivals beyond it are counted as dropped errors with timeout latency
+     * @param limit Maximum in-flight requests
+     * @return this generator
+     */
+    public LoadGenerator maxInFlight(int limit) {
+        this.maxInFlight = limit;
+        return this;
+    }
+
+    /**
+     * How long to wait for outstanding requests after the last phase
+     * @param timeout Drain timeout
+     * @return this generator
+     */
+    public LoadGenerator drainTimeout(Duration timeout) {
+        this.drainTimeout = timeout;
+        return this;
+    }
+
+    /**
+     * Only send this generator's share of the schedule: arrivals k with k % count == index.
+     * Generators on several machines with the same phases then interleave instead of bursting together.
+     * @param index Partition index (0-based)
+     * @param count Number of partitions
+     * @return this generator
+     */
+    public LoadGenerator partition(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Partition index " + index + " out of range for count " + count);
+        }
+        this.partitionIndex = index;
+        this.partitionCount = count;
+        return this;
+    }
+
+    /**
+     * Run all phases starting now
+     * @return LoadResult
+     */
+    public LoadResult run() {
+        return runAt(Instant.now());
+    }
+
+    /**
+     * Run all phases starting at a wall-clock instant, sleeping until then
+     * @param startAt Start time
+     * @return LoadResult
+     */
+    public LoadResult runAt(Instant startAt) {
+        if (phases.isEmpty()) {
+            throw new IllegalStateException("No load phases configured for scenario: " + scenario.getName());
+        }
+        long delayNanos = Duration.between(Instant.now(), startAt).toNanos();
+        long phaseStart = System.nanoTime() + Math.max(0, delayNanos);
+        parkUntil(phaseStart);
+
+        List<PhaseRecorder> recorders = new ArrayList<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        ExecutorService executor = ThreadUtils.newThreadPerTaskExecutor("load-" + scenario.getName() + "-");
+        log.info("Running scenario '{}' with {} phase(s), virtual threads: {}",
+                scenario.getName(), phases.size(), ThreadUtils.virtualThreadsAvailable());
+
+        try {
+            for (LoadPhase phase : phases) {
+                PhaseRecorder recorder = new PhaseRecorder(phase, scenario.getActions().size());
+                recorders.add(recorder);
+                dispatch(phase, phaseStart, recorder, inFlight, executor);
+                phaseStart += phase.getDuration().toNanos();
+            }
+        } finally {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    log.warn("{} request(s) still in flight after {}", inFlight.get(), drainTimeout);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<PhaseResult> results = new ArrayList<>();
+        for (PhaseRecorder recorder : recorders) {
+            results.add(recorder.toResult(scenario, partitionCount));
+        }
+        return LoadResult.builder()
+                .scenario(scenario.getName())
+                .startedAt(startAt.toString())
+                .phases(results)
+                .total(PhaseResult.sequential("total", results))
+                .build();
+    }
+
+    private void dispatch(LoadPhase phase, long phaseStart, PhaseRecorder recorder,
+                          AtomicInteger inFlight, ExecutorService executor) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (long k = partitionIndex; ; k += partitionCount) {
+            long offset = phase.arrivalOffsetNanos(k);
+            if (offset < 0) {
+                break;
+            }
+            long intendedStart = phaseStart + offset;
+            parkUntil(intendedStart);
+
+            Scenario.Action action = scenario.pick(random.nextDouble());
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                recorder.drop(drainTimeout.toNanos());
+                continue;
+            }
+            executor.execute(() -> {
+                try {
+                    execute(action, intendedStart, recorder);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+        parkUntil(phaseStart + phase.getDuration().toNanos());
+    }
+
+    private static void execute(Scenario.Action action, long intendedStart, PhaseRecorder recorder) {
+        long actualStart = System.nanoTime();
+        boolean success;
+        try {
+            Response response = action.execute();
+            success = response.getStatusCode() < 400;
+        } catch (RuntimeException e) {
+            success = false;
+        }
+        long end = System.nanoTime();
+        recorder.record(action.getIndex(), end - intendedStart, end - actualStart, success);
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Lock-free counters and histograms for one phase
+     */
+    private static class PhaseRecorder {
+
+        private final LoadPhase phase;
+        private final ConcurrentHistogram latency = new ConcurrentHistogram(3);
+        private final ConcurrentHistogram serviceTime = new ConcurrentHistogram(3);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder[] actionRequests;
+        private final LongAdder[] actionErrors;
+
+        PhaseRecorder(LoadPhase phase, int actionCount) {
+            this.phase = phase;
+            this.actionRequests = new LongAdder[actionCount];
+            this.actionErrors = new LongAdder[actionCount];
+            for (int i = 0; i < actionCount; i++) {
+                actionRequests[i] = new LongAdder();
+                actionErrors[i] = new LongAdder();
+            }
+        }
+
+        void record(int action, long latencyNanos, long serviceNanos, boolean success) {
+            latency.recordValue(latencyNanos);
+            serviceTime.recordValue(serviceNanos);
+            requests.increment();
+            actionRequests[action].increment();
+            if (!success) {
+                errors.increment();
+                actionErrors[action].increment();
+            }
+        }
+
+        /**
+         * A dropped arrival never completes; count it as having waited the full timeout
+         */
+        void drop(long timeoutNanos) {
+            latency.recordValue(timeoutNanos);
+            dropped.increment();
+        }
+
+        PhaseResult toResult(Scenario scenario, int partitions) {
+            List<ActionResult> actions = new ArrayList<>();
+            for (Scenario.Action action : scenario.getActions()) {
+                actions.add(new ActionResult(action.getName(),
+                        actionRequests[action.getIndex()].sum(), actionErrors[action.getIndex()].sum()));
+            }
+            double seconds = phase.getDuration().toNanos() / 1e9;
+            Histogram latencyCopy = latency.copy();
+            Histogram serviceCopy = serviceTime.copy();
+            return PhaseResult.of(phase.getName(), seconds, phase.expectedArrivals() / partitions / seconds,
+                    requests.sum(), errors.sum(), dropped.sum(), latencyCopy, serviceCopy, actions);
+        }
+    }
+}
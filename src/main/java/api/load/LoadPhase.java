@@ -0,0 +1,79 @@
+package api.load;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Load Phase value object
+ * A period of open-model load whose arrival rate changes linearly
+ * from startRate to endRate (requests per second)
+ *
+ */
+@Value
+public class LoadPhase {
+
+    String name;
+    Duration duration;
+    double startRate;
+    double endRate;
+
+    /**
+     * Phase ramping the arrival rate linearly
+     * @param duration Phase duration
+     * @param fromRate Rate at phase start (requests/second)
+     * @param toRate Rate at phase end (requests/second)
+     * @return LoadPhase
+     */
+    public static LoadPhase rampUp(Duration duration, double fromRate, double toRate) {
+        return new LoadPhase("ramp-up", duration, fromRate, toRate);
+    }
+
+    /**
+     * Phase holding a constant arrival rate
+     * @param duration Phase duration
+     * @param rate Rate (requests/second)
+     * @return LoadPhase
+     */
+    public static LoadPhase steady(Duration duration, double rate) {
+        return new LoadPhase("steady", duration, rate, rate);
+    }
+
+    /**
+     * Offset from phase start at which the k-th arrival (zero-based) is due.
+     * Solves N(t) = k for the arrival count N(t) = a*t + b*t^2/2 of a linear rate a + b*t,
+     * so ramps keep an exact schedule instead of accumulating rounding drift.
+     * @param k Arrival index within the phase
+     * @return Offset in nanoseconds, or -1 if the arrival falls after the phase end
+     */
+    public long arrivalOffsetNanos(long k) {
+        double seconds = duration.toNanos() / 1e9;
+        double a = startRate;
+        double b = (endRate - startRate) / seconds;
+        double t;
+        if (Math.abs(b) < 1e-12) {
+            if (a <= 0) {
+                return -1;
+            }
+            t = k / a;
+        } else {
+            double discriminant = a * a + 2 * b * k;
+            if (discriminant < 0) {
+                return -1;
+            }
+            t = (-a + Math.sqrt(discriminant)) / b;
+        }
+        if (t < 0 || t >= seconds) {
+            return -1;
+        }
+        return (long) (t * 1e9);
+    }
+
+    /**
+     * Expected number of arrivals in this phase
+     * @return Arrival count
+     */
+    public double expectedArrivals() {
+        return (startRate + endRate) / 2.0 * duration.toNanos() / 1e9;
+    }
+}
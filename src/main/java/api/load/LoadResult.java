@@ -0,0 +1,64 @@
+package api.load;
+
+import api.retry.RetrySummary;
+import api.utils.JsonUtils;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Load Result POJO
+ * Per-phase and overall results of a load run
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadResult {
+
+    private String scenario;
+    private String startedAt;
+    private List<PhaseResult> phases;
+    private PhaseResult total;
+    /** Run-wide retry totals, absent when nothing was retried */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private RetrySummary retries;
+
+    /**
+     * Find a phase by name
+     * @param phaseName Phase name
+     * @return PhaseResult, or null if absent
+     */
+    public PhaseResult phase(String phaseName) {
+        return phases.stream()
+                .filter(phase -> phase.getName().equals(phaseName))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Serialise the result as JSON
+     * @return JSON string
+     */
+    public String toJson() {
+        return JsonUtils.toJson(this);
+    }
+
+    /**
+     * Write the result as JSON to a file, creating parent directories
+     * @param filePath Target file path
+     */
+    public void writeTo(String filePath) {
+        File parent = new File(filePath).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        JsonUtils.toFile(this, filePath);
+    }
+}
@@ -0,0 +1,97 @@
+package api.load;
+
+import api.config.FrameworkConfig;
+import api.metrics.LatencyFilter;
+import api.metrics.TimingLog;
+import api.retry.RetryBudget;
+import api.retry.RetrySummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line entry point for load runs
+ * Configured through system properties, e.g.
+ * ./gradlew loadTest -Dload.scenario=mixed -Dload.rate=50 -Dload.rampup=10 -Dload.duration=60
+ * Add -Dtiming.log.file=build/timing.log to keep a per-request binary log for soak runs
+ *
+ */
+public class LoadRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadRunner.class);
+
+    public static void main(String[] args) {
+        FrameworkConfig.get().applyToRestAssured();
+
+        Scenario scenario = Scenarios.byName(scenarioFromProperties());
+        String reportFile = reportFileFromProperties();
+        TimingLog timingLog = TimingLog.fromSystemProperties();
+        if (timingLog != null) {
+            LatencyFilter.install();
+            LatencyFilter.getInstance().addListener(timingLog);
+        }
+
+        LoadResult result;
+        try {
+            result = LoadGenerator.of(scenario)
+                    .phases(phasesFromProperties())
+                    .maxInFlight(Integer.getInteger("load.max.inflight", 10_000))
+                    .run();
+        } finally {
+            if (timingLog != null) {
+                timingLog.close();
+                log.info("Timing log written to {} ({} records, {} dropped)",
+                        timingLog.getFile(), timingLog.getWritten(), timingLog.getDropped());
+            }
+        }
+        RetrySummary retries = RetryBudget.global().summary();
+        result.setRetries(retries);
+        result.writeTo(reportFile);
+
+        PhaseResult total = result.getTotal();
+        log.info("Scenario '{}': {} requests, {} req/s, error rate {}, p99 {} ms. Report: {}",
+                scenario.getName(), total.getRequests(), String.format("%.1f", total.getThroughput()),
+                String.format("%.4f", total.getErrorRate()), total.getLatency().getP99(), reportFile);
+        if (retries != null) {
+            log.info("Retries: {} of budget {} ({} denied), {} call(s) recovered, {} exhausted",
+                    retries.getRetries(), retries.getBudget(), retries.getDenied(),
+                    retries.getRecovered(), retries.getExhausted());
+        }
+    }
+
+    /**
+     * Scenario name from load.scenario
+     * @return Scenario name
+     */
+    public static String scenarioFromProperties() {
+        return System.getProperty("load.scenario", Scenarios.MIXED);
+    }
+
+    /**
+     * Report file from load.report.file
+     * @return Report file path
+     */
+    public static String reportFileFromProperties() {
+        return System.getProperty("load.report.file", "build/load-report.json");
+    }
+
+    /**
+     * Ramp-up and steady phases from load.rate, load.rampup and load.duration (seconds)
+     * @return List of LoadPhase
+     */
+    public static List<LoadPhase> phasesFromProperties() {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "10"));
+        long rampUpSeconds = Long.getLong("load.rampup", 10);
+        long durationSeconds = Long.getLong("load.duration", 30);
+
+        List<LoadPhase> phases = new ArrayList<>();
+        if (rampUpSeconds > 0) {
+            phases.add(LoadPhase.rampUp(Duration.ofSeconds(rampUpSeconds), 0, rate));
+        }
+        phases.add(LoadPhase.steady(Duration.ofSeconds(durationSeconds), rate));
+        return phases;
+    }
+}
@@ -0,0 +1,138 @@
+package api.load;
+
+import api.metrics.LatencyReport.Percentiles;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Phase Result POJO
+ * Throughput, error rate and latency distribution of one load phase.
+ * Latency is measured from the intended send time, so it is corrected for
+ * coordinated omission, and includes dropped requests at the drain timeout;
+ * serviceTime is measured from the actual send time of requests that were sent.
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PhaseResult {
+
+    private String name;
+    private Double durationSeconds;
+    private Double offeredRate;
+    private Long requests;
+    private Long errors;
+    private Long dropped;
+    private Double throughput;
+    private Double errorRate;
+    private Percentiles latency;
+    private Percentiles serviceTime;
+    private List<ActionResult> actions;
+
+    @JsonIgnore
+    private Histogram latencyHistogram;
+    @JsonIgnore
+    private Histogram serviceTimeHistogram;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ActionResult {
+        private String name;
+        private Long requests;
+        private Long errors;
+    }
+
+    /**
+     * Combine phases that ran one after another; durations add up
+     * @param name Name of the combined result
+     * @param phases Phase results
+     * @return Combined PhaseResult
+     */
+    public static PhaseResult sequential(String name, List<PhaseResult> phases) {
+        double duration = phases.stream().mapToDouble(PhaseResult::getDurationSeconds).sum();
+        return combine(name, duration, phases);
+    }
+
+    /**
+     * Combine results that ran at the same time, e.g. on several workers; rates add up
+     * @param name Name of the combined result
+     * @param parts Phase results
+     * @return Combined PhaseResult
+     */
+    public static PhaseResult concurrent(String name, List<PhaseResult> parts) {
+        double duration = parts.stream().mapToDouble(PhaseResult::getDurationSeconds).max().orElse(0);
+        return combine(name, duration, parts);
+    }
+
+    /**
+     * Build a result from raw counters and histograms
+     * @param name Phase name
+     * @param durationSeconds Phase duration
+     * @param offeredRate Average offered rate
+     * @param requests Completed requests
+     * @param errors Failed requests
+     * @param dropped Requests not sent because the in-flight limit was reached
+     * @param latency Latency histogram in nanoseconds
+     * @param serviceTime Service time histogram in nanoseconds
+     * @param actions Per-action counts
+     * @return PhaseResult
+     */
+    public static PhaseResult of(String name, double durationSeconds, double offeredRate,
+                                 long requests, long errors, long dropped,
+                                 Histogram latency, Histogram serviceTime, List<ActionResult> actions) {
+        return PhaseResult.builder()
+                .name(name)
+                .durationSeconds(durationSeconds)
+                .offeredRate(offeredRate)
+                .requests(requests)
+                .errors(errors)
+                .dropped(dropped)
+                .throughput(durationSeconds > 0 ? requests / durationSeconds : 0.0)
+                .errorRate(requests + dropped > 0 ? (double) (errors + dropped) / (requests + dropped) : 0.0)
+                .latency(Percentiles.fromHistogram(latency))
+                .serviceTime(Percentiles.fromHistogram(serviceTime))
+                .actions(actions)
+                .latencyHistogram(latency)
+                .serviceTimeHistogram(serviceTime)
+                .build();
+    }
+
+    private static PhaseResult combine(String name, double duration, List<PhaseResult> parts) {
+        Histogram latency = new Histogram(3);
+        Histogram serviceTime = new Histogram(3);
+        long requests = 0;
+        long errors = 0;
+        long dropped = 0;
+        double offered = 0;
+        Map<String, ActionResult> actions = new LinkedHashMap<>();
+
+        for (PhaseResult part : parts) {
+            latency.add(part.getLatencyHistogram());
+            serviceTime.add(part.getServiceTimeHistogram());
+            requests += part.getRequests();
+            errors += part.getErrors();
+            dropped += part.getDropped();
+            offered += part.getOfferedRate() * part.getDurationSeconds();
+            for (ActionResult action : part.getActions()) {
+                actions.merge(action.getName(),
+                        new ActionResult(action.getName(), action.getRequests(), action.getErrors()),
+                        (a, b) -> new ActionResult(a.getName(), a.getRequests() + b.getRequests(),
+                                a.getErrors() + b.getErrors()));
+            }
+        }
+        return of(name, duration, duration > 0 ? offered / duration : 0.0,
+                requests, errors, dropped, latency, serviceTime, new ArrayList<>(actions.values()));
+    }
+}
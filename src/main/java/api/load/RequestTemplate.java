@@ -0,0 +1,359 @@
+package api.load;
+
+import api.utils.BoundedPool;
+import api.utils.JsonUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Request body serialized once, with variable slots patched in per request
+ * The prototype is a request POJO whose variable fields hold slot sentinels
+ * (intSlot(n) for numbers, stringSlot(n) inside strings). It is serialized once
+ * with JsonUtils and split into constant byte segments around the sentinels;
+ * each body is then assembled by copying the segments and writing the slot
+ * values into a buffer borrowed from a bounded pool, without Jackson on the hot
+ * path. The pool, not the thread, owns the buffers, so a thread per request does
+ * not allocate a new buffer per request.
+ *
+ * <pre>
+ * RequestTemplate template = RequestTemplate.compile(CartRequest.builder()
+ *         .userId(RequestTemplate.intSlot(0))
+ *         .date(RequestTemplate.stringSlot(1))
+ *         .products(...)
+ *         .build());
+ * CartsAPI.createCart(template.body().set(0, userId).set(1, date).toBytes());
+ * </pre>
+ *
+ */
+public class RequestTemplate {
+
+    /** Ten-digit base for number sentinels, chosen to be unlikely in real payloads */
+    private static final int INT_SENTINEL_BASE = 1_987_654_000;
+    private static final int MAX_SLOTS = 100;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SHORT_ESCAPES = new byte[0x20];
+
+    static {
+        SHORT_ESCAPES['\b'] = 'b';
+        SHORT_ESCAPES['\t'] = 't';
+        SHORT_ESCAPES['\n'] = 'n';
+        SHORT_ESCAPES['\f'] = 'f';
+        SHORT_ESCAPES['\r'] = 'r';
+    }
+
+    private final byte[][] segments;
+    private final int[] segmentSlots;
+    private final boolean[] stringSlots;
+    private final int slotCount;
+    private final BoundedPool<Body> bodies = new BoundedPool<>(BoundedPool.DEFAULT_CAPACITY, () -> new Body(this));
+
+    private RequestTemplate(byte[][] segments, int[] segmentSlots, boolean[] stringSlots) {
+        this.segments = segments;
+        this.segmentSlots = segmentSlots;
+        this.stringSlots = stringSlots;
+        this.slotCount = stringSlots.length;
+    }
+
+    /**
+     * Sentinel for a numeric slot, to be set on an Integer field of the prototype
+     * @param slot Slot number (0-99)
+     * @return Sentinel value
+     */
+    public static Integer intSlot(int slot) {
+        checkSlot(slot);
+        return INT_SENTINEL_BASE + slot;
+    }
+
+    /**
+     * Sentinel for a string slot; may be embedded in a longer string, e.g. "load" + stringSlot(0) + "@example.com"
+     * @param slot Slot number (0-99)
+     * @return Sentinel text
+     */
+    public static String stringSlot(int slot) {
+        checkSlot(slot);
+        return "{{slot" + slot + "}}";
+    }
+
+    /**
+     * Serialize a prototype and locate its slots
+     * @param prototype Request POJO holding slot sentinels
+     * @return RequestTemplate
+     */
+    public static RequestTemplate compile(Object prototype) {
+        return compile(JsonUtils.toJsonBytes(prototype));
+    }
+
+    /**
+     * Locate the slots of an already serialized JSON body
+     * @param json UTF-8 JSON holding slot sentinels
+     * @return RequestTemplate
+     */
+    public static RequestTemplate compile(byte[] json) {
+        List<int[]> matches = new ArrayList<>();
+        boolean[] found = new boolean[MAX_SLOTS];
+        boolean[] isString = new boolean[MAX_SLOTS];
+        int highest = -1;
+        for (int slot = 0; slot < MAX_SLOTS; slot++) {
+            byte[] number = Integer.toString(INT_SENTINEL_BASE + slot).getBytes(StandardCharsets.US_ASCII);
+            byte[] text = stringSlot(slot).getBytes(StandardCharsets.US_ASCII);
+            for (int at = indexOf(json, number, 0); at >= 0; at = indexOf(json, number, at + number.length)) {
+                if (isWholeNumber(json, at, number.length)) {
+                    matches.add(new int[]{at, number.length, slot});
+                    found[slot] = true;
+                }
+            }
+            for (int at = indexOf(json, text, 0); at >= 0; at = indexOf(json, text, at + text.length)) {
+                if (found[slot] && !isString[slot]) {
+                    throw new IllegalArgumentException("Slot " + slot + " is used as both a number and a string");
+                }
+                matches.add(new int[]{at, text.length, slot});
+                found[slot] = true;
+                isString[slot] = true;
+            }
+            if (found[slot]) {
+                highest = slot;
+            }
+        }
+        for (int slot = 0; slot <= highest; slot++) {
+            if (!found[slot]) {
+                throw new IllegalArgumentException("Slot " + slot + " does not appear in the template");
+            }
+        }
+        matches.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        byte[][] segments = new byte[matches.size() + 1][];
+        int[] segmentSlots = new int[matches.size()];
+        int position = 0;
+        for (int i = 0; i < matches.size(); i++) {
+            int[] match = matches.get(i);
+            segments[i] = Arrays.copyOfRange(json, position, match[0]);
+            segmentSlots[i] = match[2];
+            position = match[0] + match[1];
+        }
+        segments[matches.size()] = Arrays.copyOfRange(json, position, json.length);
+        return new RequestTemplate(segments, segmentSlots, Arrays.copyOf(isString, highest + 1));
+    }
+
+    /**
+     * Borrow a pooled body for the template, with every slot unset (0, or the number in a string slot)
+     * The body returns to the pool in toBytes() or writeTo() and must not be used afterwards.
+     * @return Body
+     */
+    public Body body() {
+        return bodies.borrow();
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    private static void checkSlot(int slot) {
+        if (slot < 0 || slot >= MAX_SLOTS) {
+            throw new IllegalArgumentException("Slot must be between 0 and " + (MAX_SLOTS - 1) + ": " + slot);
+        }
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from) {
+        outer:
+        for (int i = from; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static boolean isWholeNumber(byte[] json, int at, int length) {
+        boolean startsToken = at == 0 || (json[at - 1] != '"' && !isNumberChar(json[at - 1]));
+        boolean endsToken = at + length == json.length || (json[at + length] != '"' && !isNumberChar(json[at + length]));
+        return startsToken && endsToken;
+    }
+
+    private static boolean isNumberChar(byte b) {
+        return (b >= '0' && b <= '9') || b == '-' || b == '.' || b == 'e' || b == 'E' || b == '+';
+    }
+
+    /**
+     * Slot values for one template, assembled into a pooled buffer
+     * Confined to its borrower from body() until toBytes() or writeTo() returns it to the pool.
+     */
+    public static final class Body {
+
+        private final RequestTemplate template;
+        private final long[] numbers;
+        private final String[] strings;
+        private byte[] buffer = new byte[512];
+        private int length;
+
+        private Body(RequestTemplate template) {
+            this.template = template;
+            this.numbers = new long[template.slotCount];
+            this.strings = new String[template.slotCount];
+        }
+
+        /**
+         * Set a numeric slot, or a string slot to the digits of a number
+         * @param slot Slot number
+         * @param value Value
+         * @return this
+         */
+        public Body set(int slot, long value) {
+            numbers[slot] = value;
+            strings[slot] = null;
+            return this;
+        }
+
+        /**
+         * Set a string slot; the value is JSON-escaped when written
+         * @param slot Slot number
+         * @param value Value
+         * @return this
+         */
+        public Body set(int slot, String value) {
+            if (!template.stringSlots[slot]) {
+                throw new IllegalArgumentException("Slot " + slot + " is a number slot");
+            }
+            strings[slot] = value;
+            return this;
+        }
+
+        /**
+         * Assemble the body
+         * @return Exactly sized UTF-8 JSON body
+         */
+        public byte[] toBytes() {
+            assemble();
+            byte[] body = Arrays.copyOf(buffer, length);
+            release();
+            return body;
+        }
+
+        /**
+         * Assemble the body and write it without copying
+         * @param out Target stream
+         */
+        public void writeTo(OutputStream out) {
+            assemble();
+            try {
+                out.write(buffer, 0, length);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to write request body", e);
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public String toString() {
+            assemble();
+            return new String(buffer, 0, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Clear the slots so the next borrower starts from an unset body
+         */
+        private void release() {
+            Arrays.fill(numbers, 0);
+            Arrays.fill(strings, null);
+            template.bodies.release(this);
+        }
+
+        private void assemble() {
+            length = 0;
+            byte[][] segments = template.segments;
+            for (int i = 0; i < template.segmentSlots.length; i++) {
+                put(segments[i]);
+                int slot = template.segmentSlots[i];
+                if (strings[slot] != null) {
+                    putEscaped(strings[slot]);
+                } else {
+                    putNumber(numbers[slot]);
+                }
+            }
+            put(segments[segments.length - 1]);
+        }
+
+        private void put(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        private void putByte(int b) {
+            ensure(1);
+            buffer[length++] = (byte) b;
+        }
+
+        private void putNumber(long value) {
+            if (value == Long.MIN_VALUE) {
+                put(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            if (value < 0) {
+                putByte('-');
+                value = -value;
+            }
+            int digits = 1;
+            for (long rest = value / 10; rest > 0; rest /= 10) {
+                digits++;
+            }
+            ensure(digits);
+            for (int i = length + digits - 1; i >= length; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            length += digits;
+        }
+
+        private void putEscaped(String value) {
+            ensure(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    putByte('\\');
+                    putByte(c);
+                } else if (c < 0x20 && SHORT_ESCAPES[c] != 0) {
+                    putByte('\\');
+                    putByte(SHORT_ESCAPES[c]);
+                } else if (c < 0x20) {
+                    putByte('\\');
+                    putByte('u');
+                    putByte('0');
+                    putByte('0');
+                    putByte(HEX[c >> 4]);
+                    putByte(HEX[c & 0xF]);
+                } else if (c < 0x80) {
+                    putByte(c);
+                } else if (c < 0x800) {
+                    putByte(0xC0 | (c >> 6));
+                    putByte(0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    putByte(0xF0 | (codePoint >> 18));
+                    putByte(0x80 | ((codePoint >> 12) & 0x3F));
+                    putByte(0x80 | ((codePoint >> 6) & 0x3F));
+                    putByte(0x80 | (codePoint & 0x3F));
+                } else {
+                    putByte(0xE0 | (c >> 12));
+                    putByte(0x80 | ((c >> 6) & 0x3F));
+                    putByte(0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package api.load;
+
+import api.load.SaturationResult.SaturationPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Searches for the highest sustainable request rate of a scenario
+ * Each probe runs the scenario at a fixed offered rate (short warm-up, then a
+ * measured steady phase) and passes when p99 latency, error rate and achieved
+ * throughput stay within limits. The rate is either stepped up until the first
+ * failure or binary-searched between two bounds.
+ *
+ */
+public class SaturationFinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SaturationFinder.class);
+
+    public enum Mode { STEP, BINARY }
+
+    private final Supplier<Scenario> scenarioFactory;
+    private double maxP99Millis = 1000;
+    private double maxErrorRate = 0.01;
+    private double minThroughputRatio = 0.95;
+    private Duration warmup = Duration.ofSeconds(5);
+    private Duration probeDuration = Duration.ofSeconds(20);
+
+    private SaturationFinder(Supplier<Scenario> scenarioFactory) {
+        this.scenarioFactory = scenarioFactory;
+    }
+
+    /**
+     * Create a finder; the factory is called once per probe
+     * @param scenarioFactory Scenario factory
+     * @return SaturationFinder
+     */
+    public static SaturationFinder of(Supplier<Scenario> scenarioFactory) {
+        return new SaturationFinder(scenarioFactory);
+    }
+
+    /**
+     * Latency and error limits a probe must stay within
+     * @param p99Millis Maximum p99 latency in milliseconds
+     * @param errorRate Maximum error rate (0..1)
+     * @return this finder
+     */
+    public SaturationFinder limits(double p99Millis, double errorRate) {
+        this.maxP99Millis = p99Millis;
+        this.maxErrorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * Minimum share of the offered rate that must actually complete
+     * @param ratio Ratio (0..1)
+     * @return this finder
+     */
+    public SaturationFinder minThroughputRatio(double ratio) {
+        this.minThroughputRatio = ratio;
+        return this;
+    }
+
+    /**
+     * Duration of each probe
+     * @param warmupDuration Unmeasured warm-up at the probe rate
+     * @param measuredDuration Measured steady phase
+     * @return this finder
+     */
+    public SaturationFinder probeDuration(Duration warmupDuration, Duration measuredDuration) {
+        this.warmup = warmupDuration;
+        this.probeDuration = measuredDuration;
+        return this;
+    }
+
+    /**
+     * Raise the rate by a fixed step until a probe fails or maxRate is reached
+     * @param startRate First rate to probe
+     * @param stepRate Rate increment
+     * @param maxRate Highest rate to probe
+     * @return SaturationResult
+     */
+    public SaturationResult step(double startRate, double stepRate, double maxRate) {
+        if (!(stepRate > 0) || maxRate + stepRate == maxRate) {
+            throw new IllegalArgumentException("Step rate must be positive and large enough to change the rate: " + stepRate);
+        }
+        List<SaturationPoint> curve = new ArrayList<>();
+        // Rates are computed from the step count so rounding never accumulates
+        for (long i = 0; startRate + i * stepRate <= maxRate; i++) {
+            SaturationPoint point = probe(startRate + i * stepRate);
+            curve.add(point);
+            if (!point.getPassed()) {
+                break;
+            }
+        }
+        return result(Mode.STEP, curve);
+    }
+
+    /**
+     * Binary-search the highest passing rate between two bounds
+     * @param lowRate Lower bound, expected to pass
+     * @param highRate Upper bound, expected to fail
+     * @param resolution Stop once the bounds are this close (requests/second)
+     * @return SaturationResult
+     */
+    public SaturationResult binarySearch(double lowRate, double highRate, double resolution) {
+        if (!(resolution > 0)) {
+            throw new IllegalArgumentException("Resolution must be positive: " + resolution);
+        }
+        List<SaturationPoint> curve = new ArrayList<>();
+        SaturationPoint low = probe(lowRate);
+        curve.add(low);
+        if (!low.getPassed()) {
+            return result(Mode.BINARY, curve);
+        }
+        SaturationPoint high = probe(highRate);
+        curve.add(high);
+        if (high.getPassed()) {
+            return result(Mode.BINARY, curve);
+        }
+
+        double pass = lowRate;
+        double fail = highRate;
+        while (fail - pass > resolution) {
+            double mid = (pass + fail) / 2;
+            SaturationPoint point = probe(mid);
+            curve.add(point);
+            if (point.getPassed()) {
+                pass = mid;
+            } else {
+                fail = mid;
+            }
+        }
+        return result(Mode.BINARY, curve);
+    }
+
+    /**
+     * Run a single probe at a fixed rate
+     * @param rate Offered rate (requests/second)
+     * @return SaturationPoint
+     */
+    public SaturationPoint probe(double rate) {
+        LoadGenerator generator = LoadGenerator.of(scenarioFactory.get());
+        if (!warmup.isZero()) {
+            generator.phase(new LoadPhase("warmup", warmup, rate, rate));
+        }
+        LoadResult result = generator.phase(LoadPhase.steady(probeDuration, rate)).run();
+        PhaseResult measured = result.phase("steady");
+
+        double p99 = measured.getLatency().getP99();
+        List<String> reasons = new ArrayList<>();
+        if (p99 > maxP99Millis) {
+            reasons.add(String.format(Locale.ROOT, "p99 %.1f ms > %.1f ms", p99, maxP99Millis));
+        }
+        if (measured.getErrorRate() > maxErrorRate) {
+            reasons.add(String.format(Locale.ROOT, "error rate %.4f > %.4f", measured.getErrorRate(), maxErrorRate));
+        }
+        if (measured.getThroughput() < rate * minThroughputRatio) {
+            reasons.add(String.format(Locale.ROOT, "throughput %.1f < %.0f%% of offered",
+                    measured.getThroughput(), minThroughputRatio * 100));
+        }
+
+        SaturationPoint point = SaturationPoint.builder()
+                .offeredRate(rate)
+                .throughput(measured.getThroughput())
+                .p99Millis(p99)
+                .errorRate(measured.getErrorRate())
+                .passed(reasons.isEmpty())
+                .reason(String.join("; ", reasons))
+                .build();
+        log.info("Probe {} req/s: {} (throughput {}, p99 {} ms, errors {})",
+                String.format(Locale.ROOT, "%.1f", rate), point.getPassed() ? "PASS" : "FAIL " + point.getReason(),
+                String.format(Locale.ROOT, "%.1f", point.getThroughput()), p99, point.getErrorRate());
+        return point;
+    }
+
+    private SaturationResult result(Mode mode, List<SaturationPoint> curve) {
+        double best = curve.stream()
+                .filter(SaturationPoint::getPassed)
+                .mapToDouble(SaturationPoint::getOfferedRate)
+                .max()
+                .orElse(0);
+        return SaturationResult.builder()
+                .scenario(scenarioFactory.get().getName())
+                .mode(mode.name().toLowerCase(Locale.ROOT))
+                .maxP99Millis(maxP99Millis)
+                .maxErrorRate(maxErrorRate)
+                .maxSustainableRate(best)
+                .curve(curve)
+                .build();
+    }
+}
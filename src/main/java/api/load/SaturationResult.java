@@ -0,0 +1,62 @@
+package api.load;
+
+import api.utils.JsonUtils;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Saturation Result POJO
+ * Highest offered rate that stayed within limits and the probes that led there
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaturationResult {
+
+    private String scenario;
+    private String mode;
+    private Double maxP99Millis;
+    private Double maxErrorRate;
+    private Double maxSustainableRate;
+    private List<SaturationPoint> curve;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SaturationPoint {
+        private Double offeredRate;
+        private Double throughput;
+        private Double p99Millis;
+        private Double errorRate;
+        private Boolean passed;
+        private String reason;
+    }
+
+    /**
+     * Serialise the result as JSON
+     * @return JSON string
+     */
+    public String toJson() {
+        return JsonUtils.toJson(this);
+    }
+
+    /**
+     * Write the result as JSON to a file, creating parent directories
+     * @param filePath Target file path
+     */
+    public void writeTo(String filePath) {
+        File parent = new File(filePath).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        JsonUtils.toFile(this, filePath);
+    }
+}
@@ -0,0 +1,50 @@
+package api.load;
+
+import api.config.FrameworkConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Command line entry point for the saturation finder
+ * Configured through system properties, e.g.
+ * ./gradlew saturationTest -Dbase.uri=http://localhost:8080 -Dsaturation.mode=binary
+ *     -Dsaturation.low=10 -Dsaturation.high=500 -Dsaturation.p99=500
+ *
+ */
+public class SaturationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SaturationRunner.class);
+
+    public static void main(String[] args) {
+        FrameworkConfig.get().applyToRestAssured();
+
+        String scenarioName = System.getProperty("saturation.scenario", Scenarios.PRODUCT_BY_ID);
+        String mode = System.getProperty("saturation.mode", "step");
+        String reportFile = System.getProperty("saturation.report.file", "build/saturation-report.json");
+
+        SaturationFinder finder = SaturationFinder.of(() -> Scenarios.byName(scenarioName))
+                .limits(doubleProperty("saturation.p99", 1000), doubleProperty("saturation.error.rate", 0.01))
+                .minThroughputRatio(doubleProperty("saturation.throughput.ratio", 0.95))
+                .probeDuration(Duration.ofSeconds(Long.getLong("saturation.warmup", 5)),
+                        Duration.ofSeconds(Long.getLong("saturation.duration", 20)));
+
+        SaturationResult result;
+        if (SaturationFinder.Mode.BINARY.name().equalsIgnoreCase(mode)) {
+            result = finder.binarySearch(doubleProperty("saturation.low", 5),
+                    doubleProperty("saturation.high", 200), doubleProperty("saturation.resolution", 5));
+        } else {
+            result = finder.step(doubleProperty("saturation.start", 5),
+                    doubleProperty("saturation.step", 5), doubleProperty("saturation.max", 200));
+        }
+        result.writeTo(reportFile);
+        log.info("Max sustainable rate for '{}': {} req/s after {} probe(s). Report: {}",
+                scenarioName, result.getMaxSustainableRate(), result.getCurve().size(), reportFile);
+    }
+
+    private static double doubleProperty(String key, double defaultValue) {
+        String value = System.getProperty(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
@@ -0,0 +1,126 @@
+package api.load;
+
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Load scenario: a weighted mix of endpoint calls
+ * Each action wraps a call on CartsAPI, ProductsAPI or UsersAPI, e.g.
+ * Scenario.named("browse").action("getProductById", 70, () -> ProductsAPI.getProductById(1))
+ *
+ */
+public class Scenario {
+
+    private final String name;
+    private final List<Action> actions = new ArrayList<>();
+    private double[] cumulativeWeights = new double[0];
+    private double totalWeight;
+
+    private Scenario(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Start a new scenario
+     * @param name Scenario name
+     * @return Scenario
+     */
+    public static Scenario named(String name) {
+        return new Scenario(name);
+    }
+
+    /**
+     * Add a weighted action
+     * @param actionName Action name used in reports
+     * @param weight Relative weight
+     * @param call Endpoint call
+     * @return this scenario
+     */
+    public Scenario action(String actionName, double weight, Supplier<Response> call) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight must be positive for action: " + actionName);
+        }
+        actions.add(new Action(actions.size(), actionName, weight, call));
+        totalWeight += weight;
+        cumulativeWeights = new double[actions.size()];
+        double sum = 0;
+        for (int i = 0; i < actions.size(); i++) {
+            sum += actions.get(i).getWeight();
+            cumulativeWeights[i] = sum;
+        }
+        return this;
+    }
+
+    /**
+     * Pick an action for a uniform random number
+     * @param uniform Value in [0, 1)
+     * @return Selected action
+     */
+    public Action pick(double uniform) {
+        if (actions.isEmpty()) {
+            throw new IllegalStateException("Scenario has no actions: " + name);
+        }
+        double target = uniform * totalWeight;
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulativeWeights[mid] > target) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return actions.get(low);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Action> getActions() {
+        return Collections.unmodifiableList(actions);
+    }
+
+    /**
+     * One weighted endpoint call of a scenario
+     */
+    public static class Action {
+
+        private final int index;
+        private final String name;
+        private final double weight;
+        private final Supplier<Response> call;
+
+        Action(int index, String name, double weight, Supplier<Response> call) {
+            this.index = index;
+            this.name = name;
+            this.weight = weight;
+            this.call = call;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+
+        /**
+         * Perform the endpoint call
+         * @return Response
+         */
+        public Response execute() {
+            return call.get();
+        }
+    }
+}
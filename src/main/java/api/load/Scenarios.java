@@ -0,0 +1,128 @@
+package api.load;
+
+import api.endpoints.CartsAPI;
+import api.endpoints.ProductsAPI;
+import api.endpoints.UsersAPI;
+import api.fixtures.CartGenerator;
+import api.pojos.request.UserRequest;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Catalogue of named load scenarios built on the endpoint classes
+ * Scenarios are looked up by name so they can be selected from the command line
+ * or rebuilt in another process
+ *
+ */
+public class Scenarios {
+
+    public static final String MIXED = "mixed";
+    public static final String PRODUCT_BY_ID = "product-by-id";
+    public static final String CARTS_BY_USER = "carts-by-user";
+    public static final String ALL_USERS = "all-users";
+    public static final String CREATE_USERS = "create-users";
+
+    private static final int PRODUCT_COUNT = 20;
+    private static final int USER_COUNT = 10;
+    private static final String SEED_PROPERTY = "load.seed";
+
+    private static final CartGenerator CARTS = new CartGenerator(Long.getLong(SEED_PROPERTY, 0L), USER_COUNT, PRODUCT_COUNT);
+    private static final AtomicLong CART_INDEX = new AtomicLong();
+    private static final AtomicLong USER_INDEX = new AtomicLong();
+
+    /** Sign-up body with the user number patched into email and username, and a random address number */
+    private static final RequestTemplate USER_TEMPLATE = RequestTemplate.compile(UserRequest.builder()
+            .email("load.user" + RequestTemplate.stringSlot(0) + "@example.com")
+            .username("loaduser" + RequestTemplate.stringSlot(0))
+            .password("Load-Test-1")
+            .name(UserRequest.NameRequest.builder().firstname("Load").lastname("User").build())
+            .address(UserRequest.AddressRequest.builder()
+                    .city("Austin")
+                    .street("Main St")
+                    .number(RequestTemplate.intSlot(1))
+                    .zipcode("73301-0001")
+                    .geolocation(UserRequest.GeolocationRequest.builder().lat("30.2672").lng("-97.7431").build())
+                    .build())
+            .phone("1-512-555-0100")
+            .build());
+
+    private static final Map<String, Supplier<Scenario>> SCENARIOS = new ConcurrentHashMap<>();
+
+    static {
+        SCENARIOS.put(MIXED, Scenarios::mixed);
+        SCENARIOS.put(PRODUCT_BY_ID, () -> Scenario.named(PRODUCT_BY_ID)
+                .action("getProductById", 1, () -> ProductsAPI.getProductById(randomId(PRODUCT_COUNT))));
+        SCENARIOS.put(CARTS_BY_USER, () -> Scenario.named(CARTS_BY_USER)
+                .action("getCartsByUserId", 1, () -> CartsAPI.getCartsByUserId(randomId(USER_COUNT))));
+        SCENARIOS.put(ALL_USERS, () -> Scenario.named(ALL_USERS)
+                .action("getAllUsers", 1, UsersAPI::getAllUsers));
+        SCENARIOS.put(CREATE_USERS, () -> Scenario.named(CREATE_USERS)
+                .action("createUser", 1, () -> UsersAPI.createUser(nextUser())));
+    }
+
+    /**
+     * Default browse/buy mix: 70% product lookups, 20% cart lookups, 10% cart creation
+     * @return Scenario
+     */
+    public static Scenario mixed() {
+        return Scenario.named(MIXED)
+                .action("getProductById", 70, () -> ProductsAPI.getProductById(randomId(PRODUCT_COUNT)))
+                .action("getCartsByUserId", 20, () -> CartsAPI.getCartsByUserId(randomId(USER_COUNT)))
+                .action("createCart", 10, () -> CartsAPI.createCart(nextCart()));
+    }
+
+    /**
+     * Look up a scenario by name
+     * @param name Scenario name
+     * @return New Scenario instance
+     */
+    public static Scenario byName(String name) {
+        Supplier<Scenario> factory = SCENARIOS.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown scenario: " + name + ", available: " + names());
+        }
+        return factory.get();
+    }
+
+    /**
+     * Register an additional named scenario
+     * @param name Scenario name
+     * @param factory Scenario factory
+     */
+    public static void register(String name, Supplier<Scenario> factory) {
+        SCENARIOS.put(name, factory);
+    }
+
+    /**
+     * Names of all registered scenarios
+     * @return Set of names
+     */
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(new TreeSet<>(SCENARIOS.keySet()));
+    }
+
+    private static int randomId(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound) + 1;
+    }
+
+    /**
+     * Next cart of the seeded sequence, so runs with the same load.seed post the same carts
+     */
+    private static byte[] nextCart() {
+        return CARTS.toBytes(CART_INDEX.getAndIncrement());
+    }
+
+    private static byte[] nextUser() {
+        return USER_TEMPLATE.body()
+                .set(0, USER_INDEX.getAndIncrement())
+                .set(1, randomId(9_999))
+                .toBytes();
+    }
+}
@@ -0,0 +1,48 @@
+package api.load.distributed;
+
+import api.utils.JsonUtils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Length-prefixed JSON framing for coordinator/worker messages
+ *
+ */
+class Frames {
+
+    private static final int MAX_FRAME_BYTES = 64 * 1024 * 1024;
+
+    /**
+     * Write one message
+     * @param out Output stream
+     * @param message Message object
+     * @throws IOException on socket errors
+     */
+    static void write(DataOutputStream out, Object message) throws IOException {
+        byte[] bytes = JsonUtils.toJson(message).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.flush();
+    }
+
+    /**
+     * Read one message
+     * @param in Input stream
+     * @param type Message type
+     * @param <T> Type parameter
+     * @return Message object
+     * @throws IOException on socket errors or oversized frames
+     */
+    static <T> T read(DataInputStream in, Class<T> type) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return JsonUtils.fromJson(new String(bytes, StandardCharsets.UTF_8), type);
+    }
+}
@@ -0,0 +1,233 @@
+package api.load.distributed;
+
+import api.config.FrameworkConfig;
+import api.load.LoadPhase;
+import api.load.LoadResult;
+import api.load.LoadRunner;
+import api.load.PhaseResult;
+import api.load.distributed.WorkerAssignment.PhaseSpec;
+import io.restassured.RestAssured;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Coordinator for distributed load runs
+ * Waits for N workers (optionally launching some of them as local JVMs), hands each
+ * an interleaved partition of the scenario with a common start delay, and merges the
+ * returned HdrHistograms losslessly into a single LoadResult.
+ *
+ */
+public class LoadCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadCoordinator.class);
+
+    private static final Duration ACCEPT_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration RESULT_MARGIN = Duration.ofMinutes(2);
+    private static final Duration WORKER_EXIT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String scenario;
+    private final List<LoadPhase> phases;
+    private int port = 7070;
+    private int workerCount = 2;
+    private int localWorkers = 2;
+    private Duration startDelay = Duration.ofSeconds(3);
+    private String baseUri;
+
+    public LoadCoordinator(String scenario, List<LoadPhase> phases) {
+        this.scenario = scenario;
+        this.phases = phases;
+    }
+
+    /**
+     * Listening port; 0 picks a free port, which only suits local workers
+     * @param listenPort Port
+     * @return this coordinator
+     */
+    public LoadCoordinator port(int listenPort) {
+        this.port = listenPort;
+        return this;
+    }
+
+    /**
+     * Number of workers to wait for, and how many of them to launch as local JVMs
+     * @param total Total workers
+     * @param local Workers launched on this machine
+     * @return this coordinator
+     */
+    public LoadCoordinator workers(int total, int local) {
+        if (local > total) {
+            throw new IllegalArgumentException("Local workers (" + local + ") exceed total workers (" + total + ")");
+        }
+        this.workerCount = total;
+        this.localWorkers = local;
+        return this;
+    }
+
+    /**
+     * Delay between sending assignments and the common start
+     * @param delay Start delay
+     * @return this coordinator
+     */
+    public LoadCoordinator startDelay(Duration delay) {
+        this.startDelay = delay;
+        return this;
+    }
+
+    /**
+     * Target the workers send requests to; defaults to RestAssured.baseURI of this JVM
+     * @param uri Base URI
+     * @return this coordinator
+     */
+    public LoadCoordinator baseUri(String uri) {
+        this.baseUri = uri;
+        return this;
+    }
+
+    public static void main(String[] args) throws IOException {
+        FrameworkConfig.get().applyToRestAssured();
+        int workers = Integer.getInteger("load.workers", 2);
+
+        LoadResult result = new LoadCoordinator(LoadRunner.scenarioFromProperties(), LoadRunner.phasesFromProperties())
+                .port(Integer.getInteger("load.coordinator.port", 7070))
+                .workers(workers, Integer.getInteger("load.workers.local", workers))
+                .run();
+
+        String reportFile = LoadRunner.reportFileFromProperties();
+        result.writeTo(reportFile);
+        PhaseResult total = result.getTotal();
+        log.info("Distributed run of '{}' on {} worker(s): {} requests, {} req/s, p99 {} ms. Report: {}",
+                result.getScenario(), workers, total.getRequests(), String.format("%.1f", total.getThroughput()),
+                total.getLatency().getP99(), reportFile);
+    }
+
+    /**
+     * Run the distributed scenario and merge the worker results
+     * @return Merged LoadResult
+     * @throws IOException on socket errors or worker failures
+     */
+    public LoadResult run() throws IOException {
+        List<Process> processes = new ArrayList<>();
+        List<Socket> sockets = new ArrayList<>();
+        ExecutorService readers = Executors.newFixedThreadPool(workerCount);
+
+        try (ServerSocket server = new ServerSocket(port)) {
+            server.setSoTimeout((int) ACCEPT_TIMEOUT.toMillis());
+            for (int i = 0; i < localWorkers; i++) {
+                processes.add(launchLocalWorker(server.getLocalPort()));
+            }
+            log.info("Waiting for {} worker(s) on port {}", workerCount, server.getLocalPort());
+            while (sockets.size() < workerCount) {
+                Socket socket = server.accept();
+                socket.setSoTimeout((int) (totalDuration().plus(startDelay).plus(RESULT_MARGIN)).toMillis());
+                sockets.add(socket);
+                log.info("Worker {}/{} connected from {}", sockets.size(), workerCount, socket.getRemoteSocketAddress());
+            }
+
+            List<PhaseSpec> specs = phases.stream().map(PhaseSpec::fromPhase).collect(Collectors.toList());
+            Instant startedAt = Instant.now().plus(startDelay);
+            List<CompletableFuture<WorkerReport>> reports = new ArrayList<>();
+            for (int i = 0; i < sockets.size(); i++) {
+                Socket socket = sockets.get(i);
+                WorkerAssignment assignment = WorkerAssignment.builder()
+                        .workerIndex(i)
+                        .workerCount(workerCount)
+                        .baseUri(baseUri != null ? baseUri : RestAssured.baseURI)
+                        .scenario(scenario)
+                        .startDelayMillis(startDelay.toMillis())
+                        .phases(specs)
+                        .build();
+                Frames.write(new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())), assignment);
+                reports.add(CompletableFuture.supplyAsync(() -> readReport(socket), readers));
+            }
+
+            List<WorkerReport> collected = reports.stream().map(CompletableFuture::join).collect(Collectors.toList());
+            return merge(collected, startedAt);
+        } finally {
+            readers.shutdownNow();
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+            // One deadline for all local workers, so a hung worker cannot hold the coordinator forever
+            long deadline = System.nanoTime() + WORKER_EXIT_TIMEOUT.toNanos();
+            for (Process process : processes) {
+                try {
+                    if (!process.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                        log.warn("Local worker {} did not exit within {}, killing it", process.pid(), WORKER_EXIT_TIMEOUT);
+                        process.destroyForcibly();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    process.destroyForcibly();
+                }
+            }
+        }
+    }
+
+    private LoadResult merge(List<WorkerReport> reports, Instant startedAt) {
+        Map<String, List<PhaseResult>> byPhase = new LinkedHashMap<>();
+        for (WorkerReport report : reports) {
+            if (report.getError() != null) {
+                throw new IllegalStateException("Worker " + report.getWorkerId() + " failed: " + report.getError());
+            }
+            for (WorkerReport.PhaseData phase : report.getPhases()) {
+                byPhase.computeIfAbsent(phase.getName(), name -> new ArrayList<>()).add(phase.toResult());
+            }
+        }
+        List<PhaseResult> merged = byPhase.entrySet().stream()
+                .map(entry -> PhaseResult.concurrent(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        return LoadResult.builder()
+                .scenario(scenario)
+                .startedAt(startedAt.toString())
+                .phases(merged)
+                .total(PhaseResult.sequential("total", merged))
+                .build();
+    }
+
+    private static WorkerReport readReport(Socket socket) {
+        try {
+            return Frames.read(new DataInputStream(new BufferedInputStream(socket.getInputStream())), WorkerReport.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read report from worker " + socket.getRemoteSocketAddress(), e);
+        }
+    }
+
+    private Process launchLocalWorker(int listenPort) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith("org.slf4j."))
+                .forEach(key -> command.add("-D" + key + "=" + System.getProperty(key)));
+        command.add(LoadWorker.class.getName());
+        command.add("127.0.0.1");
+        command.add(String.valueOf(listenPort));
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+
+    private Duration totalDuration() {
+        return phases.stream().map(LoadPhase::getDuration).reduce(Duration.ZERO, Duration::plus);
+    }
+}
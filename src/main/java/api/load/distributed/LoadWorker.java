@@ -0,0 +1,83 @@
+package api.load.distributed;
+
+import api.config.FrameworkConfig;
+import api.load.LoadGenerator;
+import api.load.LoadResult;
+import api.load.Scenarios;
+import io.restassured.RestAssured;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.time.Instant;
+
+/**
+ * Load worker process
+ * Connects to a coordinator, receives its assignment, runs its partition of the
+ * scenario and reports the results back. Start with:
+ * java -cp ... api.load.distributed.LoadWorker coordinator-host 7070
+ *
+ */
+public class LoadWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadWorker.class);
+
+    private final String host;
+    private final int port;
+
+    public LoadWorker(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: LoadWorker <coordinator-host> <coordinator-port>");
+        }
+        new LoadWorker(args[0], Integer.parseInt(args[1])).run();
+    }
+
+    /**
+     * Connect, run the assignment and send back the report
+     * @throws IOException on socket errors
+     */
+    public void run() throws IOException {
+        String workerId = InetAddress.getLocalHost().getHostName() + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        try (Socket socket = new Socket(host, port);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+
+            WorkerAssignment assignment = Frames.read(in, WorkerAssignment.class);
+            Instant startAt = Instant.now().plusMillis(assignment.getStartDelayMillis());
+            log.info("Worker {} running partition {}/{} of '{}' at {}", workerId, assignment.getWorkerIndex(),
+                    assignment.getWorkerCount(), assignment.getScenario(), startAt);
+
+            WorkerReport report;
+            try {
+                // Timeouts and pool from this worker's configuration, target from the coordinator
+                FrameworkConfig.get().applyToRestAssured();
+                RestAssured.baseURI = assignment.getBaseUri();
+                LoadResult result = LoadGenerator.of(Scenarios.byName(assignment.getScenario()))
+                        .phases(assignment.loadPhases())
+                        .partition(assignment.getWorkerIndex(), assignment.getWorkerCount())
+                        .runAt(startAt);
+                report = WorkerReport.fromResult(workerId, assignment.getWorkerIndex(), result);
+            } catch (RuntimeException e) {
+                log.error("Worker {} failed", workerId, e);
+                report = WorkerReport.builder()
+                        .workerId(workerId)
+                        .workerIndex(assignment.getWorkerIndex())
+                        .error(String.valueOf(e))
+                        .build();
+            }
+            Frames.write(out, report);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package api.load.distributed;
+
+import api.load.LoadPhase;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Worker Assignment POJO
+ * Sent by the coordinator to tell a worker what share of the scenario to run and when
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerAssignment {
+
+    private Integer workerIndex;
+    private Integer workerCount;
+    private String baseUri;
+    private String scenario;
+    /** Delay after receipt before the first phase starts; relative so worker clocks need not agree */
+    private Long startDelayMillis;
+    private List<PhaseSpec> phases;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PhaseSpec {
+        private String name;
+        private Long durationMillis;
+        private Double startRate;
+        private Double endRate;
+
+        /**
+         * Describe a load phase
+         * @param phase LoadPhase
+         * @return PhaseSpec
+         */
+        public static PhaseSpec fromPhase(LoadPhase phase) {
+            return new PhaseSpec(phase.getName(), phase.getDuration().toMillis(),
+                    phase.getStartRate(), phase.getEndRate());
+        }
+
+        /**
+         * Rebuild the load phase
+         * @return LoadPhase
+         */
+        public LoadPhase toPhase() {
+            return new LoadPhase(name, Duration.ofMillis(durationMillis), startRate, endRate);
+        }
+    }
+
+    /**
+     * Rebuild the load phases of the whole scenario
+     * @return List of LoadPhase
+     */
+    public List<LoadPhase> loadPhases() {
+        return phases.stream()
+                .map(PhaseSpec::toPhase)
+                .collect(Collectors.toList());
+    }
+}
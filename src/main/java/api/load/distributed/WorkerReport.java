@@ -0,0 +1,107 @@
+package api.load.distributed;
+
+import api.load.LoadResult;
+import api.load.PhaseResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
+
+/**
+ * Worker Report POJO
+ * Sent by a worker when its share of the scenario is done. Histograms travel in
+ * HdrHistogram's compressed encoding so the coordinator can merge them losslessly.
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerReport {
+
+    private String workerId;
+    private Integer workerIndex;
+    private String error;
+    private List<PhaseData> phases;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PhaseData {
+        private String name;
+        private Double durationSeconds;
+        private Double offeredRate;
+        private Long requests;
+        private Long errors;
+        private Long dropped;
+        private List<PhaseResult.ActionResult> actions;
+        private String latencyHistogram;
+        private String serviceTimeHistogram;
+
+        /**
+         * Capture a phase result for transport
+         * @param result PhaseResult
+         * @return PhaseData
+         */
+        public static PhaseData fromResult(PhaseResult result) {
+            return PhaseData.builder()
+                    .name(result.getName())
+                    .durationSeconds(result.getDurationSeconds())
+                    .offeredRate(result.getOfferedRate())
+                    .requests(result.getRequests())
+                    .errors(result.getErrors())
+                    .dropped(result.getDropped())
+                    .actions(result.getActions())
+                    .latencyHistogram(encode(result.getLatencyHistogram()))
+                    .serviceTimeHistogram(encode(result.getServiceTimeHistogram()))
+                    .build();
+        }
+
+        /**
+         * Rebuild the phase result, including its full histograms
+         * @return PhaseResult
+         */
+        public PhaseResult toResult() {
+            return PhaseResult.of(name, durationSeconds, offeredRate, requests, errors, dropped,
+                    decode(latencyHistogram), decode(serviceTimeHistogram), actions);
+        }
+    }
+
+    /**
+     * Build the report of a finished worker run
+     * @param workerId Worker identifier
+     * @param workerIndex Worker index
+     * @param result LoadResult of the worker
+     * @return WorkerReport
+     */
+    public static WorkerReport fromResult(String workerId, int workerIndex, LoadResult result) {
+        return WorkerReport.builder()
+                .workerId(workerId)
+                .workerIndex(workerIndex)
+                .phases(result.getPhases().stream().map(PhaseData::fromResult).collect(Collectors.toList()))
+                .build();
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static Histogram decode(String encoded) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+        } catch (DataFormatException e) {
+            throw new RuntimeException("Failed to decode worker histogram", e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package api.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms for a single endpoint template
+ * Recording is lock-free; snapshots are taken as independent copies
+ *
+ */
+public class EndpointLatency {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String endpoint;
+    private final ConcurrentHistogram timeToFirstByte = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final ConcurrentHistogram timeToFullBody = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public EndpointLatency(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Record one request
+     * @param timeToFirstByteNanos Time until the response head was available
+     * @param timeToFullBodyNanos Time until the response body was fully read
+     */
+    public void record(long timeToFirstByteNanos, long timeToFullBodyNanos) {
+        timeToFirstByte.recordValue(Math.max(0, timeToFirstByteNanos));
+        timeToFullBody.recordValue(Math.max(0, timeToFullBodyNanos));
+    }
+
+    /**
+     * Record the retry outcome of one request
+     * @param retryCount Retries made before the final response
+     * @param retriesExhausted Whether the request still failed after retrying
+     */
+    public void recordRetries(int retryCount, boolean retriesExhausted) {
+        if (retriesExhausted) {
+            exhausted.increment();
+        } else if (retryCount > 0) {
+            recovered.increment();
+        }
+        if (retryCount > 0) {
+            retries.add(retryCount);
+        }
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * Requests that succeeded after retrying
+     * @return Count
+     */
+    public long getRecovered() {
+        return recovered.sum();
+    }
+
+    /**
+     * Requests that still failed when retries or the retry budget ran out
+     * @return Count
+     */
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+
+    /**
+     * Copy of the time-to-first-byte histogram (nanoseconds)
+     * @return Histogram
+     */
+    public Histogram timeToFirstByteSnapshot() {
+        return timeToFirstByte.copy();
+    }
+
+    /**
+     * Copy of the time-to-full-body histogram (nanoseconds)
+     * @return Histogram
+     */
+    public Histogram timeToFullBodySnapshot() {
+        return timeToFullBody.copy();
+    }
+
+    /**
+     * Clear all recorded values
+     */
+    public void reset() {
+        timeToFirstByte.reset();
+        timeToFullBody.reset();
+        retries.reset();
+        recovered.reset();
+        exhausted.reset();
+    }
+}
@@ -0,0 +1,154 @@
+package api.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestNG listener enforcing {@link MaxLatency} budgets
+ * Gathers the latency of every HTTP call made by an annotated test method across
+ * all of its invocations and fails the test with a latency breakdown when over budget.
+ * Test methods that make no HTTP calls are measured by invocation duration instead.
+ *
+ */
+public class LatencyBudgetListener implements IInvokedMethodListener, ISuiteListener {
+
+    private static final String INVOCATION = "test invocation";
+
+    private final LatencyCapture capture = new LatencyCapture();
+    private final Map<String, MethodLatency> methods = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStart(ISuite suite) {
+        LatencyFilter.install();
+        LatencyFilter.getInstance().addListener(capture);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        LatencyFilter.getInstance().removeListener(capture);
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() && budgetOf(testResult.getMethod()) != null) {
+            capture.start();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        MaxLatency budget = method.isTestMethod() ? budgetOf(testResult.getMethod()) : null;
+        if (budget == null) {
+            return;
+        }
+
+        List<RequestTiming> timings = capture.stop();
+        MethodLatency latency = methods.computeIfAbsent(
+                testResult.getMethod().getQualifiedName(), key -> new MethodLatency());
+
+        long invocationMax;
+        if (timings.isEmpty()) {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(testResult.getEndMillis() - testResult.getStartMillis());
+            latency.record(INVOCATION, nanos);
+            invocationMax = nanos;
+        } else {
+            invocationMax = 0;
+            for (RequestTiming timing : timings) {
+                latency.record(timing.getEndpoint(), timing.getTimeToFullBodyNanos());
+                invocationMax = Math.max(invocationMax, timing.getTimeToFullBodyNanos());
+            }
+        }
+
+        if (testResult.getStatus() != ITestResult.SUCCESS) {
+            return;
+        }
+
+        StringBuilder violations = new StringBuilder();
+        if (budget.max() >= 0 && invocationMax > TimeUnit.MILLISECONDS.toNanos(budget.max())) {
+            violations.append(String.format(Locale.ROOT, "max %.1f ms > %d ms; ",
+                    toMillis(invocationMax), budget.max()));
+        }
+        if (isLastInvocation(testResult.getMethod())) {
+            violations.append(latency.checkPercentile(95.0, budget.p95()));
+            violations.append(latency.checkPercentile(99.0, budget.p99()));
+        }
+
+        if (violations.length() > 0) {
+            violations.setLength(violations.length() - 2);
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError("Latency budget exceeded for "
+                    + testResult.getMethod().getQualifiedName() + ": " + violations
+                    + System.lineSeparator() + latency.breakdown()));
+        }
+    }
+
+    private static MaxLatency budgetOf(ITestNGMethod method) {
+        return method.getConstructorOrMethod().getMethod().getAnnotation(MaxLatency.class);
+    }
+
+    /**
+     * The current count is incremented after the listener runs, so it is zero-based here.
+     * Data provider rows keep an invocation count of 1, so they are checked cumulatively.
+     */
+    private static boolean isLastInvocation(ITestNGMethod method) {
+        return method.getCurrentInvocationCount() + 1 >= method.getInvocationCount();
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Latency samples of one test method, overall and per endpoint
+     */
+    private static class MethodLatency {
+
+        private final Histogram overall = new Histogram(3);
+        private final Map<String, Histogram> byEndpoint = new TreeMap<>();
+
+        synchronized void record(String endpoint, long nanos) {
+            overall.recordValue(nanos);
+            byEndpoint.computeIfAbsent(endpoint, key -> new Histogram(3)).recordValue(nanos);
+        }
+
+        synchronized String checkPercentile(double percentile, long budgetMillis) {
+            if (budgetMillis < 0 || overall.getTotalCount() == 0) {
+                return "";
+            }
+            long value = overall.getValueAtPercentile(percentile);
+            if (value <= TimeUnit.MILLISECONDS.toNanos(budgetMillis)) {
+                return "";
+            }
+            return String.format(Locale.ROOT, "p%.0f %.1f ms > %d ms; ", percentile, toMillis(value), budgetMillis);
+        }
+
+        synchronized String breakdown() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(line("all calls", overall));
+            byEndpoint.forEach((endpoint, histogram) -> sb.append(line(endpoint, histogram)));
+            return sb.toString();
+        }
+
+        private static String line(String label, Histogram histogram) {
+            return String.format(Locale.ROOT,
+                    "  %-40s n=%d p50=%.1f p95=%.1f p99=%.1f max=%.1f ms%n",
+                    label, histogram.getTotalCount(),
+                    toMillis(histogram.getValueAtPercentile(50.0)),
+                    toMillis(histogram.getValueAtPercentile(95.0)),
+                    toMillis(histogram.getValueAtPercentile(99.0)),
+                    toMillis(histogram.getMaxValue()));
+        }
+    }
+}
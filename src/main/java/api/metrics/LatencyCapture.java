@@ -0,0 +1,40 @@
+package api.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the request timings made on the current thread between start() and stop()
+ * Register it on {@link LatencyFilter} to attribute calls to the running test method
+ *
+ */
+public class LatencyCapture implements RequestTimingListener {
+
+    private final ThreadLocal<List<RequestTiming>> active = new ThreadLocal<>();
+
+    /**
+     * Start capturing on the current thread, discarding anything captured before
+     */
+    public void start() {
+        active.set(new ArrayList<>());
+    }
+
+    /**
+     * Stop capturing on the current thread
+     * @return Timings captured since start(), empty if capture was not started
+     */
+    public List<RequestTiming> stop() {
+        List<RequestTiming> timings = active.get();
+        active.remove();
+        return timings != null ? timings : Collections.emptyList();
+    }
+
+    @Override
+    public void onRequest(RequestTiming timing) {
+        List<RequestTiming> timings = active.get();
+        if (timings != null) {
+            timings.add(timing);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package api.metrics;
+
+import api.retry.RetryingHttpClient;
+import io.restassured.RestAssured;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * RestAssured filter recording per-endpoint latency
+ * Requests are keyed by method and path template (e.g. "GET /carts/{id}")
+ * so path parameters never blow up the number of histograms
+ *
+ */
+public class LatencyFilter implements OrderedFilter {
+
+    /** " HTTP/1.1" plus CRLF, and ": " plus CRLF per header */
+    private static final int HTTP_LINE_OVERHEAD = 11;
+    private static final int HEADER_OVERHEAD = 4;
+
+    private static final LatencyFilter INSTANCE = new LatencyFilter(LatencyRegistry.global());
+
+    private final LatencyRegistry registry;
+    private final List<RequestTimingListener> listeners = new CopyOnWriteArrayList<>();
+
+    public LatencyFilter(LatencyRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Shared filter recording into the global registry
+     * @return LatencyFilter
+     */
+    public static LatencyFilter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Register the shared filter as a default RestAssured filter, once
+     */
+    public static synchronized void install() {
+        if (!RestAssured.filters().contains(INSTANCE)) {
+            RestAssured.filters(INSTANCE);
+        }
+    }
+
+    /**
+     * Add a listener notified after every recorded request
+     * @param listener RequestTimingListener
+     */
+    public void addListener(RequestTimingListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a previously added listener
+     * @param listener RequestTimingListener
+     */
+    public void removeListener(RequestTimingListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Build the endpoint key for a request
+     * @param requestSpec Request specification
+     * @return Endpoint template
+     */
+    public static String endpointOf(FilterableRequestSpecification requestSpec) {
+        return requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath();
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long startEpochMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        RetryingHttpClient.clearLastCall();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long firstByte = System.nanoTime();
+        // Force the body to be buffered so the second figure covers the full transfer
+        byte[] responseBody = response.asByteArray();
+        long fullBody = System.nanoTime();
+
+        RequestTiming timing = RequestTiming.builder()
+                .endpoint(endpointOf(requestSpec))
+                .statusCode(response.getStatusCode())
+                .startEpochMillis(startEpochMillis)
+                .timeToFirstByteNanos(firstByte - start)
+                .timeToFullBodyNanos(fullBody - start)
+                .requestBytes(requestSize(requestSpec))
+                .responseBytes(responseSize(response, responseBody))
+                .retries(RetryingHttpClient.lastCallRetries())
+                .retriesExhausted(RetryingHttpClient.lastCallExhausted())
+                .build();
+        registry.record(timing);
+        for (RequestTimingListener listener : listeners) {
+            listener.onRequest(timing);
+        }
+        return response;
+    }
+
+    private static long requestSize(FilterableRequestSpecification requestSpec) {
+        long size = requestSpec.getMethod().length() + requestSpec.getURI().length() + HTTP_LINE_OVERHEAD;
+        for (Header header : requestSpec.getHeaders()) {
+            size += header.getName().length() + header.getValue().length() + HEADER_OVERHEAD;
+        }
+        Object body = requestSpec.getBody();
+        if (body instanceof byte[]) {
+            size += ((byte[]) body).length;
+        } else if (body != null) {
+            size += utf8Length(body.toString());
+        }
+        return size;
+    }
+
+    private static long responseSize(Response response, byte[] body) {
+        String statusLine = response.getStatusLine();
+        long size = (statusLine != null ? statusLine.length() : 0) + HTTP_LINE_OVERHEAD;
+        for (Header header : response.getHeaders()) {
+            size += header.getName().length() + header.getValue().length() + HEADER_OVERHEAD;
+        }
+        return size + (body != null ? body.length : 0);
+    }
+
+    /**
+     * UTF-8 encoded length without encoding the string
+     */
+    private static long utf8Length(String value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Run closest to the wire so other filters are not included in the timing
+     * @return Filter order
+     */
+    @Override
+    public int getOrder() {
+        return OrderedFilter.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,66 @@
+package api.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide registry of per-endpoint latency histograms
+ * Keyed by endpoint template so raw IDs never create new entries
+ *
+ */
+public class LatencyRegistry {
+
+    private static final LatencyRegistry GLOBAL = new LatencyRegistry();
+
+    private final ConcurrentMap<String, EndpointLatency> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Registry shared by the filter and the suite report
+     * @return Global LatencyRegistry
+     */
+    public static LatencyRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Get or create the histograms for an endpoint template
+     * @param endpoint Endpoint template
+     * @return EndpointLatency
+     */
+    public EndpointLatency forEndpoint(String endpoint) {
+        EndpointLatency latency = endpoints.get(endpoint);
+        return latency != null ? latency : endpoints.computeIfAbsent(endpoint, EndpointLatency::new);
+    }
+
+    /**
+     * Record a completed request
+     * @param timing Request timing
+     */
+    public void record(RequestTiming timing) {
+        EndpointLatency latency = forEndpoint(timing.getEndpoint());
+        latency.record(timing.getTimeToFirstByteNanos(), timing.getTimeToFullBodyNanos());
+        if (timing.getRetries() > 0 || timing.isRetriesExhausted()) {
+            latency.recordRetries(timing.getRetries(), timing.isRetriesExhausted());
+        }
+    }
+
+    /**
+     * All endpoints recorded so far, sorted by template
+     * @return List of EndpointLatency
+     */
+    public List<EndpointLatency> getEndpoints() {
+        List<EndpointLatency> list = new ArrayList<>(endpoints.values());
+        list.sort(Comparator.comparing(EndpointLatency::getEndpoint));
+        return list;
+    }
+
+    /**
+     * Drop every recorded endpoint
+     */
+    public void reset() {
+        endpoints.clear();
+    }
+}
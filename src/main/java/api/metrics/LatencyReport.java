@@ -0,0 +1,148 @@
+package api.metrics;
+
+import api.retry.RetrySummary;
+import api.utils.JsonUtils;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Latency Report POJO
+ * Percentile summary of every endpoint recorded in a LatencyRegistry
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private String suite;
+    private String generatedAt;
+    private List<EndpointSummary> endpoints;
+    /** Run-wide retry totals, absent when nothing was retried */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private RetrySummary retries;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EndpointSummary {
+        private String endpoint;
+        private Long count;
+        private Percentiles timeToFirstByte;
+        private Percentiles timeToFullBody;
+        /** Retry counts, absent for endpoints that were never retried */
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long retries;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long recovered;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long exhausted;
+    }
+
+    /**
+     * Percentiles in milliseconds
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Percentiles {
+        private Double p50;
+        private Double p90;
+        private Double p99;
+        @JsonProperty("p99.9")
+        private Double p999;
+        private Double max;
+        private Double mean;
+
+        /**
+         * Summarise a nanosecond histogram
+         * @param histogram Histogram in nanoseconds
+         * @return Percentiles in milliseconds
+         */
+        public static Percentiles fromHistogram(Histogram histogram) {
+            return Percentiles.builder()
+                    .p50(toMillis(histogram.getValueAtPercentile(50.0)))
+                    .p90(toMillis(histogram.getValueAtPercentile(90.0)))
+                    .p99(toMillis(histogram.getValueAtPercentile(99.0)))
+                    .p999(toMillis(histogram.getValueAtPercentile(99.9)))
+                    .max(toMillis(histogram.getMaxValue()))
+                    .mean(toMillis(histogram.getMean()))
+                    .build();
+        }
+    }
+
+    /**
+     * Build a report from the current state of a registry
+     * @param suite Suite name
+     * @param registry LatencyRegistry
+     * @return LatencyReport
+     */
+    public static LatencyReport fromRegistry(String suite, LatencyRegistry registry) {
+        List<EndpointSummary> summaries = registry.getEndpoints().stream()
+                .map(LatencyReport::summarise)
+                .filter(summary -> summary.getCount() > 0)
+                .collect(Collectors.toList());
+
+        return LatencyReport.builder()
+                .suite(suite)
+                .generatedAt(Instant.now().toString())
+                .endpoints(summaries)
+                .build();
+    }
+
+    /**
+     * Serialise the report as JSON
+     * @return JSON string
+     */
+    public String toJson() {
+        return JsonUtils.toJson(this);
+    }
+
+    /**
+     * Write the report as JSON to a file, creating parent directories
+     * @param filePath Target file path
+     */
+    public void writeTo(String filePath) {
+        File parent = new File(filePath).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        JsonUtils.toFile(this, filePath);
+    }
+
+    private static EndpointSummary summarise(EndpointLatency latency) {
+        Histogram firstByte = latency.timeToFirstByteSnapshot();
+        Histogram fullBody = latency.timeToFullBodySnapshot();
+        EndpointSummary summary = EndpointSummary.builder()
+                .endpoint(latency.getEndpoint())
+                .count(fullBody.getTotalCount())
+                .timeToFirstByte(Percentiles.fromHistogram(firstByte))
+                .timeToFullBody(Percentiles.fromHistogram(fullBody))
+                .build();
+        if (latency.getRetries() > 0 || latency.getExhausted() > 0) {
+            summary.setRetries(latency.getRetries());
+            summary.setRecovered(latency.getRecovered());
+            summary.setExhausted(latency.getExhausted());
+        }
+        return summary;
+    }
+
+    private static double toMillis(double nanos) {
+        return Math.round(nanos / NANOS_PER_MILLI * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,41 @@
+package api.metrics;
+
+import api.retry.RetryBudget;
+import api.utils.AllureUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * TestNG suite listener for endpoint latency reporting
+ * Installs the latency filter on suite start and publishes the percentile
+ * report as a JSON file and an Allure attachment on suite finish
+ *
+ */
+public class LatencyReportListener implements ISuiteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyReportListener.class);
+
+    public static final String REPORT_FILE_PROPERTY = "latency.report.file";
+    private static final String DEFAULT_REPORT_FILE = "build/latency-report.json";
+
+    @Override
+    public void onStart(ISuite suite) {
+        LatencyFilter.install();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        LatencyReport report = LatencyReport.fromRegistry(suite.getName(), LatencyRegistry.global());
+        report.setRetries(RetryBudget.global().summary());
+        if (report.getEndpoints().isEmpty()) {
+            return;
+        }
+
+        String reportFile = System.getProperty(REPORT_FILE_PROPERTY, DEFAULT_REPORT_FILE);
+        report.writeTo(reportFile);
+        AllureUtils.attachSuiteReport("Endpoint latency", suite.getName(), "latency-report.json", report.toJson());
+        log.info("Endpoint latency report written to {}", reportFile);
+    }
+}
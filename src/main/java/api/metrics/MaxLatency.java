@@ -0,0 +1,38 @@
+package api.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Latency budget for a test method, enforced by {@link LatencyBudgetListener}
+ * Budgets are in milliseconds; a negative value leaves that figure unchecked.
+ * Percentiles are evaluated over every HTTP call made across all invocations
+ * (invocationCount, data provider rows); max is checked after each invocation.
+ *
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface MaxLatency {
+
+    /**
+     * 95th percentile budget in milliseconds
+     * @return Budget, or -1 for none
+     */
+    long p95() default -1;
+
+    /**
+     * 99th percentile budget in milliseconds
+     * @return Budget, or -1 for none
+     */
+    long p99() default -1;
+
+    /**
+     * Budget for any single call in milliseconds
+     * @return Budget, or -1 for none
+     */
+    long max() default -1;
+}
@@ -0,0 +1,50 @@
+package api.metrics;
+
+import io.restassured.RestAssured;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.internal.mapping.Jackson2Mapper;
+import io.restassured.mapper.ObjectMapper;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+import io.restassured.path.json.mapper.factory.DefaultJackson2ObjectMapperFactory;
+
+/**
+ * RestAssured object mapper that reports POJO mapping as resource sections
+ * Wraps the configured mapper (RestAssured's own Jackson 2 mapper by default), so
+ * response.as(...) and request bodies show up as "RestAssured.as(...)" and
+ * "RestAssured.body(...)" in the resource attribution report
+ *
+ */
+public class MeasuredObjectMapper implements ObjectMapper {
+
+    private final ObjectMapper delegate;
+
+    public MeasuredObjectMapper(ObjectMapper delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wrap the default RestAssured object mapper, once
+     */
+    public static synchronized void install() {
+        ObjectMapperConfig config = RestAssured.config().getObjectMapperConfig();
+        ObjectMapper current = config.defaultObjectMapper();
+        if (current instanceof MeasuredObjectMapper) {
+            return;
+        }
+        ObjectMapper delegate = current != null ? current : new Jackson2Mapper(new DefaultJackson2ObjectMapperFactory());
+        RestAssured.config = RestAssured.config()
+                .objectMapperConfig(config.defaultObjectMapper(new MeasuredObjectMapper(delegate)));
+    }
+
+    @Override
+    public Object deserialize(ObjectMapperDeserializationContext context) {
+        return ResourceSections.measure("RestAssured.as", context.getType(), () -> delegate.deserialize(context));
+    }
+
+    @Override
+    public Object serialize(ObjectMapperSerializationContext context) {
+        Object body = context.getObjectToSerialize();
+        return ResourceSections.measure("RestAssured.body", body.getClass(), () -> delegate.serialize(context));
+    }
+}
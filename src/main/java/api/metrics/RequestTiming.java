@@ -0,0 +1,29 @@
+package api.metrics;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Request Timing value object
+ * Timing figures captured for a single HTTP call by the latency filter
+ *
+ */
+@Value
+@Builder
+public class RequestTiming {
+
+    /** Endpoint template, e.g. "GET /carts/{id}" */
+    String endpoint;
+    int statusCode;
+    long startEpochMillis;
+    long timeToFirstByteNanos;
+    long timeToFullBodyNanos;
+    /** Request line, headers and body, before any transfer encoding */
+    long requestBytes;
+    /** Status line, headers and body, before any transfer encoding */
+    long responseBytes;
+    /** Retries made by the HTTP client before this response */
+    int retries;
+    /** The call still failed when retries or the retry budget ran out */
+    boolean retriesExhausted;
+}
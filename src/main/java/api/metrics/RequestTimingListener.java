@@ -0,0 +1,16 @@
+package api.metrics;
+
+/**
+ * Callback notified by {@link LatencyFilter} after every completed HTTP call
+ * Implementations run on the calling thread and must be cheap and thread-safe
+ *
+ */
+@FunctionalInterface
+public interface RequestTimingListener {
+
+    /**
+     * Handle the timing of a completed request
+     * @param timing Request timing
+     */
+    void onRequest(RequestTiming timing);
+}
@@ -0,0 +1,198 @@
+package api.metrics;
+
+import api.utils.AllureUtils;
+import api.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * TestNG listener attributing resource usage to test methods
+ * Records thread CPU time, allocated bytes, HTTP calls and bytes on the wire for every
+ * test invocation, plus the CPU and allocation of instrumented sections (JsonUtils and
+ * RestAssured POJO mapping). Each invocation gets an Allure attachment; on suite finish
+ * the methods are ranked by CPU time into build/resource-attribution.json.
+ * Figures cover the test thread only, which is where RestAssured does its work. On virtual
+ * threads (VirtualThreadExecutorFactory) the JDK cannot report CPU time or allocation, so
+ * those figures are reported as unavailable instead of as zero.
+ *
+ */
+public class ResourceAttributionListener implements IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceAttributionListener.class);
+
+    public static final String REPORT_FILE_PROPERTY = "resource.report.file";
+    private static final String DEFAULT_REPORT_FILE = "build/resource-attribution.json";
+    private static final int LOGGED_TESTS = 5;
+    private static final String AVAILABLE = "available";
+    private static final String UNAVAILABLE = "unavailable";
+    private static final String PARTIAL = "partial";
+
+    private final LatencyCapture capture = new LatencyCapture();
+    private final ThreadLocal<long[]> startCounters = new ThreadLocal<>();
+    private final Map<String, MethodResources> methods = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStart(ISuite suite) {
+        LatencyFilter.install();
+        MeasuredObjectMapper.install();
+        LatencyFilter.getInstance().addListener(capture);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        LatencyFilter.getInstance().removeListener(capture);
+        if (methods.isEmpty()) {
+            return;
+        }
+
+        ResourceAttributionReport report = buildReport(suite.getName());
+        String reportFile = System.getProperty(REPORT_FILE_PROPERTY, DEFAULT_REPORT_FILE);
+        report.writeTo(reportFile);
+        AllureUtils.attachSuiteReport("Resource attribution", suite.getName(), "resource-attribution.json", report.toJson());
+
+        report.getTests().stream().limit(LOGGED_TESTS).forEach(usage -> log.info(
+                "#{} {}: cpu {} ms, allocated {} KB, {} HTTP calls, {} KB sent, {} KB received",
+                usage.getRank(), usage.getTestMethod(),
+                usage.getCpuMillis() != null ? String.format("%.1f", usage.getCpuMillis()) : UNAVAILABLE,
+                usage.getAllocatedBytes() != null ? String.valueOf(usage.getAllocatedBytes() / 1024) : UNAVAILABLE,
+                usage.getHttpCalls(),
+                usage.getRequestBytes() / 1024, usage.getResponseBytes() / 1024));
+        log.info("Resource attribution report written to {}", reportFile);
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        capture.start();
+        ResourceSections.start();
+        // Read the counters last so the listener's own setup is not attributed to the test
+        startCounters.set(new long[]{ThreadResources.cpuTimeNanos(), ThreadResources.allocatedBytes()});
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        long[] start = startCounters.get();
+        if (!method.isTestMethod() || start == null) {
+            return;
+        }
+        long cpuNanos = ThreadResources.cpuTimeNanos() - start[0];
+        long allocatedBytes = ThreadResources.allocatedBytes() - start[1];
+        boolean measured = ThreadResources.availableOnCurrentThread();
+        startCounters.remove();
+        List<RequestTiming> timings = capture.stop();
+        List<SectionUsage> sections = ResourceSections.stop();
+
+        long requestBytes = 0;
+        long responseBytes = 0;
+        for (RequestTiming timing : timings) {
+            requestBytes += timing.getRequestBytes();
+            responseBytes += timing.getResponseBytes();
+        }
+
+        ResourceUsage usage = ResourceUsage.builder()
+                .testMethod(testResult.getMethod().getQualifiedName())
+                .invocations(1L)
+                .wallMillis((double) (testResult.getEndMillis() - testResult.getStartMillis()))
+                .resourceCounters(measured ? AVAILABLE : UNAVAILABLE)
+                .cpuMillis(measured ? cpuNanos / 1_000_000.0 : null)
+                .allocatedBytes(measured ? allocatedBytes : null)
+                .httpCalls((long) timings.size())
+                .requestBytes(requestBytes)
+                .responseBytes(responseBytes)
+                .sections(measured ? sections : ResourceSections.callsOnly(sections))
+                .build();
+        AllureUtils.attachJson("Resource usage", JsonUtils.toJson(usage));
+        methods.computeIfAbsent(usage.getTestMethod(), MethodResources::new).add(usage);
+    }
+
+    private ResourceAttributionReport buildReport(String suiteName) {
+        List<ResourceUsage> tests = methods.values().stream()
+                .map(MethodResources::toUsage)
+                .sorted(Comparator.comparing(ResourceUsage::getCpuMillis,
+                        Comparator.nullsLast(Comparator.<Double>reverseOrder())))
+                .collect(Collectors.toList());
+        Map<String, long[]> sections = new HashMap<>();
+        boolean anyMeasured = false;
+        for (int i = 0; i < tests.size(); i++) {
+            tests.get(i).setRank(i + 1);
+            ResourceSections.accumulate(sections, tests.get(i).getSections());
+            anyMeasured |= tests.get(i).getCpuMillis() != null;
+        }
+        List<SectionUsage> sectionTotals = ResourceSections.toUsage(sections);
+
+        return ResourceAttributionReport.builder()
+                .suite(suiteName)
+                .generatedAt(Instant.now().toString())
+                .rankedBy("cpuMillis")
+                .tests(tests)
+                .sections(anyMeasured ? sectionTotals : ResourceSections.callsOnly(sectionTotals))
+                .build();
+    }
+
+    /**
+     * Running totals of one test method over its invocations
+     */
+    private static class MethodResources {
+
+        private final String testMethod;
+        private final Map<String, long[]> sections = new HashMap<>();
+        private long invocations;
+        private long measuredInvocations;
+        private double wallMillis;
+        private long cpuNanos;
+        private long allocatedBytes;
+        private long httpCalls;
+        private long requestBytes;
+        private long responseBytes;
+
+        MethodResources(String testMethod) {
+            this.testMethod = testMethod;
+        }
+
+        synchronized void add(ResourceUsage usage) {
+            invocations++;
+            wallMillis += usage.getWallMillis();
+            if (usage.getCpuMillis() != null) {
+                measuredInvocations++;
+                cpuNanos += Math.round(usage.getCpuMillis() * 1_000_000.0);
+                allocatedBytes += usage.getAllocatedBytes();
+            }
+            httpCalls += usage.getHttpCalls();
+            requestBytes += usage.getRequestBytes();
+            responseBytes += usage.getResponseBytes();
+            ResourceSections.accumulate(sections, usage.getSections());
+        }
+
+        synchronized ResourceUsage toUsage() {
+            boolean measured = measuredInvocations > 0;
+            List<SectionUsage> sectionUsage = ResourceSections.toUsage(sections);
+            return ResourceUsage.builder()
+                    .testMethod(testMethod)
+                    .invocations(invocations)
+                    .wallMillis(wallMillis)
+                    .resourceCounters(measuredInvocations == invocations ? AVAILABLE : measured ? PARTIAL : UNAVAILABLE)
+                    .cpuMillis(measured ? cpuNanos / 1_000_000.0 : null)
+                    .allocatedBytes(measured ? allocatedBytes : null)
+                    .httpCalls(httpCalls)
+                    .requestBytes(requestBytes)
+                    .responseBytes(responseBytes)
+                    .sections(measured ? sectionUsage : ResourceSections.callsOnly(sectionUsage))
+                    .build();
+        }
+    }
+}
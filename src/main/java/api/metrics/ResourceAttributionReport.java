@@ -0,0 +1,48 @@
+package api.metrics;
+
+import api.utils.JsonUtils;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Resource Attribution Report POJO
+ * Test methods ranked by CPU time, plus the instrumented sections summed over the suite
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceAttributionReport {
+
+    private String suite;
+    private String generatedAt;
+    private String rankedBy;
+    private List<ResourceUsage> tests;
+    private List<SectionUsage> sections;
+
+    /**
+     * Serialise the report as JSON
+     * @return JSON string
+     */
+    public String toJson() {
+        return JsonUtils.toJson(this);
+    }
+
+    /**
+     * Write the report as JSON to a file, creating parent directories
+     * @param filePath Target file path
+     */
+    public void writeTo(String filePath) {
+        File parent = new File(filePath).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        JsonUtils.toFile(this, filePath);
+    }
+}
@@ -0,0 +1,156 @@
+package api.metrics;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread CPU and allocation accounting for named sections of framework code
+ * Sections are only measured while a capture is active on the calling thread
+ * (see ResourceAttributionListener); otherwise measure() simply runs the work.
+ * Nested sections are credited to the innermost one only: an outer section records its
+ * own cost minus that of the sections it contains, so section totals never count the same
+ * work twice (JsonUtils.fromResponse calls the measured JsonUtils.fromJson).
+ *
+ */
+public final class ResourceSections {
+
+    private static final ThreadLocal<Capture> ACTIVE = new ThreadLocal<>();
+
+    private static final int CALLS = 0;
+    private static final int CPU_NANOS = 1;
+    private static final int ALLOCATED = 2;
+
+    private ResourceSections() {
+    }
+
+    /**
+     * Start capturing sections on the current thread, discarding anything captured before
+     */
+    public static void start() {
+        ACTIVE.set(new Capture());
+    }
+
+    /**
+     * Stop capturing on the current thread
+     * @return Sections measured since start(), most CPU first
+     */
+    public static List<SectionUsage> stop() {
+        Capture capture = ACTIVE.get();
+        ACTIVE.remove();
+        return capture != null ? toUsage(capture.sections) : new ArrayList<>();
+    }
+
+    /**
+     * Run work, attributing its CPU time and allocation to a section
+     * @param section Section name
+     * @param work Work to run
+     * @param <T> Result type
+     * @return Result of the work
+     */
+    public static <T> T measure(String section, Supplier<T> work) {
+        Capture capture = ACTIVE.get();
+        return capture == null ? work.get() : measure(capture, section, work);
+    }
+
+    /**
+     * Run work, attributing it to a section named after a target type, e.g. "JsonUtils.fromJson(Product)".
+     * The name is only built while capturing.
+     * @param section Section name prefix
+     * @param type Type being mapped
+     * @param work Work to run
+     * @param <T> Result type
+     * @return Result of the work
+     */
+    public static <T> T measure(String section, Type type, Supplier<T> work) {
+        Capture capture = ACTIVE.get();
+        return capture == null ? work.get() : measure(capture, section + "(" + simpleName(type) + ")", work);
+    }
+
+    private static <T> T measure(Capture capture, String section, Supplier<T> work) {
+        long outerNestedCpu = capture.nestedCpuNanos;
+        long outerNestedAllocated = capture.nestedAllocated;
+        capture.nestedCpuNanos = 0;
+        capture.nestedAllocated = 0;
+        long allocated = ThreadResources.allocatedBytes();
+        long cpu = ThreadResources.cpuTimeNanos();
+        try {
+            return work.get();
+        } finally {
+            long cpuDelta = ThreadResources.cpuTimeNanos() - cpu;
+            long allocatedDelta = ThreadResources.allocatedBytes() - allocated;
+            long[] counters = capture.sections.computeIfAbsent(section, key -> new long[3]);
+            counters[CALLS]++;
+            counters[CPU_NANOS] += Math.max(0, cpuDelta - capture.nestedCpuNanos);
+            counters[ALLOCATED] += Math.max(0, allocatedDelta - capture.nestedAllocated);
+            // The enclosing section sees this one's full cost as nested work
+            capture.nestedCpuNanos = outerNestedCpu + cpuDelta;
+            capture.nestedAllocated = outerNestedAllocated + allocatedDelta;
+        }
+    }
+
+    /**
+     * Add the sections of one capture to a running total
+     * @param total Running total keyed by section
+     * @param sections Sections of one capture
+     */
+    static void accumulate(Map<String, long[]> total, List<SectionUsage> sections) {
+        for (SectionUsage usage : sections) {
+            long[] counters = total.computeIfAbsent(usage.getSection(), key -> new long[3]);
+            counters[CALLS] += usage.getCalls();
+            if (usage.getCpuMillis() != null) {
+                counters[CPU_NANOS] += Math.round(usage.getCpuMillis() * 1_000_000.0);
+            }
+            if (usage.getAllocatedBytes() != null) {
+                counters[ALLOCATED] += usage.getAllocatedBytes();
+            }
+        }
+    }
+
+    /**
+     * Convert running totals to usage records
+     * @param sections Totals keyed by section
+     * @return SectionUsage list, most CPU first
+     */
+    static List<SectionUsage> toUsage(Map<String, long[]> sections) {
+        List<SectionUsage> usage = new ArrayList<>();
+        sections.forEach((section, counters) -> usage.add(SectionUsage.builder()
+                .section(section)
+                .calls(counters[CALLS])
+                .cpuMillis(counters[CPU_NANOS] / 1_000_000.0)
+                .allocatedBytes(counters[ALLOCATED])
+                .build()));
+        usage.sort(Comparator.comparing(SectionUsage::getCpuMillis).reversed());
+        return usage;
+    }
+
+    /**
+     * Sections of one capture and the cost of the sections nested in the innermost open one
+     */
+    private static final class Capture {
+        final Map<String, long[]> sections = new HashMap<>();
+        long nestedCpuNanos;
+        long nestedAllocated;
+    }
+
+    /**
+     * Copy sections with CPU and allocation cleared, for captures where the counters could not be read
+     * @param sections Measured sections
+     * @return Sections with call counts only
+     */
+    static List<SectionUsage> callsOnly(List<SectionUsage> sections) {
+        List<SectionUsage> calls = new ArrayList<>(sections.size());
+        for (SectionUsage usage : sections) {
+            calls.add(SectionUsage.builder().section(usage.getSection()).calls(usage.getCalls()).build());
+        }
+        return calls;
+    }
+
+    private static String simpleName(Type type) {
+        return type instanceof Class ? ((Class<?>) type).getSimpleName() : type.getTypeName();
+    }
+}
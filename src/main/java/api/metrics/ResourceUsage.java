@@ -0,0 +1,36 @@
+package api.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resource Usage POJO
+ * Resources consumed by a test method on its own thread, summed over its invocations.
+ * cpuMillis and allocatedBytes are null and resourceCounters is "unavailable" when the
+ * test ran on virtual threads, where the JDK cannot report them.
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceUsage {
+
+    private Integer rank;
+    private String testMethod;
+    private Long invocations;
+    private Double wallMillis;
+    /** "available", "unavailable", or "partial" when only some invocations could be measured */
+    private String resourceCounters;
+    private Double cpuMillis;
+    private Long allocatedBytes;
+    private Long httpCalls;
+    private Long requestBytes;
+    private Long responseBytes;
+    /** Instrumented sections, most CPU first; a nested section's cost is credited to it, not to the enclosing one */
+    private List<SectionUsage> sections;
+}
@@ -0,0 +1,25 @@
+package api.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Section Usage POJO
+ * CPU time and allocation spent inside one named section of framework code,
+ * e.g. "JsonUtils.fromResponse(ProductResponse)" or "RestAssured.as(ProductResponse[])",
+ * excluding nested sections. CPU and allocation are null where the counters were unavailable.
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionUsage {
+
+    private String section;
+    private Long calls;
+    private Double cpuMillis;
+    private Long allocatedBytes;
+}
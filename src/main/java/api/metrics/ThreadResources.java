@@ -0,0 +1,61 @@
+package api.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Current-thread CPU time and allocation counters from the platform ThreadMXBean
+ * Both figures read as zero on JVMs that do not support them and on virtual threads,
+ * where the JDK reports -1; availableOnCurrentThread() tells the two cases apart from a
+ * thread that genuinely used nothing
+ *
+ */
+final class ThreadResources {
+
+    private static final java.lang.management.ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean HOTSPOT_THREADS =
+            THREADS instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) THREADS : null;
+
+    private static final boolean CPU_TIME = enableCpuTime();
+    private static final boolean ALLOCATION = enableAllocation();
+
+    private ThreadResources() {
+    }
+
+    static long cpuTimeNanos() {
+        return CPU_TIME ? Math.max(0, THREADS.getCurrentThreadCpuTime()) : 0;
+    }
+
+    static long allocatedBytes() {
+        return ALLOCATION ? Math.max(0, HOTSPOT_THREADS.getCurrentThreadAllocatedBytes()) : 0;
+    }
+
+    /**
+     * Whether CPU time and allocation can be read on the calling thread; false on virtual threads
+     * @return true when both counters are meaningful
+     */
+    static boolean availableOnCurrentThread() {
+        return CPU_TIME && ALLOCATION
+                && THREADS.getCurrentThreadCpuTime() >= 0
+                && HOTSPOT_THREADS.getCurrentThreadAllocatedBytes() >= 0;
+    }
+
+    private static boolean enableCpuTime() {
+        if (!THREADS.isCurrentThreadCpuTimeSupported()) {
+            return false;
+        }
+        if (!THREADS.isThreadCpuTimeEnabled()) {
+            THREADS.setThreadCpuTimeEnabled(true);
+        }
+        return true;
+    }
+
+    private static boolean enableAllocation() {
+        if (HOTSPOT_THREADS == null || !HOTSPOT_THREADS.isThreadAllocatedMemorySupported()) {
+            return false;
+        }
+        if (!HOTSPOT_THREADS.isThreadAllocatedMemoryEnabled()) {
+            HOTSPOT_THREADS.setThreadAllocatedMemoryEnabled(true);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,256 @@
+package api.metrics;
+
+import api.utils.JsonUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only binary log of request timings
+ * Every request becomes a fixed 32-byte record in a memory-mapped file. Records are
+ * staged in a fixed set of stripe buffers, chosen by hashing the thread id, and copied
+ * into a region reserved with a single atomic add, so the per-request cost is a few field
+ * writes and staging memory does not grow with the number of threads (the load generator
+ * uses one per request). The file is preallocated to a fixed capacity; records beyond it
+ * are counted as dropped instead of growing the file.
+ * Endpoint names are stored once in a JSON sidecar and referenced by id.
+ *
+ * Layout (little-endian): a 64-byte header (magic, version, record size, header size,
+ * capacity, record count, start time) followed by records of
+ * start epoch millis (8), full-body latency micros (4), time to first byte micros (4),
+ * request bytes (4), response bytes (4), endpoint id (2), status (2), reserved (4).
+ *
+ */
+public class TimingLog implements RequestTimingListener, Closeable {
+
+    public static final String FILE_PROPERTY = "timing.log.file";
+    public static final String MAX_MB_PROPERTY = "timing.log.max.mb";
+    private static final long DEFAULT_MAX_MB = 256;
+
+    static final int MAGIC = 0x52544C47;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 32;
+    static final int COUNT_OFFSET = 24;
+    static final int OVERFLOW_ENDPOINT = 0xFFFF;
+    static final String OVERFLOW_ENDPOINT_NAME = "(other)";
+
+    private static final int BUFFER_RECORDS = 256;
+    private static final int STRIPES = Integer.highestOneBit(Math.max(4, Math.min(64, Runtime.getRuntime().availableProcessors() * 2)));
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final long capacity;
+    private final AtomicLong reserved = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, Integer> endpointIds = new ConcurrentHashMap<>();
+    private final List<String> endpoints = new ArrayList<>();
+    private final StripeBuffer[] stripes = new StripeBuffer[STRIPES];
+    private volatile boolean closed;
+
+    private TimingLog(Path file, long maxBytes) throws IOException {
+        this.file = file;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new StripeBuffer();
+        }
+        this.capacity = Math.max(BUFFER_RECORDS, (Math.min(maxBytes, Integer.MAX_VALUE) - HEADER_SIZE) / RECORD_SIZE);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity * RECORD_SIZE);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        mapped.putInt(0, MAGIC)
+                .putInt(4, VERSION)
+                .putInt(8, RECORD_SIZE)
+                .putInt(12, HEADER_SIZE)
+                .putLong(16, capacity)
+                .putLong(COUNT_OFFSET, 0)
+                .putLong(32, System.currentTimeMillis());
+        writeEndpoints();
+    }
+
+    /**
+     * Create (or truncate) a timing log with a bounded size
+     * @param file Log file path
+     * @param maxBytes Maximum file size in bytes
+     * @return TimingLog
+     */
+    public static TimingLog open(String file, long maxBytes) {
+        try {
+            return new TimingLog(Paths.get(file), maxBytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open timing log: " + file, e);
+        }
+    }
+
+    /**
+     * Open the log named by timing.log.file, capped at timing.log.max.mb
+     * @return TimingLog, or null when logging is not enabled
+     */
+    public static TimingLog fromSystemProperties() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        return open(file, Long.getLong(MAX_MB_PROPERTY, DEFAULT_MAX_MB) * 1024 * 1024);
+    }
+
+    /**
+     * Sidecar file holding the endpoint names of a log
+     * @param logFile Log file path
+     * @return Endpoint dictionary path
+     */
+    public static Path endpointsFile(Path logFile) {
+        return Paths.get(logFile + ".endpoints.json");
+    }
+
+    @Override
+    public void onRequest(RequestTiming timing) {
+        if (closed) {
+            dropped.increment();
+            return;
+        }
+        stripeFor(Thread.currentThread().getId()).append(timing, endpointId(timing.getEndpoint()));
+    }
+
+    /**
+     * Copy all stripe buffers into the mapped file
+     */
+    public void flush() {
+        for (StripeBuffer stripe : stripes) {
+            stripe.flush();
+        }
+    }
+
+    /**
+     * Records written to the file so far (excluding records still in stripe buffers)
+     * @return Record count
+     */
+    public long getWritten() {
+        return Math.min(reserved.get(), capacity);
+    }
+
+    /**
+     * Records lost because the file was full or already closed
+     * @return Dropped record count
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flush();
+        mapped.putLong(COUNT_OFFSET, getWritten());
+        mapped.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to close timing log: " + file, e);
+        }
+    }
+
+    private int endpointId(String endpoint) {
+        Integer id = endpointIds.get(endpoint);
+        return id != null ? id : registerEndpoint(endpoint);
+    }
+
+    private synchronized int registerEndpoint(String endpoint) {
+        Integer id = endpointIds.get(endpoint);
+        if (id != null) {
+            return id;
+        }
+        if (endpoints.size() >= OVERFLOW_ENDPOINT) {
+            return OVERFLOW_ENDPOINT;
+        }
+        endpoints.add(endpoint);
+        writeEndpoints();
+        endpointIds.put(endpoint, endpoints.size() - 1);
+        return endpoints.size() - 1;
+    }
+
+    /**
+     * Rewritten on every new endpoint so the dictionary survives a crashed run
+     */
+    private synchronized void writeEndpoints() {
+        JsonUtils.toFile(new ArrayList<>(endpoints), endpointsFile(file).toString());
+    }
+
+    /**
+     * Thread ids are sequential, so they are mixed before picking a stripe
+     */
+    private StripeBuffer stripeFor(long threadId) {
+        long h = threadId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h >>> 32) & (STRIPES - 1)];
+    }
+
+    private void write(ByteBuffer staged) {
+        int records = staged.position() / RECORD_SIZE;
+        long first = reserved.getAndAdd(records);
+        long fitting = Math.max(0, Math.min(records, capacity - first));
+        if (fitting > 0) {
+            mapped.put((int) (HEADER_SIZE + first * RECORD_SIZE), staged.array(), 0, (int) fitting * RECORD_SIZE);
+        }
+        if (fitting < records) {
+            dropped.add(records - fitting);
+        }
+        staged.clear();
+    }
+
+    private static int saturate(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Staging buffer shared by the threads hashed to it
+     */
+    private final class StripeBuffer {
+
+        private final ByteBuffer staged = ByteBuffer.allocate(BUFFER_RECORDS * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        synchronized void append(RequestTiming timing, int endpointId) {
+            staged.putLong(timing.getStartEpochMillis())
+                    .putInt(saturate(timing.getTimeToFullBodyNanos() / 1_000))
+                    .putInt(saturate(timing.getTimeToFirstByteNanos() / 1_000))
+                    .putInt(saturate(timing.getRequestBytes()))
+                    .putInt(saturate(timing.getResponseBytes()))
+                    .putShort((short) endpointId)
+                    .putShort((short) timing.getStatusCode())
+                    .putInt(0);
+            if (!staged.hasRemaining()) {
+                write(staged);
+            }
+        }
+
+        synchronized void flush() {
+            if (staged.position() > 0) {
+                write(staged);
+            }
+        }
+    }
+}
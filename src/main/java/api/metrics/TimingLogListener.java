@@ -0,0 +1,40 @@
+package api.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * TestNG suite listener for the binary timing log
+ * Does nothing unless -Dtiming.log.file is set; otherwise every request made during
+ * the suite is appended to that log
+ *
+ */
+public class TimingLogListener implements ISuiteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TimingLogListener.class);
+
+    private TimingLog timingLog;
+
+    @Override
+    public void onStart(ISuite suite) {
+        timingLog = TimingLog.fromSystemProperties();
+        if (timingLog != null) {
+            LatencyFilter.install();
+            LatencyFilter.getInstance().addListener(timingLog);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (timingLog == null) {
+            return;
+        }
+        LatencyFilter.getInstance().removeListener(timingLog);
+        timingLog.close();
+        log.info("Timing log written to {} ({} records, {} dropped)",
+                timingLog.getFile(), timingLog.getWritten(), timingLog.getDropped());
+        timingLog = null;
+    }
+}
@@ -0,0 +1,106 @@
+package api.metrics;
+
+import api.utils.JsonUtils;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reader for TimingLog files
+ * Maps the log read-only and visits records without allocating per record. Logs
+ * from runs that never closed the writer carry no record count; the whole capacity
+ * is scanned and unwritten (zero) slots are skipped.
+ *
+ */
+public class TimingLogReader {
+
+    /**
+     * Callback receiving the fields of one record
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(long startEpochMillis, int endpointId, int statusCode, int latencyMicros,
+                   int timeToFirstByteMicros, int requestBytes, int responseBytes);
+    }
+
+    private final MappedByteBuffer mapped;
+    private final long slots;
+    private final List<String> endpoints;
+
+    public TimingLogReader(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            this.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read timing log: " + file, e);
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (mapped.limit() < TimingLog.HEADER_SIZE || mapped.getInt(0) != TimingLog.MAGIC) {
+            throw new IllegalArgumentException("Not a timing log: " + file);
+        }
+        if (mapped.getInt(4) != TimingLog.VERSION || mapped.getInt(8) != TimingLog.RECORD_SIZE) {
+            throw new IllegalArgumentException("Unsupported timing log version " + mapped.getInt(4) + ": " + file);
+        }
+        long count = mapped.getLong(TimingLog.COUNT_OFFSET);
+        long available = (mapped.limit() - TimingLog.HEADER_SIZE) / TimingLog.RECORD_SIZE;
+        this.slots = count > 0 ? Math.min(count, available) : available;
+        this.endpoints = readEndpoints(file);
+    }
+
+    /**
+     * Endpoint name for a record's endpoint id
+     * @param endpointId Endpoint id
+     * @return Endpoint name
+     */
+    public String endpoint(int endpointId) {
+        if (endpointId == TimingLog.OVERFLOW_ENDPOINT) {
+            return TimingLog.OVERFLOW_ENDPOINT_NAME;
+        }
+        return endpointId < endpoints.size() ? endpoints.get(endpointId) : "#" + endpointId;
+    }
+
+    /**
+     * Endpoint names indexed by id
+     * @return Unmodifiable list of endpoint names
+     */
+    public List<String> getEndpoints() {
+        return Collections.unmodifiableList(endpoints);
+    }
+
+    /**
+     * Visit every written record in file order
+     * @param visitor RecordVisitor
+     */
+    public void forEach(RecordVisitor visitor) {
+        for (long slot = 0; slot < slots; slot++) {
+            int offset = (int) (TimingLog.HEADER_SIZE + slot * TimingLog.RECORD_SIZE);
+            long startEpochMillis = mapped.getLong(offset);
+            if (startEpochMillis == 0) {
+                continue;
+            }
+            visitor.visit(startEpochMillis,
+                    Short.toUnsignedInt(mapped.getShort(offset + 24)),
+                    Short.toUnsignedInt(mapped.getShort(offset + 26)),
+                    mapped.getInt(offset + 8),
+                    mapped.getInt(offset + 12),
+                    mapped.getInt(offset + 16),
+                    mapped.getInt(offset + 20));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> readEndpoints(Path file) {
+        Path sidecar = TimingLog.endpointsFile(file);
+        if (!Files.exists(sidecar)) {
+            return new ArrayList<>();
+        }
+        return JsonUtils.fromFile(sidecar.toString(), List.class);
+    }
+}
@@ -0,0 +1,299 @@
+package api.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Offline report generator for TimingLog files
+ * Buckets the records by start time and writes a CSV time series plus an HTML page
+ * with throughput and latency charts. Run with:
+ * ./gradlew timingReport -Dtiming.log.file=build/timing.log [-Dtiming.report.dir=build/timing-report]
+ *
+ */
+public class TimingLogReport {
+
+    private static final Logger log = LoggerFactory.getLogger(TimingLogReport.class);
+
+    /** Charts stay readable up to roughly this many points; longer runs get wider buckets */
+    private static final int MAX_BUCKETS = 600;
+    private static final long HIGHEST_MICROS = 3_600_000_000L;
+    private static final String[] COLORS = {"#1f77b4", "#d62728", "#2ca02c", "#ff7f0e", "#9467bd", "#8c564b"};
+
+    private final TimingLogReader reader;
+    private final long bucketMillis;
+    private final long firstMillis;
+    private final int bucketCount;
+    private final List<String> endpoints;
+
+    private final long[] requests;
+    private final long[] errors;
+    private final long[] responseBytes;
+    private final Histogram[] latency;
+    private final long[][] endpointRequests;
+    private final long[] endpointErrors;
+    private final long[] endpointBytes;
+    private final Histogram[] endpointLatency;
+
+    /**
+     * Aggregate a timing log
+     * @param logFile Log file path
+     * @param bucketSeconds Bucket width in seconds, or 0 to pick one from the run length
+     */
+    public TimingLogReport(Path logFile, long bucketSeconds) {
+        this.reader = new TimingLogReader(logFile);
+        this.endpoints = reader.getEndpoints();
+
+        long[] span = {Long.MAX_VALUE, Long.MIN_VALUE};
+        reader.forEach((start, endpoint, status, latencyMicros, ttfb, reqBytes, respBytes) -> {
+            span[0] = Math.min(span[0], start);
+            span[1] = Math.max(span[1], start);
+        });
+        if (span[0] == Long.MAX_VALUE) {
+            span[0] = span[1] = 0;
+        }
+        long spanMillis = span[1] - span[0] + 1;
+        long autoSeconds = Math.max(1, (spanMillis / MAX_BUCKETS + 999) / 1000);
+        this.bucketMillis = (bucketSeconds > 0 ? bucketSeconds : autoSeconds) * 1000;
+        this.firstMillis = span[0] - span[0] % bucketMillis;
+        this.bucketCount = (int) ((span[1] - firstMillis) / bucketMillis) + 1;
+
+        int endpointSlots = endpoints.size() + 1;
+        this.requests = new long[bucketCount];
+        this.errors = new long[bucketCount];
+        this.responseBytes = new long[bucketCount];
+        this.latency = new Histogram[bucketCount];
+        this.endpointRequests = new long[endpointSlots][bucketCount];
+        this.endpointErrors = new long[endpointSlots];
+        this.endpointBytes = new long[endpointSlots];
+        this.endpointLatency = new Histogram[endpointSlots];
+        aggregate();
+    }
+
+    public static void main(String[] args) throws IOException {
+        String logFile = args.length > 0 ? args[0] : System.getProperty(TimingLog.FILE_PROPERTY, "build/timing.log");
+        String outputDir = args.length > 1 ? args[1] : System.getProperty("timing.report.dir", "build/timing-report");
+        long bucketSeconds = args.length > 2 ? Long.parseLong(args[2]) : Long.getLong("timing.report.bucket", 0);
+
+        TimingLogReport report = new TimingLogReport(Paths.get(logFile), bucketSeconds);
+        Path dir = Paths.get(outputDir);
+        report.writeTo(dir);
+        log.info("Timing report for {} ({} requests, {} s buckets) written to {}",
+                logFile, report.totalRequests(), report.bucketMillis / 1000, dir);
+    }
+
+    /**
+     * Write timing-report.csv and timing-report.html into a directory
+     * @param dir Output directory
+     * @throws IOException on write errors
+     */
+    public void writeTo(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        try (Writer csv = Files.newBufferedWriter(dir.resolve("timing-report.csv"), StandardCharsets.UTF_8)) {
+            writeCsv(new PrintWriter(csv));
+        }
+        try (Writer html = Files.newBufferedWriter(dir.resolve("timing-report.html"), StandardCharsets.UTF_8)) {
+            writeHtml(new PrintWriter(html));
+        }
+    }
+
+    public long totalRequests() {
+        long total = 0;
+        for (long count : requests) {
+            total += count;
+        }
+        return total;
+    }
+
+    private void aggregate() {
+        int overflowSlot = endpoints.size();
+        reader.forEach((start, endpoint, status, latencyMicros, ttfb, reqBytes, respBytes) -> {
+            int bucket = (int) ((start - firstMillis) / bucketMillis);
+            int slot = Math.min(endpoint, overflowSlot);
+            long value = Math.max(1, Math.min(latencyMicros, HIGHEST_MICROS));
+            boolean error = status >= 400;
+
+            requests[bucket]++;
+            responseBytes[bucket] += respBytes;
+            histogram(latency, bucket).recordValue(value);
+            endpointRequests[slot][bucket]++;
+            endpointBytes[slot] += respBytes;
+            histogram(endpointLatency, slot).recordValue(value);
+            if (error) {
+                errors[bucket]++;
+                endpointErrors[slot]++;
+            }
+        });
+    }
+
+    private static Histogram histogram(Histogram[] histograms, int index) {
+        if (histograms[index] == null) {
+            histograms[index] = new Histogram(HIGHEST_MICROS, 2);
+        }
+        return histograms[index];
+    }
+
+    private String endpointName(int slot) {
+        return slot < endpoints.size() ? endpoints.get(slot) : TimingLog.OVERFLOW_ENDPOINT_NAME;
+    }
+
+    private void writeCsv(PrintWriter out) {
+        StringBuilder header = new StringBuilder(
+                "bucket_start,requests,errors,throughput_rps,p50_ms,p90_ms,p99_ms,max_ms,response_kb_per_s");
+        for (int slot = 0; slot < endpointLatency.length; slot++) {
+            if (endpointLatency[slot] != null) {
+                header.append(",\"").append(endpointName(slot).replace("\"", "\"\"")).append(" rps\"");
+            }
+        }
+        out.println(header);
+
+        double seconds = bucketMillis / 1000.0;
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            Histogram histogram = latency[bucket];
+            StringBuilder row = new StringBuilder()
+                    .append(Instant.ofEpochMilli(firstMillis + bucket * bucketMillis)).append(',')
+                    .append(requests[bucket]).append(',')
+                    .append(errors[bucket]).append(',')
+                    .append(format(requests[bucket] / seconds)).append(',')
+                    .append(format(percentileMillis(histogram, 50))).append(',')
+                    .append(format(percentileMillis(histogram, 90))).append(',')
+                    .append(format(percentileMillis(histogram, 99))).append(',')
+                    .append(format(histogram != null ? histogram.getMaxValue() / 1000.0 : 0)).append(',')
+                    .append(format(responseBytes[bucket] / seconds / 1024));
+            for (int slot = 0; slot < endpointLatency.length; slot++) {
+                if (endpointLatency[slot] != null) {
+                    row.append(',').append(format(endpointRequests[slot][bucket] / seconds));
+                }
+            }
+            out.println(row);
+        }
+        out.flush();
+    }
+
+    private void writeHtml(PrintWriter out) {
+        double seconds = bucketMillis / 1000.0;
+        double[] elapsed = new double[bucketCount];
+        double[] rps = new double[bucketCount];
+        double[] errorRps = new double[bucketCount];
+        double[] p50 = new double[bucketCount];
+        double[] p99 = new double[bucketCount];
+        double[] max = new double[bucketCount];
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            elapsed[bucket] = bucket * seconds;
+            rps[bucket] = requests[bucket] / seconds;
+            errorRps[bucket] = errors[bucket] / seconds;
+            p50[bucket] = percentileMillis(latency[bucket], 50);
+            p99[bucket] = percentileMillis(latency[bucket], 99);
+            max[bucket] = latency[bucket] != null ? latency[bucket].getMaxValue() / 1000.0 : 0;
+        }
+
+        Map<String, double[]> throughput = new LinkedHashMap<>();
+        throughput.put("requests/s", rps);
+        throughput.put("errors/s", errorRps);
+        Map<String, double[]> latencies = new LinkedHashMap<>();
+        latencies.put("p50", p50);
+        latencies.put("p99", p99);
+        latencies.put("max", max);
+
+        out.println("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Timing report</title>");
+        out.println("<style>body{font-family:sans-serif;margin:24px}table{border-collapse:collapse}"
+                + "td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}td:first-child{text-align:left}</style>");
+        out.println("</head><body>");
+        out.printf("<h1>Timing report</h1><p>%d requests from %s, %s s buckets</p>%n",
+                totalRequests(), Instant.ofEpochMilli(firstMillis), format(seconds));
+        out.println(svgChart("Throughput", "req/s", elapsed, throughput));
+        out.println(svgChart("Latency", "ms", elapsed, latencies));
+
+        out.println("<h2>Endpoints</h2><table><tr><th>Endpoint</th><th>Requests</th><th>Errors</th>"
+                + "<th>p50 ms</th><th>p99 ms</th><th>max ms</th><th>Response MB</th></tr>");
+        for (int slot = 0; slot < endpointLatency.length; slot++) {
+            Histogram histogram = endpointLatency[slot];
+            if (histogram == null) {
+                continue;
+            }
+            out.printf("<tr><td>%s</td><td>%d</td><td>%d</td><td>%s</td><td>%s</td><td>%s</td><td>%s</td></tr>%n",
+                    escape(endpointName(slot)), histogram.getTotalCount(), endpointErrors[slot],
+                    format(percentileMillis(histogram, 50)), format(percentileMillis(histogram, 99)),
+                    format(histogram.getMaxValue() / 1000.0), format(endpointBytes[slot] / (1024.0 * 1024.0)));
+        }
+        out.println("</table></body></html>");
+        out.flush();
+    }
+
+    private static String svgChart(String title, String unit, double[] x, Map<String, double[]> series) {
+        int width = 900;
+        int height = 260;
+        int left = 60;
+        int right = 20;
+        int top = 30;
+        int bottom = 30;
+        double plotWidth = width - left - right;
+        double plotHeight = height - top - bottom;
+
+        double maxX = x.length > 1 ? x[x.length - 1] : 1;
+        double maxY = 0;
+        for (double[] values : series.values()) {
+            for (double value : values) {
+                maxY = Math.max(maxY, value);
+            }
+        }
+        maxY = maxY > 0 ? maxY * 1.1 : 1;
+
+        StringBuilder svg = new StringBuilder();
+        svg.append(String.format(Locale.ROOT, "<h2>%s</h2><svg width=\"%d\" height=\"%d\" font-size=\"11\">%n",
+                escape(title), width, height));
+        for (int tick = 0; tick <= 4; tick++) {
+            double y = top + plotHeight - plotHeight * tick / 4;
+            svg.append(String.format(Locale.ROOT,
+                    "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#eee\"/>"
+                            + "<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%s</text>%n",
+                    left, y, width - right, y, left - 4, y + 4, format(maxY * tick / 4)));
+            double tx = left + plotWidth * tick / 4;
+            svg.append(String.format(Locale.ROOT, "<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\">%ss</text>%n",
+                    tx, height - 10, format(maxX * tick / 4)));
+        }
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\">%s</text>%n", 4, top - 10, escape(unit)));
+
+        int colorIndex = 0;
+        for (Map.Entry<String, double[]> entry : series.entrySet()) {
+            String color = COLORS[colorIndex % COLORS.length];
+            StringBuilder points = new StringBuilder();
+            double[] values = entry.getValue();
+            for (int i = 0; i < values.length; i++) {
+                points.append(String.format(Locale.ROOT, "%.1f,%.1f ",
+                        left + plotWidth * x[i] / maxX, top + plotHeight - plotHeight * values[i] / maxY));
+            }
+            svg.append(String.format(Locale.ROOT,
+                    "<polyline fill=\"none\" stroke=\"%s\" stroke-width=\"1.5\" points=\"%s\"/>"
+                            + "<text x=\"%d\" y=\"%d\" fill=\"%s\">%s</text>%n",
+                    color, points.toString().trim(), left + 10 + colorIndex * 90, top - 10, color, escape(entry.getKey())));
+            colorIndex++;
+        }
+        return svg.append("</svg>").toString();
+    }
+
+    private static double percentileMillis(Histogram histogram, double percentile) {
+        return histogram != null ? histogram.getValueAtPercentile(percentile) / 1000.0 : 0;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,75 @@
+package api.paging;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Iterator over a PageSource holding the current page and the prefetch of the next
+ * Not thread-safe; hasNext() blocks while the next page is still being fetched.
+ *
+ */
+class PageIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final PageSource<T> source;
+    private int nextIndex;
+    private Iterator<T> current;
+    private CompletableFuture<List<T>> next;
+
+    PageIterator(PageSource<T> source) {
+        this.source = source;
+        this.next = source.fetchAsync(nextIndex++);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (current == null || !current.hasNext()) {
+            if (next == null) {
+                return false;
+            }
+            List<T> page = await(next);
+            // Start on the following page before the caller works through this one
+            next = page.size() == source.getPageSize() ? source.fetchAsync(nextIndex++) : null;
+            current = page.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Stop after the current page, abandoning any prefetch in flight
+     */
+    @Override
+    public void close() {
+        if (next != null) {
+            next.cancel(false);
+            next = null;
+        }
+        current = null;
+    }
+
+    private static <T> List<T> await(CompletableFuture<List<T>> page) {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the next page", e);
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Failed to fetch the next page", cause);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package api.paging;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Demand-driven delivery of a PageSource to one subscriber
+ * Items are emitted only against outstanding request(n) demand, from a single drain
+ * loop running on the page fetch executor, so onNext calls never overlap. Pages are
+ * fetched one ahead of delivery; when demand stops, at most the current and the next
+ * page are held.
+ *
+ */
+final class PagePublisher<T> implements Flow.Subscription {
+
+    private final Flow.Subscriber<? super T> subscriber;
+    private final PageIterator<T> pages;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger pendingDrains = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile Throwable invalidRequest;
+    /** Only touched by the drain loop */
+    private boolean done;
+
+    private PagePublisher(PageSource<T> source, Flow.Subscriber<? super T> subscriber) {
+        this.subscriber = subscriber;
+        this.pages = source.iterator();
+    }
+
+    static <T> void subscribe(PageSource<T> source, Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        subscriber.onSubscribe(new PagePublisher<>(source, subscriber));
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            invalidRequest = new IllegalArgumentException("Requested " + n + " items, must be positive");
+        } else {
+            requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+        }
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        schedule();
+    }
+
+    /**
+     * Run the drain loop unless one is already running; a running loop picks up the new signal
+     */
+    private void schedule() {
+        if (pendingDrains.getAndIncrement() == 0) {
+            PageSource.executor().execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            if (!done) {
+                if (invalidRequest != null) {
+                    signalError(invalidRequest);
+                } else if (cancelled) {
+                    done = true;
+                    pages.close();
+                } else {
+                    emit();
+                }
+            }
+            missed = pendingDrains.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void emit() {
+        try {
+            long demand = requested.get();
+            long emitted = 0;
+            while (emitted < demand && !cancelled && pages.hasNext()) {
+                subscriber.onNext(pages.next());
+                emitted++;
+            }
+            requested.addAndGet(-emitted);
+            // Completion is signalled as soon as the last page is drained, without waiting for more demand
+            if (!cancelled && !pages.hasNext()) {
+                done = true;
+                pages.close();
+                subscriber.onComplete();
+            }
+        } catch (RuntimeException e) {
+            signalError(e);
+        }
+    }
+
+    private void signalError(Throwable error) {
+        done = true;
+        pages.close();
+        subscriber.onError(error);
+    }
+}
@@ -0,0 +1,111 @@
+package api.paging;
+
+import api.utils.JsonUtils;
+import api.utils.ThreadUtils;
+import io.restassured.response.Response;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Page-by-page view of a list endpoint
+ * The API only supports ?limit=n, so page k is read from a request for (k + 1) * pageSize
+ * items: the first k * pageSize elements are skipped by the streaming parser and only the
+ * page itself is bound. Iteration keeps the current page and the next one, which is
+ * fetched in the background while the current page is consumed, so memory stays bounded
+ * by the page size however large the collection is. The walk ends at the first short page.
+ *
+ * <pre>
+ * try (Stream&lt;ProductResponse&gt; products = ProductsAPI.getProductPages(5).stream()) {
+ *     products.filter(p -&gt; p.getPrice() &gt; 100).forEach(...);
+ * }
+ * </pre>
+ *
+ * @param <T> Element type
+ */
+public class PageSource<T> {
+
+    private static final ExecutorService FETCHER = Executors.newCachedThreadPool(ThreadUtils.daemonThreadFactory("page-fetch-"));
+
+    private final IntFunction<Response> limitedFetch;
+    private final Class<T> type;
+    private final int pageSize;
+
+    /**
+     * @param limitedFetch Request for the first n items of the collection
+     * @param type Element class
+     * @param pageSize Items per page
+     */
+    public PageSource(IntFunction<Response> limitedFetch, Class<T> type, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1: " + pageSize);
+        }
+        this.limitedFetch = limitedFetch;
+        this.type = type;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Fetch one page
+     * @param index Zero-based page index
+     * @return Unmodifiable page, shorter than the page size on the last page
+     */
+    public List<T> page(int index) {
+        long limit = (long) (index + 1) * pageSize;
+        if (limit > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Page " + index + " is beyond the largest supported limit");
+        }
+        Response response = limitedFetch.apply((int) limit);
+        if (response.getStatusCode() != 200) {
+            throw new RuntimeException("Failed to fetch page " + index + " (limit " + limit + "): HTTP "
+                    + response.getStatusCode());
+        }
+        return Collections.unmodifiableList(
+                JsonUtils.readArraySlice(response.asInputStream(), type, index * pageSize, pageSize));
+    }
+
+    /**
+     * Lazy ordered stream over the whole collection; close it to stop prefetching early
+     * @return Stream
+     */
+    public Stream<T> stream() {
+        PageIterator<T> iterator = iterator();
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+
+    /**
+     * Publisher delivering the collection in order as subscribers request items;
+     * every subscriber walks the collection independently
+     * @return Flow.Publisher
+     */
+    public Flow.Publisher<T> publisher() {
+        return subscriber -> PagePublisher.subscribe(this, subscriber);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    PageIterator<T> iterator() {
+        return new PageIterator<>(this);
+    }
+
+    CompletableFuture<List<T>> fetchAsync(int index) {
+        return CompletableFuture.supplyAsync(() -> page(index), FETCHER);
+    }
+
+    static ExecutorService executor() {
+        return FETCHER;
+    }
+}
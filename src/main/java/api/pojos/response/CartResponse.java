@@ -1,38 +1,37 @@
 package api.pojos.response;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Singular;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.util.List;
 
 /**
  * Cart Response POJO
- * Maps the API response for cart endpoints
+ * Maps the API response for cart endpoints; immutable, so instances can be shared
  * 
  */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class CartResponse {
     
-    private Integer id;
-    private Integer userId;
-    private String date;
-    private List<ProductItem> products;
+    Integer id;
+    Integer userId;
+    String date;
+    @Singular(ignoreNullCollections = true)
+    List<ProductItem> products;
     
-    @Data
-    @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
+    @Value
+    @Builder(toBuilder = true)
+    @Jacksonized
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class ProductItem {
-        private Integer productId;
-        private Integer quantity;
+        Integer productId;
+        Integer quantity;
     }
 }
 
@@ -1,39 +1,36 @@
 package api.pojos.response;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * Product Response POJO
- * Maps the API response for product endpoints
+ * Maps the API response for product endpoints; immutable, so instances can be shared
  * 
  */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class ProductResponse {
     
-    private Integer id;
-    private String title;
-    private Double price;
-    private String description;
-    private String category;
-    private String image;
-    private RatingResponse rating;
+    Integer id;
+    String title;
+    Double price;
+    String description;
+    String category;
+    String image;
+    RatingResponse rating;
     
-    @Data
-    @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
+    @Value
+    @Builder(toBuilder = true)
+    @Jacksonized
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class RatingResponse {
-        private Double rate;
-        private Integer count;
+        Double rate;
+        Integer count;
     }
 }
 
@@ -1,62 +1,57 @@
 package api.pojos.response;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * User Response POJO
- * Maps the API response for user endpoints
+ * Maps the API response for user endpoints; immutable, so instances can be shared
  * 
  */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class UserResponse {
     
-    private Integer id;
-    private String email;
-    private String username;
-    private String password;
-    private NameResponse name;
-    private AddressResponse address;
-    private String phone;
+    Integer id;
+    String email;
+    String username;
+    String password;
+    NameResponse name;
+    AddressResponse address;
+    String phone;
     
-    @Data
-    @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
+    @Value
+    @Builder(toBuilder = true)
+    @Jacksonized
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class NameResponse {
-        private String firstname;
-        private String lastname;
+        String firstname;
+        String lastname;
     }
     
-    @Data
-    @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
+    @Value
+    @Builder(toBuilder = true)
+    @Jacksonized
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class AddressResponse {
-        private String city;
-        private String street;
-        private Integer number;
-        private String zipcode;
-        private GeolocationResponse geolocation;
+        String city;
+        String street;
+        Integer number;
+        String zipcode;
+        GeolocationResponse geolocation;
     }
     
-    @Data
-    @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
+    @Value
+    @Builder(toBuilder = true)
+    @Jacksonized
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class GeolocationResponse {
-        private String lat;
-        private String lng;
+        String lat;
+        String lng;
     }
 }
 
@@ -0,0 +1,267 @@
+package api.pricing;
+
+import api.bulk.BulkItem;
+import api.bulk.BulkResult;
+import api.bulk.BulkRunner;
+import api.endpoints.ProductsAPI;
+import api.pojos.response.CartResponse;
+import api.pojos.response.ProductResponse;
+import api.utils.JsonUtils;
+import api.utils.ThreadUtils;
+import api.utils.collections.IntDoubleHashMap;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Cart totals joined against a cached product price table
+ * The full catalogue is loaded once and reloaded in the background; the price table
+ * (an IntDoubleHashMap keyed by productId) is replaced as a whole, so pricing threads
+ * read it without locks. Products missing from the table are collected across all
+ * carts of a call and fetched once each, pipelined through BulkRunner, before any cart
+ * is priced. Large snapshots are priced on all cores.
+ *
+ * <pre>
+ * try (CartPricingService pricing = CartPricingService.start(Duration.ofMinutes(5))) {
+ *     PricingResult result = pricing.price(carts);
+ * }
+ * </pre>
+ *
+ */
+public class CartPricingService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CartPricingService.class);
+
+    public static final int DEFAULT_MISS_WINDOW = 16;
+    /** Below this many carts a parallel stream costs more than it saves */
+    private static final int PARALLEL_THRESHOLD = 1_000;
+    /** Stored for products the API does not know, so they are not fetched again until the next reload */
+    private static final double UNKNOWN = Double.NaN;
+
+    private final Supplier<Response> catalog;
+    private final IntFunction<Response> product;
+    private final AtomicReference<IntDoubleHashMap> prices = new AtomicReference<>(new IntDoubleHashMap());
+    private final ScheduledExecutorService refresher;
+    private int missWindow = DEFAULT_MISS_WINDOW;
+
+    /**
+     * Load the catalogue and reload it in the background
+     * @param catalog Request returning every product
+     * @param product Request returning one product by ID
+     * @param refreshInterval Delay between reloads, or null to load only once
+     */
+    public CartPricingService(Supplier<Response> catalog, IntFunction<Response> product, Duration refreshInterval) {
+        this.catalog = catalog;
+        this.product = product;
+        refresh();
+        if (refreshInterval != null) {
+            long delayMillis = refreshInterval.toMillis();
+            refresher = Executors.newSingleThreadScheduledExecutor(ThreadUtils.daemonThreadFactory("price-refresh-"));
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, delayMillis, delayMillis, TimeUnit.MILLISECONDS);
+        } else {
+            refresher = null;
+        }
+    }
+
+    /**
+     * Pricing service over the products endpoints
+     * @param refreshInterval Delay between catalogue reloads, or null to load only once
+     * @return CartPricingService
+     */
+    public static CartPricingService start(Duration refreshInterval) {
+        return new CartPricingService(ProductsAPI::getProductCatalog, ProductsAPI::getProductById, refreshInterval);
+    }
+
+    /**
+     * Maximum product requests in flight while resolving misses
+     * @param size Window size
+     * @return this service
+     */
+    public CartPricingService missWindow(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Window must be at least 1: " + size);
+        }
+        this.missWindow = size;
+        return this;
+    }
+
+    /**
+     * Reload the whole catalogue now, replacing the price table
+     */
+    public void refresh() {
+        Response response = catalog.get();
+        if (response.getStatusCode() != 200) {
+            throw new RuntimeException("Failed to load product catalogue: HTTP " + response.getStatusCode());
+        }
+        ProductResponse[] products = JsonUtils.fromResponse(response, ProductResponse[].class);
+        IntDoubleHashMap table = new IntDoubleHashMap(products.length);
+        for (ProductResponse product : products) {
+            if (product.getId() != null) {
+                table.put(product.getId(), product.getPrice() != null ? product.getPrice() : UNKNOWN);
+            }
+        }
+        prices.set(table);
+        log.debug("Price table loaded: {} product(s)", table.size());
+    }
+
+    /**
+     * Cached price of a product
+     * @param productId Product ID
+     * @return Price, or NaN when the product is not cached or has no price
+     */
+    public double priceOf(int productId) {
+        return prices.get().get(productId, UNKNOWN);
+    }
+
+    public int cachedProducts() {
+        return prices.get().size();
+    }
+
+    /**
+     * Price one cart, fetching its uncached products first
+     * @param cart Cart
+     * @return PricedCart
+     */
+    public PricedCart price(CartResponse cart) {
+        IntDoubleHashMap table = prices.get();
+        int[] missing = missingProducts(List.of(cart), table);
+        return price(cart, missing.length > 0 ? resolve(missing) : table);
+    }
+
+    /**
+     * Price every cart, fetching all uncached products in one pipelined batch first
+     * @param carts Carts
+     * @return PricingResult with the carts in input order
+     */
+    public PricingResult price(Collection<CartResponse> carts) {
+        long start = System.nanoTime();
+        IntDoubleHashMap table = prices.get();
+        int[] missing = missingProducts(carts, table);
+        if (missing.length > 0) {
+            // Price from the merged table: a reload replacing prices meanwhile would drop the resolved products
+            table = resolve(missing);
+        }
+        long resolvedAt = System.nanoTime();
+
+        IntDoubleHashMap pricingTable = table;
+        Stream<CartResponse> stream = carts.size() >= PARALLEL_THRESHOLD ? carts.parallelStream() : carts.stream();
+        List<PricedCart> priced = stream.map(cart -> price(cart, pricingTable)).collect(Collectors.toList());
+        double total = 0;
+        int unpriced = 0;
+        for (PricedCart cart : priced) {
+            total += cart.getTotal();
+            unpriced += cart.getUnpricedProductIds().size();
+        }
+        long pricedAt = System.nanoTime();
+
+        return PricingResult.builder()
+                .carts(priced)
+                .total(total)
+                .unpricedItems(unpriced)
+                .resolvedMisses(missing.length)
+                .resolveMillis((resolvedAt - start) / 1_000_000)
+                .priceMillis((pricedAt - resolvedAt) / 1_000_000)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private static PricedCart price(CartResponse cart, IntDoubleHashMap table) {
+        List<CartResponse.ProductItem> items = cart.getProducts() != null ? cart.getProducts() : List.of();
+        double total = 0;
+        int quantity = 0;
+        List<Integer> unpriced = List.of();
+        for (CartResponse.ProductItem item : items) {
+            int itemQuantity = item.getQuantity() != null ? item.getQuantity() : 0;
+            double price = item.getProductId() != null ? table.get(item.getProductId(), UNKNOWN) : UNKNOWN;
+            quantity += itemQuantity;
+            if (Double.isNaN(price)) {
+                if (unpriced.isEmpty()) {
+                    unpriced = new ArrayList<>();
+                }
+                unpriced.add(item.getProductId());
+            } else {
+                total += price * itemQuantity;
+            }
+        }
+        return PricedCart.builder()
+                .cartId(cart.getId())
+                .userId(cart.getUserId())
+                .itemCount(items.size())
+                .quantity(quantity)
+                .total(total)
+                .unpricedProductIds(unpriced)
+                .build();
+    }
+
+    /**
+     * Distinct products of the carts that the table does not have
+     */
+    private static int[] missingProducts(Collection<CartResponse> carts, IntDoubleHashMap table) {
+        return carts.stream()
+                .map(CartResponse::getProducts)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .map(CartResponse.ProductItem::getProductId)
+                .filter(id -> id != null && !table.containsKey(id))
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * Fetch the missing products, each once, and merge them into the shared table
+     * @return Table containing the fetched products
+     */
+    private IntDoubleHashMap resolve(int[] missing) {
+        BulkResult<ProductResponse> fetched = BulkRunner.<Integer, ProductResponse>of(product::apply, ProductResponse.class)
+                .window(missWindow)
+                .run(IntStream.of(missing).boxed().collect(Collectors.toList()));
+        IntDoubleHashMap resolved = new IntDoubleHashMap(missing.length);
+        for (BulkItem<ProductResponse> item : fetched.getItems()) {
+            int productId = missing[item.getIndex()];
+            if (item.isSuccess() && item.getValue() != null && item.getValue().getPrice() != null) {
+                resolved.put(productId, item.getValue().getPrice());
+            } else if (item.getStatusCode() == 200 || item.getStatusCode() == 404) {
+                // The API answers unknown IDs with an empty 200; anything else is transient and retried next call
+                resolved.put(productId, UNKNOWN);
+            }
+        }
+        IntDoubleHashMap merged = prices.updateAndGet(current -> {
+            IntDoubleHashMap copy = new IntDoubleHashMap(current);
+            copy.putAll(resolved);
+            return copy;
+        });
+        log.info("Resolved {} price miss(es), {} failed", missing.length, fetched.getFailed());
+        return merged;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Keep pricing from the previous table until a reload succeeds
+            log.warn("Price table reload failed: {}", e.toString());
+        }
+    }
+}
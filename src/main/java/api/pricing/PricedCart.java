@@ -0,0 +1,31 @@
+package api.pricing;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Priced Cart value object
+ * Total of one cart joined against the product price cache
+ *
+ */
+@Value
+@Builder
+public class PricedCart {
+
+    Integer cartId;
+    Integer userId;
+    /** Number of product lines */
+    int itemCount;
+    /** Sum of the line quantities */
+    int quantity;
+    /** Sum of price * quantity over the priced lines */
+    double total;
+    /** Products of lines without a known price, left out of the total */
+    List<Integer> unpricedProductIds;
+
+    public boolean isFullyPriced() {
+        return unpricedProductIds.isEmpty();
+    }
+}
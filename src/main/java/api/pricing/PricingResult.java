@@ -0,0 +1,25 @@
+package api.pricing;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Pricing Result value object
+ * Priced carts in input order, with totals and timings of one pricing run
+ *
+ */
+@Value
+@Builder
+public class PricingResult {
+
+    List<PricedCart> carts;
+    double total;
+    /** Cart lines without a known price */
+    int unpricedItems;
+    /** Products fetched individually because the cache did not have them */
+    int resolvedMisses;
+    long resolveMillis;
+    long priceMillis;
+}
@@ -0,0 +1,110 @@
+package api.retry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cap on the total number of retries in a run
+ * Every retry takes one token; once the limit is reached further retries are
+ * denied and the failing response is returned as is, so an outage does not
+ * multiply the load on the system under test.
+ *
+ */
+public class RetryBudget {
+
+    private static final RetryBudget GLOBAL = new RetryBudget(Integer.MAX_VALUE);
+
+    private volatile int limit;
+    private final AtomicInteger used = new AtomicInteger();
+    private final LongAdder denied = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public RetryBudget(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Budget shared by every retrying client in this JVM, sized from retry.budget
+     * @return Global RetryBudget
+     */
+    public static RetryBudget global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Take a token for one retry
+     * @return true when the retry may proceed
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = used.get();
+            if (current >= limit) {
+                denied.increment();
+                return false;
+            }
+            if (used.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Count a call that succeeded after at least one retry
+     */
+    public void recordRecovered() {
+        recovered.increment();
+    }
+
+    /**
+     * Count a call that still failed when retries or budget ran out
+     */
+    public void recordExhausted() {
+        exhausted.increment();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public int getUsed() {
+        return used.get();
+    }
+
+    public long getDenied() {
+        return denied.sum();
+    }
+
+    /**
+     * Totals for reports
+     * @return RetrySummary, or null when nothing was retried or denied
+     */
+    public RetrySummary summary() {
+        int retries = used.get();
+        long deniedRetries = denied.sum();
+        if (retries == 0 && deniedRetries == 0) {
+            return null;
+        }
+        return RetrySummary.builder()
+                .budget(limit)
+                .retries(retries)
+                .denied(deniedRetries)
+                .recovered(recovered.sum())
+                .exhausted(exhausted.sum())
+                .build();
+    }
+
+    /**
+     * Return all tokens and clear the counters
+     */
+    public void reset() {
+        used.set(0);
+        denied.reset();
+        recovered.reset();
+        exhausted.reset();
+    }
+}
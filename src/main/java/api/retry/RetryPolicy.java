@@ -0,0 +1,108 @@
+package api.retry;
+
+import lombok.Builder;
+import lombok.Value;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry Policy value object
+ * Decides which calls may be retried and how long to back off between attempts.
+ * Only idempotent methods are retried, and only on transient statuses (408, 425, 429,
+ * 5xx gateway/availability errors), connection failures and connect or socket timeouts;
+ * DNS and TLS failures and interrupts of the calling thread are given up on immediately. Delays use decorrelated jitter,
+ * min(maxDelay, random(baseDelay, previousDelay * 3)), raised to any Retry-After.
+ *
+ */
+@Value
+@Builder
+public class RetryPolicy {
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE");
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(408, 425, 429, 500, 502, 503, 504);
+
+    /** Retries after the first attempt; 0 disables retrying */
+    int maxRetries;
+    long baseDelayMillis;
+    long maxDelayMillis;
+
+    /**
+     * Whether a request with this method can be sent again without side effects
+     * @param method HTTP method
+     * @return true for GET, HEAD, OPTIONS, PUT, DELETE and TRACE
+     */
+    public boolean isIdempotent(String method) {
+        return IDEMPOTENT_METHODS.contains(method);
+    }
+
+    /**
+     * Whether a response status is worth retrying
+     * @param statusCode HTTP status
+     * @return true for transient statuses
+     */
+    public boolean isRetryable(int statusCode) {
+        return RETRYABLE_STATUSES.contains(statusCode);
+    }
+
+    /**
+     * Whether a transport failure is worth retrying
+     * @param failure Exception thrown by the HTTP client
+     * @return false for unknown hosts, TLS failures and interrupts of the calling thread
+     */
+    public boolean isRetryable(IOException failure) {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        // Timeouts are InterruptedIOExceptions too, but only a genuine interrupt should end the call
+        if (failure instanceof SocketTimeoutException || failure instanceof ConnectTimeoutException) {
+            return true;
+        }
+        return !(failure instanceof UnknownHostException)
+                && !(failure instanceof SSLException)
+                && !(failure instanceof InterruptedIOException);
+    }
+
+    /**
+     * Delay before the next attempt
+     * @param previousDelayMillis Delay before the previous attempt, or baseDelayMillis before the first retry
+     * @param retryAfterMillis Delay requested by the server, or 0
+     * @return Delay in milliseconds
+     */
+    public long nextDelay(long previousDelayMillis, long retryAfterMillis) {
+        long upper = Math.max(baseDelayMillis, previousDelayMillis * 3);
+        long jittered = upper > baseDelayMillis
+                ? ThreadLocalRandom.current().nextLong(baseDelayMillis, upper + 1)
+                : baseDelayMillis;
+        return Math.min(maxDelayMillis, Math.max(jittered, retryAfterMillis));
+    }
+
+    /**
+     * Delay requested by a Retry-After header, in seconds or as an HTTP date
+     * @param response HTTP response
+     * @return Delay in milliseconds, 0 when absent or unparseable
+     */
+    public static long retryAfterMillis(HttpResponse response) {
+        Header header = response.getFirstHeader("Retry-After");
+        if (header == null || header.getValue() == null) {
+            return 0;
+        }
+        String value = header.getValue().trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        } catch (NumberFormatException e) {
+            Date date = DateUtils.parseDate(value);
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : 0;
+        }
+    }
+}
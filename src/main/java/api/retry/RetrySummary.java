@@ -0,0 +1,28 @@
+package api.retry;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Retry Summary POJO
+ * Run-wide retry totals written into the latency and load reports
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetrySummary {
+
+    /** Maximum retries allowed in the run (retry.budget) */
+    private Integer budget;
+    private Integer retries;
+    /** Retries refused because the budget was spent */
+    private Long denied;
+    /** Calls that succeeded after retrying */
+    private Long recovered;
+    /** Calls that still failed when retries or budget ran out */
+    private Long exhausted;
+}
@@ -0,0 +1,171 @@
+package api.retry;
+
+import org.apache.http.ConnectionReuseStrategy;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.AuthenticationStrategy;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.RedirectStrategy;
+import org.apache.http.client.RequestDirector;
+import org.apache.http.client.UserTokenHandler;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpProcessor;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.function.Supplier;
+
+/**
+ * HttpClient that retries idempotent calls according to a RetryPolicy
+ * Retries happen below RestAssured, so filters, logging and latency timing see one
+ * call whose duration includes the backoff. The body of every discarded response is
+ * consumed so pooled connections are released. The outcome of the last call made on
+ * the current thread is kept for the latency filter (lastCallRetries/lastCallExhausted).
+ *
+ */
+@SuppressWarnings("deprecation") // RestAssured is built on the HttpClient 4 AbstractHttpClient API
+public class RetryingHttpClient extends DefaultHttpClient {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryingHttpClient.class);
+
+    /** Retries and exhausted flag (0/1) of the last call on this thread */
+    private static final ThreadLocal<int[]> LAST_CALL = ThreadLocal.withInitial(() -> new int[2]);
+
+    private final RetryPolicy policy;
+    private final RetryBudget budget;
+
+    /**
+     * @param connections Connection manager, or null for a single-connection client
+     * @param policy RetryPolicy
+     * @param budget RetryBudget shared across clients
+     */
+    public RetryingHttpClient(ClientConnectionManager connections, RetryPolicy policy, RetryBudget budget) {
+        super(connections);
+        this.policy = policy;
+        this.budget = budget;
+        // The policy owns retrying; HttpClient's own silent IO retries would bypass the budget
+        setHttpRequestRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
+    }
+
+    /**
+     * Retries made by the last call on the current thread
+     * @return Retry count
+     */
+    public static int lastCallRetries() {
+        return LAST_CALL.get()[0];
+    }
+
+    /**
+     * Whether the last call on the current thread still failed when retries or budget ran out
+     * @return true when exhausted
+     */
+    public static boolean lastCallExhausted() {
+        return LAST_CALL.get()[1] != 0;
+    }
+
+    /**
+     * Forget the outcome of the last call on the current thread
+     */
+    public static void clearLastCall() {
+        int[] outcome = LAST_CALL.get();
+        outcome[0] = 0;
+        outcome[1] = 0;
+    }
+
+    @Override
+    protected RequestDirector createClientRequestDirector(HttpRequestExecutor requestExec,
+                                                          ClientConnectionManager conman,
+                                                          ConnectionReuseStrategy reustrat,
+                                                          ConnectionKeepAliveStrategy kastrat,
+                                                          HttpRoutePlanner rouplan,
+                                                          HttpProcessor httpProcessor,
+                                                          HttpRequestRetryHandler retryHandler,
+                                                          RedirectStrategy redirectStrategy,
+                                                          AuthenticationStrategy targetAuthStrategy,
+                                                          AuthenticationStrategy proxyAuthStrategy,
+                                                          UserTokenHandler userTokenHandler,
+                                                          HttpParams params) {
+        // A director releases its connection state once a response is consumed, so each attempt gets its own
+        Supplier<RequestDirector> directors = () -> super.createClientRequestDirector(requestExec, conman, reustrat,
+                kastrat, rouplan, httpProcessor, retryHandler, redirectStrategy, targetAuthStrategy,
+                proxyAuthStrategy, userTokenHandler, params);
+        return (target, request, context) -> execute(directors, target, request, context);
+    }
+
+    private HttpResponse execute(Supplier<RequestDirector> directors, HttpHost target, HttpRequest request,
+                                 HttpContext context) throws HttpException, IOException {
+        clearLastCall();
+        String method = request.getRequestLine().getMethod();
+        if (!policy.isIdempotent(method) || !isRepeatable(request)) {
+            return directors.get().execute(target, request, context);
+        }
+
+        int[] outcome = LAST_CALL.get();
+        long delay = policy.getBaseDelayMillis();
+        for (int retries = 0; ; retries++) {
+            HttpResponse response = null;
+            IOException failure = null;
+            try {
+                response = directors.get().execute(target, request, context);
+            } catch (IOException e) {
+                if (!policy.isRetryable(e)) {
+                    throw e;
+                }
+                failure = e;
+            }
+            outcome[0] = retries;
+            if (response != null && !policy.isRetryable(response.getStatusLine().getStatusCode())) {
+                if (retries > 0) {
+                    budget.recordRecovered();
+                }
+                return response;
+            }
+            if (retries >= policy.getMaxRetries() || !budget.tryAcquire()) {
+                outcome[1] = 1;
+                budget.recordExhausted();
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+
+            long retryAfter = 0;
+            if (response != null) {
+                retryAfter = RetryPolicy.retryAfterMillis(response);
+                EntityUtils.consumeQuietly(response.getEntity());
+            }
+            delay = policy.nextDelay(delay, retryAfter);
+            log.debug("Retrying {} {} in {} ms ({}/{}) after {}", method, request.getRequestLine().getUri(), delay,
+                    retries + 1, policy.getMaxRetries(),
+                    failure != null ? failure.toString() : response.getStatusLine());
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while backing off before a retry");
+            }
+        }
+    }
+
+    private static boolean isRepeatable(HttpRequest request) {
+        if (!(request instanceof HttpEntityEnclosingRequest)) {
+            return true;
+        }
+        HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+        return entity == null || entity.isRepeatable();
+    }
+}
@@ -0,0 +1,156 @@
+package api.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Duration-aware TestNG scheduler
+ * Records how long every test method takes and keeps an average across runs in
+ * build/test-durations.json. Before the next run the methods of each priority level are
+ * ordered longest-first, so with parallel="methods" the worker threads pick them up as in
+ * longest-processing-time list scheduling and the suite approaches total work / threads.
+ *
+ * A method's rank is its own duration plus the longest chain of methods that depend on it,
+ * so dependency chains start early. priority is kept and only methods of equal priority
+ * are reordered: later tests read data set up by earlier ones. TestNG itself only orders
+ * by priority, it does not wait between levels; PriorityLevelExecutorFactory (the Gradle
+ * default) and VirtualThreadExecutorFactory make every level wait until the previous one
+ * has finished. dependsOnMethods/dependsOnGroups are still enforced by TestNG.
+ *
+ */
+public class DurationAwareScheduler implements IMethodInterceptor, IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(DurationAwareScheduler.class);
+
+    private final Map<String, Double> observed = new ConcurrentHashMap<>();
+    private volatile DurationHistory history = new DurationHistory();
+    private long suiteStartMillis;
+
+    @Override
+    public void onStart(ISuite suite) {
+        history = DurationHistory.load(DurationHistory.fileFromProperties());
+        observed.clear();
+        suiteStartMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (observed.isEmpty()) {
+            return;
+        }
+        double work = observed.values().stream().mapToDouble(Double::doubleValue).sum();
+        int threads = Math.max(1, suite.getXmlSuite().getThreadCount());
+        log.info("Suite took {} ms for {} ms of test work on {} thread(s); ideal {} ms",
+                System.currentTimeMillis() - suiteStartMillis, Math.round(work), threads, Math.round(work / threads));
+
+        String file = DurationHistory.fileFromProperties();
+        history.update(observed);
+        history.writeTo(file);
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (history.isEmpty()) {
+            return methods;
+        }
+        Map<ITestNGMethod, Double> ranks = rank(methods);
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        // TestNG orders by the intercepted position before priority, so the levels must be kept here
+        ordered.sort(Comparator.comparingInt((IMethodInstance instance) -> instance.getMethod().getPriority())
+                .thenComparing(instance -> ranks.get(instance.getMethod()), Comparator.reverseOrder()));
+
+        double work = methods.stream()
+                .mapToDouble(instance -> expectedMillis(instance.getMethod()))
+                .sum();
+        double criticalPath = ranks.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        int threads = Math.max(1, context.getSuite().getXmlSuite().getThreadCount());
+        log.info("Scheduling {} method(s) of '{}' longest-first per priority: {} ms of work, critical path {} ms, best case {} ms on {} thread(s)",
+                methods.size(), context.getName(), Math.round(work), Math.round(criticalPath),
+                Math.round(Math.max(criticalPath, work / threads)), threads);
+        return ordered;
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || testResult.getStatus() == ITestResult.SKIP) {
+            return;
+        }
+        observed.merge(testResult.getMethod().getQualifiedName(),
+                (double) (testResult.getEndMillis() - testResult.getStartMillis()), Double::sum);
+    }
+
+    /**
+     * All invocations of a method run on one worker, so the whole count is expected work
+     */
+    private double expectedMillis(ITestNGMethod method) {
+        return history.expectedMillis(method.getQualifiedName());
+    }
+
+    /**
+     * Own duration plus the longest chain of dependants (upward rank)
+     */
+    private Map<ITestNGMethod, Double> rank(List<IMethodInstance> methods) {
+        Map<String, ITestNGMethod> byName = new HashMap<>();
+        Map<String, List<ITestNGMethod>> byGroup = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            byName.put(method.getQualifiedName(), method);
+            for (String group : method.getGroups()) {
+                byGroup.computeIfAbsent(group, key -> new ArrayList<>()).add(method);
+            }
+        }
+
+        Map<ITestNGMethod, List<ITestNGMethod>> dependants = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            List<ITestNGMethod> prerequisites = new ArrayList<>();
+            Arrays.stream(method.getMethodsDependedUpon())
+                    .map(byName::get)
+                    .filter(Objects::nonNull)
+                    .forEach(prerequisites::add);
+            Arrays.stream(method.getGroupsDependedUpon())
+                    .forEach(group -> prerequisites.addAll(byGroup.getOrDefault(group, List.of())));
+            prerequisites.forEach(prerequisite ->
+                    dependants.computeIfAbsent(prerequisite, key -> new ArrayList<>()).add(method));
+        }
+
+        Map<ITestNGMethod, Double> ranks = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            rank(instance.getMethod(), dependants, ranks);
+        }
+        return ranks;
+    }
+
+    private double rank(ITestNGMethod method, Map<ITestNGMethod, List<ITestNGMethod>> dependants,
+                        Map<ITestNGMethod, Double> ranks) {
+        Double known = ranks.get(method);
+        if (known != null) {
+            return known;
+        }
+        double longestDependant = 0;
+        for (ITestNGMethod dependant : dependants.getOrDefault(method, List.of())) {
+            longestDependant = Math.max(longestDependant, rank(dependant, dependants, ranks));
+        }
+        double rank = expectedMillis(method) + longestDependant;
+        ranks.put(method, rank);
+        return rank;
+    }
+}
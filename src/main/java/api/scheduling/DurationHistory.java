@@ -0,0 +1,132 @@
+package api.scheduling;
+
+import api.utils.JsonUtils;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Duration History POJO
+ * Exponentially weighted moving average of each test method's runtime across earlier runs,
+ * keyed by qualified method name and persisted as JSON
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DurationHistory {
+
+    private static final Logger log = LoggerFactory.getLogger(DurationHistory.class);
+
+    public static final String FILE_PROPERTY = "test.durations.file";
+    private static final String DEFAULT_FILE = "build/test-durations.json";
+
+    /** Weight of the newest run; older runs decay geometrically */
+    private static final double ALPHA = 0.3;
+
+    private String updatedAt;
+    @Builder.Default
+    private Map<String, MethodDuration> methods = new TreeMap<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MethodDuration {
+        private Double millis;
+        private Integer runs;
+    }
+
+    /**
+     * History file from test.durations.file
+     * @return History file path
+     */
+    public static String fileFromProperties() {
+        return System.getProperty(FILE_PROPERTY, DEFAULT_FILE);
+    }
+
+    /**
+     * Load a history file; a missing or unreadable file yields an empty history
+     * @param filePath History file path
+     * @return DurationHistory
+     */
+    public static DurationHistory load(String filePath) {
+        if (!new File(filePath).isFile()) {
+            return new DurationHistory();
+        }
+        try {
+            DurationHistory history = JsonUtils.fromFile(filePath, DurationHistory.class);
+            history.setMethods(new TreeMap<>(history.getMethods()));
+            return history;
+        } catch (RuntimeException e) {
+            log.warn("Ignoring unreadable test duration history {}: {}", filePath, e.getMessage());
+            return new DurationHistory();
+        }
+    }
+
+    /**
+     * Write the history as JSON, creating parent directories
+     * @param filePath Target file path
+     */
+    public void writeTo(String filePath) {
+        File parent = new File(filePath).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        JsonUtils.toFile(this, filePath);
+    }
+
+    /**
+     * Fold one run's observed durations into the averages
+     * @param observed Observed milliseconds per qualified method name
+     */
+    public void update(Map<String, Double> observed) {
+        observed.forEach((method, millis) -> methods.merge(method,
+                MethodDuration.builder().millis(millis).runs(1).build(),
+                (old, latest) -> MethodDuration.builder()
+                        .millis(ALPHA * latest.getMillis() + (1 - ALPHA) * old.getMillis())
+                        .runs(old.getRuns() + 1)
+                        .build()));
+        updatedAt = Instant.now().toString();
+    }
+
+    /**
+     * Take over entries another shard has updated more often.
+     * Shards start from the same history and each only updates its own methods,
+     * so the entry with more runs is the newer one.
+     * @param other History written by another shard
+     */
+    public void merge(DurationHistory other) {
+        other.getMethods().forEach((method, duration) -> methods.merge(method, duration,
+                (mine, theirs) -> theirs.getRuns() > mine.getRuns() ? theirs : mine));
+        updatedAt = Instant.now().toString();
+    }
+
+    /**
+     * Expected duration of a method
+     * @param method Qualified method name
+     * @return Expected milliseconds, or the mean of all known methods when it has no history
+     */
+    public double expectedMillis(String method) {
+        MethodDuration duration = methods.get(method);
+        if (duration != null) {
+            return duration.getMillis();
+        }
+        return methods.values().stream().mapToDouble(MethodDuration::getMillis).average().orElse(0);
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return methods.isEmpty();
+    }
+}
@@ -0,0 +1,27 @@
+package api.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges the duration histories written by every shard into one file
+ * so the next sharded run balances on complete timings. Run with:
+ * ./gradlew mergeTestDurations -PdurationFiles=shard-0/test-durations.json,shard-1/test-durations.json
+ *
+ */
+public class DurationHistoryMerger {
+
+    private static final Logger log = LoggerFactory.getLogger(DurationHistoryMerger.class);
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: DurationHistoryMerger <output-file> <shard-file>...");
+        }
+        DurationHistory merged = new DurationHistory();
+        for (int i = 1; i < args.length; i++) {
+            merged.merge(DurationHistory.load(args[i]));
+        }
+        merged.writeTo(args[0]);
+        log.info("Merged {} duration histories ({} methods) into {}", args.length - 1, merged.getMethods().size(), args[0]);
+    }
+}
@@ -0,0 +1,46 @@
+package api.scheduling;
+
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.DefaultThreadPoolExecutorFactory;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestNG executor factory running priority levels one after another
+ * Keeps TestNG's platform thread pool but gives it a PriorityLevelGraph, so with
+ * parallel="methods" the methods of one priority level run in parallel and the next
+ * level starts only when all of them have finished. The Gradle test task uses it unless
+ * VirtualThreadExecutorFactory (which applies the same barriers) is selected.
+ *
+ */
+public class PriorityLevelExecutorFactory implements IExecutorFactory {
+
+    private final IExecutorFactory defaults = new DefaultThreadPoolExecutorFactory();
+
+    @Override
+    public ITestNGThreadPoolExecutor newSuiteExecutor(String name, IDynamicGraph<ISuite> graph,
+                                                      IThreadWorkerFactory<ISuite> factory,
+                                                      int corePoolSize, int maximumPoolSize, long keepAliveTime,
+                                                      TimeUnit unit, BlockingQueue<Runnable> queue,
+                                                      Comparator<ISuite> comparator) {
+        return defaults.newSuiteExecutor(name, graph, factory, corePoolSize, maximumPoolSize,
+                keepAliveTime, unit, queue, comparator);
+    }
+
+    @Override
+    public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+                                                           IThreadWorkerFactory<ITestNGMethod> factory,
+                                                           int corePoolSize, int maximumPoolSize, long keepAliveTime,
+                                                           TimeUnit unit, BlockingQueue<Runnable> queue,
+                                                           Comparator<ITestNGMethod> comparator) {
+        return defaults.newTestMethodExecutor(name, new PriorityLevelGraph(graph), factory, corePoolSize,
+                maximumPoolSize, keepAliveTime, unit, queue, comparator);
+    }
+}
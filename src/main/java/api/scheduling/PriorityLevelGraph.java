@@ -0,0 +1,109 @@
+package api.scheduling;
+
+import org.testng.IDynamicGraph;
+import org.testng.IExecutionVisualiser;
+import org.testng.ITestNGMethod;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Method graph that turns priority levels into barriers
+ * TestNG's graph only holds dependsOnMethods/dependsOnGroups edges, so with
+ * parallel="methods" a higher priority can start while a lower one is still running.
+ * This view hands out a free method only when no free or running method has a lower
+ * priority, so each level starts after every method of the levels before it has
+ * finished (all invocations and data-provider rows included). Methods waiting on a
+ * dependency do not hold a level back: one that depends on a later level lets that
+ * level run first instead of deadlocking. All other calls go to the wrapped graph.
+ *
+ */
+final class PriorityLevelGraph implements IDynamicGraph<ITestNGMethod> {
+
+    private final IDynamicGraph<ITestNGMethod> graph;
+
+    PriorityLevelGraph(IDynamicGraph<ITestNGMethod> graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public List<ITestNGMethod> getFreeNodes() {
+        List<ITestNGMethod> free = graph.getFreeNodes();
+        if (free.isEmpty()) {
+            return free;
+        }
+        int level = Integer.MAX_VALUE;
+        for (ITestNGMethod method : free) {
+            level = Math.min(level, method.getPriority());
+        }
+        for (ITestNGMethod method : graph.getNodesWithStatus(Status.RUNNING)) {
+            level = Math.min(level, method.getPriority());
+        }
+        int current = level;
+        return free.stream()
+                .filter(method -> method.getPriority() <= current)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean addNode(ITestNGMethod node) {
+        return graph.addNode(node);
+    }
+
+    @Override
+    public void addEdge(int weight, ITestNGMethod from, ITestNGMethod to) {
+        graph.addEdge(weight, from, to);
+    }
+
+    @Override
+    public void setVisualisers(Set<IExecutionVisualiser> visualisers) {
+        graph.setVisualisers(visualisers);
+    }
+
+    @Override
+    public void addEdges(int weight, ITestNGMethod from, Iterable<ITestNGMethod> to) {
+        graph.addEdges(weight, from, to);
+    }
+
+    @Override
+    public List<ITestNGMethod> getUpstreamDependenciesFor(ITestNGMethod node) {
+        return graph.getUpstreamDependenciesFor(node);
+    }
+
+    @Override
+    public List<ITestNGMethod> getDependenciesFor(ITestNGMethod node) {
+        return graph.getDependenciesFor(node);
+    }
+
+    @Override
+    public void setStatus(Collection<ITestNGMethod> nodes, Status status) {
+        graph.setStatus(nodes, status);
+    }
+
+    @Override
+    public void setStatus(ITestNGMethod node, Status status) {
+        graph.setStatus(node, status);
+    }
+
+    @Override
+    public int getNodeCount() {
+        return graph.getNodeCount();
+    }
+
+    @Override
+    public int getNodeCountWithStatus(Status status) {
+        return graph.getNodeCountWithStatus(status);
+    }
+
+    @Override
+    public Set<ITestNGMethod> getNodesWithStatus(Status status) {
+        return graph.getNodesWithStatus(status);
+    }
+
+    @Override
+    public String toDot() {
+        return graph.toDot();
+    }
+}
@@ -0,0 +1,250 @@
+package api.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.TestNGException;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Splits a suite into balanced shards for parallel CI nodes
+ * With -Dshard.index (zero-based) and -Dshard.count set, every node computes the same
+ * assignment from the shared duration history and keeps only its own methods. Methods
+ * are packed greedily, longest first, onto the least loaded shard. Methods linked by
+ * dependsOnMethods or dependsOnGroups stay together on one shard.
+ * All nodes must see the same history file (test.durations.file), e.g. a cached CI artefact.
+ * Without history every method weighs the same, which still spreads them evenly by count.
+ *
+ */
+public class ShardSelector implements IAlterSuiteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSelector.class);
+
+    public static final String INDEX_PROPERTY = "shard.index";
+    public static final String COUNT_PROPERTY = "shard.count";
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int count = Integer.getInteger(COUNT_PROPERTY, 1);
+        int index = Integer.getInteger(INDEX_PROPERTY, 0);
+        if (count <= 1) {
+            return;
+        }
+        if (index < 0 || index >= count) {
+            throw new TestNGException("shard.index must be between 0 and " + (count - 1) + ", was " + index);
+        }
+
+        DurationHistory history = DurationHistory.load(DurationHistory.fileFromProperties());
+        for (XmlSuite suite : suites) {
+            shard(suite, index, count, history);
+        }
+    }
+
+    private void shard(XmlSuite suite, int index, int count, DurationHistory history) {
+        Map<String, TestMethod> methods = new TreeMap<>();
+        for (XmlTest test : suite.getTests()) {
+            if (!test.getXmlPackages().isEmpty()) {
+                throw new TestNGException("Sharding needs <class> entries; <packages> in test '" + test.getName()
+                        + "' cannot be split");
+            }
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                for (TestMethod method : testMethods(test, xmlClass)) {
+                    methods.put(method.key(), method);
+                }
+            }
+        }
+
+        Map<List<TestMethod>, Double> weights = new LinkedHashMap<>();
+        for (List<TestMethod> unit : units(methods)) {
+            // At least 1 ms per method, so methods without history still spread evenly by count
+            weights.put(unit, unit.stream()
+                    .mapToDouble(method -> Math.max(1, history.expectedMillis(method.qualifiedName)))
+                    .sum());
+        }
+        List<List<TestMethod>> heaviestFirst = new ArrayList<>(weights.keySet());
+        heaviestFirst.sort(Comparator.comparing(weights::get).reversed());
+
+        double[] loads = new double[count];
+        Map<String, Integer> assignment = new HashMap<>();
+        for (List<TestMethod> unit : heaviestFirst) {
+            double millis = weights.get(unit);
+            int shard = 0;
+            for (int i = 1; i < count; i++) {
+                if (loads[i] < loads[shard]) {
+                    shard = i;
+                }
+            }
+            loads[shard] += millis;
+            for (TestMethod method : unit) {
+                assignment.put(method.key(), shard);
+            }
+        }
+
+        int kept = 0;
+        for (XmlTest test : new ArrayList<>(suite.getTests())) {
+            for (XmlClass xmlClass : new ArrayList<>(test.getXmlClasses())) {
+                List<XmlInclude> includes = testMethods(test, xmlClass).stream()
+                        .filter(method -> assignment.get(method.key()) == index)
+                        .map(method -> new XmlInclude(method.name))
+                        .collect(Collectors.toList());
+                if (includes.isEmpty()) {
+                    test.getXmlClasses().remove(xmlClass);
+                } else {
+                    xmlClass.setIncludedMethods(includes);
+                    xmlClass.setExcludedMethods(new ArrayList<>());
+                    kept += includes.size();
+                }
+            }
+            if (test.getXmlClasses().isEmpty()) {
+                suite.getTests().remove(test);
+            }
+        }
+
+        log.info("Shard {}/{} of '{}': {} of {} method(s), expected {} ms (shard loads {})",
+                index, count, suite.getName(), kept, methods.size(), Math.round(loads[index]),
+                Arrays.stream(loads).mapToObj(load -> String.format(Locale.ROOT, "%.0f", load))
+                        .collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * Group methods that must run on the same shard, in name order
+     */
+    private List<List<TestMethod>> units(Map<String, TestMethod> methods) {
+        Map<String, String> parent = new HashMap<>();
+        methods.keySet().forEach(key -> parent.put(key, key));
+
+        Map<String, List<String>> byGroup = new HashMap<>();
+        methods.values().forEach(method -> method.groups.forEach(group ->
+                byGroup.computeIfAbsent(method.test + "/" + group, key -> new ArrayList<>()).add(method.key())));
+        for (TestMethod method : methods.values()) {
+            for (String dependency : method.dependsOnMethods) {
+                String target = method.test + "/" + (dependency.contains(".") ? dependency
+                        : method.className + "." + dependency);
+                if (parent.containsKey(target)) {
+                    union(parent, method.key(), target);
+                }
+            }
+            for (String group : method.dependsOnGroups) {
+                byGroup.getOrDefault(method.test + "/" + group, List.of())
+                        .forEach(member -> union(parent, method.key(), member));
+            }
+        }
+
+        Map<String, List<TestMethod>> units = new LinkedHashMap<>();
+        methods.forEach((key, method) -> units.computeIfAbsent(find(parent, key), root -> new ArrayList<>()).add(method));
+        return new ArrayList<>(units.values());
+    }
+
+    private static String find(Map<String, String> parent, String key) {
+        String root = key;
+        while (!parent.get(root).equals(root)) {
+            root = parent.get(root);
+        }
+        parent.put(key, root);
+        return root;
+    }
+
+    private static void union(Map<String, String> parent, String a, String b) {
+        String rootA = find(parent, a);
+        String rootB = find(parent, b);
+        if (!rootA.equals(rootB)) {
+            parent.put(rootA.compareTo(rootB) < 0 ? rootB : rootA, rootA.compareTo(rootB) < 0 ? rootA : rootB);
+        }
+    }
+
+    /**
+     * Test methods of a class entry, honouring existing include/exclude lists
+     */
+    private static List<TestMethod> testMethods(XmlTest test, XmlClass xmlClass) {
+        Class<?> type = xmlClass.getSupportClass();
+        Test classAnnotation = type.getAnnotation(Test.class);
+        Set<String> included = xmlClass.getIncludedMethods().stream()
+                .map(XmlInclude::getName)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<String> excluded = new TreeSet<>(xmlClass.getExcludedMethods());
+
+        Map<String, TestMethod> methods = new TreeMap<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                Test annotation = method.getAnnotation(Test.class);
+                boolean isTest = annotation != null
+                        || (classAnnotation != null && Modifier.isPublic(method.getModifiers())
+                        && !Modifier.isStatic(method.getModifiers()) && !isConfiguration(method));
+                String name = method.getName();
+                if (!isTest || methods.containsKey(name) || excluded.contains(name)
+                        || (!included.isEmpty() && !included.contains(name))) {
+                    continue;
+                }
+                Test effective = annotation != null ? annotation : classAnnotation;
+                methods.put(name, new TestMethod(test.getName(), type.getName(), name,
+                        mergeGroups(effective.groups(), classAnnotation != null ? classAnnotation.groups() : new String[0]),
+                        Arrays.asList(effective.dependsOnMethods()),
+                        Arrays.asList(effective.dependsOnGroups())));
+            }
+        }
+        return new ArrayList<>(methods.values());
+    }
+
+    private static boolean isConfiguration(Method method) {
+        return Arrays.stream(method.getAnnotations())
+                .map(annotation -> annotation.annotationType())
+                .filter(type -> type.getPackage().getName().equals("org.testng.annotations"))
+                .map(Class::getSimpleName)
+                .anyMatch(name -> name.startsWith("Before") || name.startsWith("After")
+                        || name.equals("DataProvider") || name.equals("Factory"));
+    }
+
+    private static List<String> mergeGroups(String[] first, String[] second) {
+        Set<String> groups = new TreeSet<>(Arrays.asList(first));
+        groups.addAll(Arrays.asList(second));
+        return new ArrayList<>(groups);
+    }
+
+    /**
+     * A test method as declared in the suite file
+     */
+    private static class TestMethod {
+
+        private final String test;
+        private final String className;
+        private final String name;
+        private final String qualifiedName;
+        private final List<String> groups;
+        private final List<String> dependsOnMethods;
+        private final List<String> dependsOnGroups;
+
+        TestMethod(String test, String className, String name, List<String> groups,
+                   List<String> dependsOnMethods, List<String> dependsOnGroups) {
+            this.test = test;
+            this.className = className;
+            this.name = name;
+            this.qualifiedName = className + "." + name;
+            this.groups = groups;
+            this.dependsOnMethods = dependsOnMethods;
+            this.dependsOnGroups = dependsOnGroups;
+        }
+
+        String key() {
+            return test + "/" + qualifiedName;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package api.scheduling;
+
+import api.utils.ThreadUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.DefaultThreadPoolExecutorFactory;
+import org.testng.internal.thread.graph.GraphThreadPoolExecutor;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestNG executor factory running parallel test methods on virtual threads
+ * Keeps TestNG's graph executor, so dependencies and the scheduler's ordering
+ * (longest-first within a priority level) still decide what runs next, and runs priority
+ * levels one after another like PriorityLevelExecutorFactory; only the worker threads
+ * change, and the worker limit is raised to -Dtest.virtual.threads (default: the suite's
+ * thread-count). Sequential invocationCount repeats and data-provider rows run on
+ * the virtual worker that picked the method up, but the pools TestNG creates itself for
+ * threadPoolSize and parallel data providers are not pluggable and stay on platform
+ * threads. Enabled through Gradle:
+ * ./gradlew test -Dtest.virtual.threads=200
+ * On runtimes before Java 21 the workers fall back to daemon platform threads.
+ *
+ */
+public class VirtualThreadExecutorFactory implements IExecutorFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadExecutorFactory.class);
+
+    public static final String MAX_CONCURRENCY_PROPERTY = "test.virtual.threads";
+
+    private final IExecutorFactory defaults = new DefaultThreadPoolExecutorFactory();
+
+    @Override
+    public ITestNGThreadPoolExecutor newSuiteExecutor(String name, IDynamicGraph<ISuite> graph,
+                                                      IThreadWorkerFactory<ISuite> factory,
+                                                      int corePoolSize, int maximumPoolSize, long keepAliveTime,
+                                                      TimeUnit unit, BlockingQueue<Runnable> queue,
+                                                      Comparator<ISuite> comparator) {
+        return defaults.newSuiteExecutor(name, graph, factory, corePoolSize, maximumPoolSize,
+                keepAliveTime, unit, queue, comparator);
+    }
+
+    @Override
+    public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+                                                           IThreadWorkerFactory<ITestNGMethod> factory,
+                                                           int corePoolSize, int maximumPoolSize, long keepAliveTime,
+                                                           TimeUnit unit, BlockingQueue<Runnable> queue,
+                                                           Comparator<ITestNGMethod> comparator) {
+        int limit = Math.max(1, Integer.getInteger(MAX_CONCURRENCY_PROPERTY, corePoolSize));
+        // The queue is unbounded, so the core size is the concurrency limit
+        GraphThreadPoolExecutor<ITestNGMethod> executor = new GraphThreadPoolExecutor<>(name,
+                new PriorityLevelGraph(graph), factory, limit, limit, keepAliveTime, unit, queue, comparator);
+        executor.setThreadFactory(ThreadUtils.newThreadFactory("TestNG-" + name + "-"));
+        log.info("Running test methods of '{}' on up to {} {} thread(s)", name, limit,
+                ThreadUtils.virtualThreadsAvailable() ? "virtual" : "platform");
+        return executor;
+    }
+}
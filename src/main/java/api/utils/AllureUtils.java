@@ -0,0 +1,67 @@
+package api.utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Utility class for Allure reporting
+ * Publishes artefacts that are produced outside of a running test
+ *
+ */
+public class AllureUtils {
+
+    private static final String JSON_TYPE = "application/json";
+
+    /**
+     * Publish a JSON document as a standalone Allure result with one attachment.
+     * Suite listeners have no current test to attach to, so the report gets its own entry.
+     * @param reportName Name of the Allure result
+     * @param suiteName Suite the report belongs to
+     * @param attachmentName Name of the attachment
+     * @param json JSON content
+     */
+    public static void attachSuiteReport(String reportName, String suiteName, String attachmentName, String json) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+
+        TestResult result = new TestResult()
+                .setUuid(uuid)
+                .setName(reportName)
+                .setFullName(suiteName + "." + reportName)
+                .setHistoryId(Integer.toHexString((suiteName + reportName).hashCode()))
+                .setStatus(Status.PASSED)
+                .setStage(Stage.FINISHED)
+                .setStart(now)
+                .setStop(now)
+                .setLabels(Arrays.asList(
+                        new Label().setName("suite").setValue(suiteName),
+                        new Label().setName("epic").setValue("Reports"),
+                        new Label().setName("feature").setValue(reportName)));
+
+        lifecycle.scheduleTestCase(result);
+        lifecycle.startTestCase(uuid);
+        lifecycle.addAttachment(attachmentName, JSON_TYPE, "json", json.getBytes(StandardCharsets.UTF_8));
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+
+    /**
+     * Attach a JSON document to the currently running test, if any
+     * @param attachmentName Name of the attachment
+     * @param json JSON content
+     */
+    public static void attachJson(String attachmentName, String json) {
+        if (Allure.getLifecycle().getCurrentTestCase().isPresent()) {
+            Allure.addAttachment(attachmentName, JSON_TYPE, json, "json");
+        }
+    }
+}
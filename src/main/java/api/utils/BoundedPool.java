@@ -0,0 +1,52 @@
+package api.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable scratch objects
+ * Replaces per-thread caches where threads are short-lived: with a thread per request
+ * (virtual threads in the load generator) a ThreadLocal allocates anew on every request.
+ * borrow() never blocks; it creates an object when the pool is empty, and release()
+ * keeps at most capacity idle objects, dropping the rest for the GC. Borrow and release
+ * around CPU-only work, so the number in use stays near the number of carrier threads.
+ *
+ * @param <T> Pooled object type
+ */
+public final class BoundedPool<T> {
+
+    public static final int DEFAULT_CAPACITY = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final ArrayBlockingQueue<T> idle;
+    private final Supplier<T> factory;
+
+    public BoundedPool(int capacity, Supplier<T> factory) {
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.factory = factory;
+    }
+
+    /**
+     * Take an idle object, or create one
+     * @return Object for the caller's exclusive use until release()
+     */
+    public T borrow() {
+        T item = idle.poll();
+        return item != null ? item : factory.get();
+    }
+
+    /**
+     * Return an object; it is discarded when the pool is already full
+     * @param item Object obtained from borrow()
+     */
+    public void release(T item) {
+        idle.offer(item);
+    }
+
+    /**
+     * Idle objects currently held
+     * @return Idle count
+     */
+    public int idleCount() {
+        return idle.size();
+    }
+}
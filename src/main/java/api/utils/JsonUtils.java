@@ -1,12 +1,25 @@
 package api.utils;
 
+import api.metrics.ResourceSections;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.restassured.response.Response;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.IntConsumer;
 
 /**
  * Utility class for JSON operations
@@ -17,6 +30,8 @@ public class JsonUtils {
 
     private static final ObjectMapper objectMapper = new ObjectMapper()
             .enable(SerializationFeature.INDENT_OUTPUT);
+    private static final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private static final String SMILE_EXTENSION = ".smile";
 
     /**
      * Convert object to JSON string
@@ -24,8 +39,23 @@ public class JsonUtils {
      * @return JSON string
      */
     public static String toJson(Object object) {
+        return ResourceSections.measure("JsonUtils.toJson", object.getClass(), () -> {
+            try {
+                return objectMapper.writeValueAsString(object);
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Failed to convert object to JSON", e);
+            }
+        });
+    }
+
+    /**
+     * Convert object to compact UTF-8 JSON bytes, as sent on the wire
+     * @param object Object to convert
+     * @return JSON bytes
+     */
+    public static byte[] toJsonBytes(Object object) {
         try {
-            return objectMapper.writeValueAsString(object);
+            return objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(object);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Failed to convert object to JSON", e);
         }
@@ -39,11 +69,13 @@ public class JsonUtils {
      * @return Deserialized object
      */
     public static <T> T fromJson(String json, Class<T> clazz) {
-        try {
-            return objectMapper.readValue(json, clazz);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to convert JSON to object", e);
-        }
+        return ResourceSections.measure("JsonUtils.fromJson", clazz, () -> {
+            try {
+                return objectMapper.readValue(json, clazz);
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Failed to convert JSON to object", e);
+            }
+        });
     }
 
     /**
@@ -54,7 +86,7 @@ public class JsonUtils {
      * @return Deserialized object
      */
     public static <T> T fromResponse(Response response, Class<T> clazz) {
-        return fromJson(response.asString(), clazz);
+        return ResourceSections.measure("JsonUtils.fromResponse", clazz, () -> fromJson(response.asString(), clazz));
     }
 
     /**
@@ -85,6 +117,163 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * Stream values one at a time from a JSON-lines file, or a Smile file (".smile" extension).
+     * Only the current value is held in memory; close the iterator when done.
+     * @param filePath Path to the file
+     * @param clazz Target class
+     * @param <T> Type parameter
+     * @return MappingIterator over the values
+     */
+    public static <T> MappingIterator<T> readValues(String filePath, Class<T> clazz) {
+        try {
+            return mapperFor(filePath).readerFor(clazz).readValues(new File(filePath));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read values from file: " + filePath, e);
+        }
+    }
+
+    /**
+     * Stream values one at a time from a JSON array or a JSON-lines stream; close the iterator when done
+     * @param json UTF-8 JSON
+     * @param clazz Target class
+     * @param <T> Type parameter
+     * @return MappingIterator over the values
+     */
+    public static <T> MappingIterator<T> readValues(InputStream json, Class<T> clazz) {
+        try {
+            return objectMapper.readerFor(clazz).readValues(json);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read values from stream", e);
+        }
+    }
+
+    /**
+     * Write values to a JSON-lines file (one compact document per line), or a Smile file (".smile" extension)
+     * @param values Values to write
+     * @param filePath Target file path
+     * @param <T> Type parameter
+     * @return Number of values written
+     */
+    public static <T> long writeValues(Iterator<T> values, String filePath) {
+        ObjectWriter writer = isSmile(filePath)
+                ? smileMapper.writer()
+                : objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).withRootValueSeparator("\n");
+        long count = 0;
+        try (SequenceWriter sequence = writer.writeValues(new File(filePath))) {
+            while (values.hasNext()) {
+                sequence.write(values.next());
+                count++;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write values to file: " + filePath, e);
+        }
+        return count;
+    }
+
+    /**
+     * Count the top-level values of a JSON-lines or Smile file without binding them
+     * @param filePath Path to the file
+     * @return Number of values
+     */
+    public static long countValues(String filePath) {
+        try (JsonParser parser = mapperFor(filePath).getFactory().createParser(new File(filePath))) {
+            long count = 0;
+            while (parser.nextToken() != null) {
+                parser.skipChildren();
+                count++;
+            }
+            return count;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to count values in file: " + filePath, e);
+        }
+    }
+
+    /**
+     * Bind a slice of a top-level JSON array, skipping earlier elements without binding them
+     * and leaving later ones unread
+     * @param json UTF-8 JSON array
+     * @param clazz Element class
+     * @param offset Elements to skip
+     * @param max Maximum elements to bind
+     * @param <T> Type parameter
+     * @return Bound elements, fewer than max when the array ends
+     */
+    public static <T> List<T> readArraySlice(InputStream json, Class<T> clazz, int offset, int max) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Expected a JSON array but found " + parser.currentToken());
+            }
+            List<T> values = new ArrayList<>(Math.min(max, 1024));
+            for (int index = 0; values.size() < max; index++) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY) {
+                    break;
+                }
+                if (token == null) {
+                    throw new RuntimeException("JSON array ended unexpectedly after " + index + " elements");
+                }
+                if (index < offset) {
+                    parser.skipChildren();
+                } else {
+                    values.add(objectMapper.readValue(parser, clazz));
+                }
+            }
+            return values;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read JSON array slice", e);
+        }
+    }
+
+    /**
+     * Stream one integer field of every object in a top-level JSON array without binding the objects
+     * Only top-level fields of each element are matched; nested objects and arrays are skipped unread,
+     * as are elements where the field is missing or not an integer
+     * @param json UTF-8 JSON array of objects
+     * @param field Field name, e.g. "id"
+     * @param action Receives each value in array order
+     * @return Number of values passed to action
+     */
+    public static int readIntField(InputStream json, String field, IntConsumer action) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Expected a JSON array but found " + parser.currentToken());
+            }
+            int count = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new RuntimeException("JSON array ended unexpectedly after " + count + " values");
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    boolean match = field.equals(parser.currentName());
+                    if (parser.nextToken() == JsonToken.VALUE_NUMBER_INT && match) {
+                        action.accept(parser.getIntValue());
+                        count++;
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            return count;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read field '" + field + "' from JSON array", e);
+        }
+    }
+
+    /**
+     * Convert an object to a JSON tree; a JsonNode is returned as is
+     * @param object POJO or JsonNode
+     * @return JsonNode
+     */
+    public static JsonNode toTree(Object object) {
+        return object instanceof JsonNode ? (JsonNode) object : objectMapper.valueToTree(object);
+    }
+
     /**
      * Pretty print JSON string
      * @param json JSON string
@@ -98,5 +287,13 @@ public class JsonUtils {
             return json;
         }
     }
+
+    private static boolean isSmile(String filePath) {
+        return filePath.endsWith(SMILE_EXTENSION);
+    }
+
+    private static ObjectMapper mapperFor(String filePath) {
+        return isSmile(filePath) ? smileMapper : objectMapper;
+    }
 }
 
@@ -0,0 +1,86 @@
+package api.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utility class for thread creation
+ * Uses virtual threads when the running JVM provides them (Java 21+)
+ * and falls back to daemon platform threads on older runtimes
+ *
+ */
+public class ThreadUtils {
+
+    private static final Method OF_VIRTUAL = findOfVirtual();
+
+    /**
+     * Check whether virtual threads are available in this JVM
+     * @return true if virtual threads can be created
+     */
+    public static boolean virtualThreadsAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Thread factory creating virtual threads, or daemon platform threads as a fallback
+     * @param namePrefix Thread name prefix
+     * @return ThreadFactory
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        if (OF_VIRTUAL != null) {
+            try {
+                // Resolve through the public Thread.Builder interface, the implementation is not exported
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                Object builder = OF_VIRTUAL.invoke(null);
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Failed to create virtual thread factory", e);
+            }
+        }
+        return daemonThreadFactory(namePrefix);
+    }
+
+    /**
+     * Executor starting a new thread per task, virtual where available
+     * @param namePrefix Thread name prefix
+     * @return ExecutorService
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory factory = newThreadFactory(namePrefix);
+        if (OF_VIRTUAL != null) {
+            try {
+                Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                return (ExecutorService) perTask.invoke(null, factory);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Failed to create virtual thread executor", e);
+            }
+        }
+        return Executors.newCachedThreadPool(factory);
+    }
+
+    /**
+     * Thread factory creating named daemon platform threads
+     * @param namePrefix Thread name prefix
+     * @return ThreadFactory
+     */
+    public static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static Method findOfVirtual() {
+        try {
+            return Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
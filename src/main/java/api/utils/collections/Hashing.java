@@ -0,0 +1,61 @@
+package api.utils.collections;
+
+/**
+ * Hashing helpers shared by the primitive open-addressing collections
+ *
+ */
+final class Hashing {
+
+    /** Maximum fill ratio before the tables double */
+    static final double LOAD_FACTOR = 0.6;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private Hashing() {
+    }
+
+    /**
+     * Spread an int key over the table; sequential ids would otherwise fill adjacent slots
+     * @param key Key
+     * @return Mixed hash
+     */
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Spread a long key over the table
+     * @param key Key
+     * @return Mixed hash
+     */
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Power-of-two table size holding the expected entries below the load factor
+     * @param expectedSize Expected number of entries
+     * @return Table capacity
+     */
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+        long needed = (long) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /**
+     * Number of entries a table of the given capacity holds before it grows
+     * @param capacity Table capacity
+     * @return Resize threshold
+     */
+    static int resizeThreshold(int capacity) {
+        return (int) (capacity * LOAD_FACTOR);
+    }
+}
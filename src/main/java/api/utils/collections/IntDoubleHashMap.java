@@ -0,0 +1,209 @@
+package api.utils.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from int keys to double values
+ * Keys and values live in two parallel primitive arrays probed linearly, so lookups
+ * neither box nor allocate. Key 0 marks a free slot and is stored beside the tables.
+ * Not thread-safe: build it on one thread, then share it read-only (e.g. behind a
+ * volatile reference) or copy it before changing it.
+ *
+ */
+public class IntDoubleHashMap {
+
+    private int[] keys;
+    private double[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+    private boolean hasZeroKey;
+    private double zeroValue;
+
+    public IntDoubleHashMap() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize Number of entries to hold without resizing
+     */
+    public IntDoubleHashMap(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize));
+    }
+
+    /**
+     * Copy of another map
+     * @param other Map to copy
+     */
+    public IntDoubleHashMap(IntDoubleHashMap other) {
+        this.keys = other.keys.clone();
+        this.values = other.values.clone();
+        this.mask = other.mask;
+        this.resizeAt = other.resizeAt;
+        this.size = other.size;
+        this.hasZeroKey = other.hasZeroKey;
+        this.zeroValue = other.zeroValue;
+    }
+
+    /**
+     * Value of a key
+     * @param key Key
+     * @param defaultValue Returned when the key is absent
+     * @return Value or defaultValue
+     */
+    public double get(int key, double defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = indexOf(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Set the value of a key
+     * @param key Key
+     * @param value Value
+     */
+    public void put(int key, double value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = Hashing.mix(key) & mask;
+        int current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Add to the value of a key, starting from 0 when absent
+     * @param key Key
+     * @param delta Amount to add
+     * @return New value
+     */
+    public double addTo(int key, double delta) {
+        double value = get(key, 0) + delta;
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Copy every entry of another map into this one
+     * @param other Entries to add, replacing existing values
+     */
+    public void putAll(IntDoubleHashMap other) {
+        other.forEach(this::put);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Visit every entry in table order
+     * @param action Entry consumer
+     */
+    public void forEach(IntDoubleConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Keys in table order
+     * @return New array of the keys
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int i = 0;
+        if (hasZeroKey) {
+            result[i++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+        hasZeroKey = false;
+    }
+
+    private int indexOf(int key) {
+        int slot = Hashing.mix(key) & mask;
+        int current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new double[capacity];
+        mask = capacity - 1;
+        resizeAt = Hashing.resizeThreshold(capacity);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int slot = Hashing.mix(key) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Entry consumer without boxing
+     */
+    @FunctionalInterface
+    public interface IntDoubleConsumer {
+        void accept(int key, double value);
+    }
+}
@@ -0,0 +1,155 @@
+package api.utils.collections;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Open-addressing hash set of int values
+ * Values live in one primitive array probed linearly, so membership checks neither box
+ * nor allocate. Value 0 marks a free slot and is tracked beside the table.
+ * Not thread-safe: build it on one thread, then share it read-only.
+ *
+ */
+public class IntHashSet {
+
+    private int[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+    private boolean hasZero;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize Number of values to hold without resizing
+     */
+    public IntHashSet(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize));
+    }
+
+    /**
+     * Set of the given values
+     * @param values Values, duplicates allowed
+     * @return IntHashSet
+     */
+    public static IntHashSet of(int... values) {
+        IntHashSet set = new IntHashSet(values.length);
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    /**
+     * Add a value
+     * @param value Value
+     * @return true if the value was not present
+     */
+    public boolean add(int value) {
+        if (value == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int slot = Hashing.mix(value) & mask;
+        int current;
+        while ((current = values[slot]) != 0) {
+            if (current == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(values.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value == 0) {
+            return hasZero;
+        }
+        int slot = Hashing.mix(value) & mask;
+        int current;
+        while ((current = values[slot]) != 0) {
+            if (current == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Visit every value in table order
+     * @param action Value consumer
+     */
+    public void forEach(IntConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (int value : values) {
+            if (value != 0) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Values in table order
+     * @return New array of the values
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int i = 0;
+        if (hasZero) {
+            result[i++] = 0;
+        }
+        for (int value : values) {
+            if (value != 0) {
+                result[i++] = value;
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0);
+        size = 0;
+        hasZero = false;
+    }
+
+    private void allocate(int capacity) {
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = Hashing.resizeThreshold(capacity);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int value : oldValues) {
+            if (value != 0) {
+                int slot = Hashing.mix(value) & mask;
+                while (values[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                values[slot] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package api.utils.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from int keys to long values
+ * Keys and values live in two parallel primitive arrays probed linearly, so lookups
+ * neither box nor allocate. Key 0 marks a free slot and is stored beside the tables.
+ * Not thread-safe: build it on one thread, then share it read-only (e.g. behind a
+ * volatile reference) or copy it before changing it.
+ *
+ */
+public class IntLongHashMap {
+
+    private int[] keys;
+    private long[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public IntLongHashMap() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize Number of entries to hold without resizing
+     */
+    public IntLongHashMap(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize));
+    }
+
+    /**
+     * Copy of another map
+     * @param other Map to copy
+     */
+    public IntLongHashMap(IntLongHashMap other) {
+        this.keys = other.keys.clone();
+        this.values = other.values.clone();
+        this.mask = other.mask;
+        this.resizeAt = other.resizeAt;
+        this.size = other.size;
+        this.hasZeroKey = other.hasZeroKey;
+        this.zeroValue = other.zeroValue;
+    }
+
+    /**
+     * Value of a key
+     * @param key Key
+     * @param defaultValue Returned when the key is absent
+     * @return Value or defaultValue
+     */
+    public long get(int key, long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = indexOf(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Set the value of a key
+     * @param key Key
+     * @param value Value
+     */
+    public void put(int key, long value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = Hashing.mix(key) & mask;
+        int current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Add to the value of a key, starting from 0 when absent
+     * @param key Key
+     * @param delta Amount to add
+     * @return New value
+     */
+    public long addTo(int key, long delta) {
+        if (key == 0) {
+            put(0, get(0, 0) + delta);
+            return zeroValue;
+        }
+        int slot = Hashing.mix(key) & mask;
+        int current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                return values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return delta;
+    }
+
+    /**
+     * Copy every entry of another map into this one
+     * @param other Entries to add, replacing existing values
+     */
+    public void putAll(IntLongHashMap other) {
+        other.forEach(this::put);
+    }
+
+    /**
+     * Add every value of another map to the value of the same key here
+     * @param other Entries to sum in
+     */
+    public void addAll(IntLongHashMap other) {
+        other.forEach(this::addTo);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Visit every entry in table order
+     * @param action Entry consumer
+     */
+    public void forEach(IntLongConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Keys in table order
+     * @return New array of the keys
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int i = 0;
+        if (hasZeroKey) {
+            result[i++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+        hasZeroKey = false;
+    }
+
+    private int indexOf(int key) {
+        int slot = Hashing.mix(key) & mask;
+        int current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = Hashing.resizeThreshold(capacity);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int slot = Hashing.mix(key) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Entry consumer without boxing
+     */
+    @FunctionalInterface
+    public interface IntLongConsumer {
+        void accept(int key, long value);
+    }
+}
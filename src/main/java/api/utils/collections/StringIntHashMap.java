@@ -0,0 +1,155 @@
+package api.utils.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from String keys to int values
+ * Keys, their cached hash codes and the values live in parallel arrays probed linearly;
+ * a probe compares the cached hash before calling equals, so a lookup costs one
+ * String.hashCode (itself cached by String) and usually a single equals. A null key
+ * marks a free slot, so null keys are not allowed.
+ * Not thread-safe: build it on one thread, then share it read-only.
+ *
+ */
+public class StringIntHashMap {
+
+    private String[] keys;
+    private int[] hashes;
+    private int[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    public StringIntHashMap() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize Number of entries to hold without resizing
+     */
+    public StringIntHashMap(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize));
+    }
+
+    /**
+     * Value of a key
+     * @param key Key
+     * @param defaultValue Returned when the key is absent or null
+     * @return Value or defaultValue
+     */
+    public int get(String key, int defaultValue) {
+        if (key == null) {
+            return defaultValue;
+        }
+        int hash = key.hashCode();
+        int slot = Hashing.mix(hash) & mask;
+        String current;
+        while ((current = keys[slot]) != null) {
+            if (hashes[slot] == hash && current.equals(key)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public boolean containsKey(String key) {
+        return key != null && keys[slotFor(key)] != null;
+    }
+
+    /**
+     * Set the value of a key
+     * @param key Key, not null
+     * @param value Value
+     */
+    public void put(String key, int value) {
+        int slot = slotFor(key);
+        if (keys[slot] != null) {
+            values[slot] = value;
+            return;
+        }
+        insert(slot, key, value);
+    }
+
+    /**
+     * Set the value of a key unless it is already present
+     * @param key Key, not null
+     * @param value Value
+     * @return true if the key was added, false if it kept its existing value
+     */
+    public boolean putIfAbsent(String key, int value) {
+        int slot = slotFor(key);
+        if (keys[slot] != null) {
+            return false;
+        }
+        insert(slot, key, value);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    /**
+     * Slot holding the key, or the free slot where it belongs
+     */
+    private int slotFor(String key) {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+        int hash = key.hashCode();
+        int slot = Hashing.mix(hash) & mask;
+        String current;
+        while ((current = keys[slot]) != null) {
+            if (hashes[slot] == hash && current.equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(int slot, String key, int value) {
+        keys[slot] = key;
+        hashes[slot] = key.hashCode();
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = Hashing.resizeThreshold(capacity);
+    }
+
+    private void rehash(int capacity) {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = Hashing.mix(oldHashes[i]) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                hashes[slot] = oldHashes[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -1,18 +1,41 @@
 package tests;
 
 import api.base.BaseTest;
+import api.analytics.DemandReport;
+import api.analytics.ProductPair;
 import api.endpoints.CartsAPI;
+import api.fixtures.FixtureStore;
+import api.fixtures.FixtureStream;
+import api.index.CartDateIndex;
+import api.integrity.IntegrityChecker;
+import api.integrity.IntegrityReport;
+import api.metrics.MaxLatency;
 import api.pojos.request.CartRequest;
 import api.pojos.response.CartResponse;
+import api.pojos.response.ProductResponse;
+import api.pojos.response.UserResponse;
+import api.pricing.CartPricingService;
+import api.pricing.PricingResult;
 import api.utils.JsonUtils;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static tests.assertions.ResponseAssert.assertThat;
 
 /**
  * Test class for Carts API endpoints
@@ -26,9 +49,12 @@ public class CartsTests extends BaseTest {
     @Story("Get All Carts")
     @Severity(SeverityLevel.CRITICAL)
     @Description("Test to verify that GET /carts returns all carts with status code 200")
+    @MaxLatency(p95 = 3000, max = 5000)
     public void testGetAllCarts() {
         Response response = CartsAPI.getAllCarts();
         
+        assertThat(response).respondedWithin(Duration.ofSeconds(5));
+        
         assertThat(response.getStatusCode())
                 .as("Status code should be 200")
                 .isEqualTo(200);
@@ -44,10 +70,11 @@ public class CartsTests extends BaseTest {
                 .isNotNull();
     }
 
-    @Test(priority = 2, description = "Verify getting a single cart by ID returns 200 and correct cart")
+    @Test(priority = 2, invocationCount = 3, description = "Verify getting a single cart by ID returns 200 and correct cart")
     @Story("Get Cart By ID")
     @Severity(SeverityLevel.CRITICAL)
     @Description("Test to verify that GET /carts/{id} returns the correct cart")
+    @MaxLatency(p95 = 2000, max = 5000)
     public void testGetCartById() {
         int cartId = 1;
         Response response = CartsAPI.getCartById(cartId);
@@ -240,5 +267,164 @@ public class CartsTests extends BaseTest {
         assertThat(cart.getProducts().get(0).getProductId()).as("Product ID should not be null").isNotNull();
         assertThat(cart.getProducts().get(0).getQuantity()).as("Quantity should not be null").isNotNull();
     }
-}
 
+    @DataProvider(name = "cartFixtures")
+    public Iterator<Object[]> cartFixtures() {
+        return FixtureStream.rows(FixtureStream.fixtureFile("carts.jsonl"), CartRequest.class);
+    }
+
+    @Test(priority = 11, dataProvider = "cartFixtures", description = "Verify creating carts from the fixture file")
+    @Story("Create Cart")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that POST /carts accepts every cart in the streamed fixture file")
+    public void testCreateCartFromFixture(CartRequest cart) {
+        Response response = CartsAPI.createCart(cart);
+
+        assertThat(response.getStatusCode())
+                .as("Status code should be 200 or 201")
+                .isIn(200, 201);
+
+        CartResponse createdCart = JsonUtils.fromResponse(response, CartResponse.class);
+
+        assertThat(createdCart.getUserId())
+                .as("Created cart user ID should match fixture")
+                .isEqualTo(cart.getUserId());
+    }
+
+    @Test(priority = 12, description = "Verify every cart references existing users and products")
+    @Story("Get All Carts")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that the users and products referenced by GET /carts exist, using suite-shared reference data")
+    public void testCartReferencesExist() {
+        FixtureStore fixtures = FixtureStore.suite();
+        Set<Integer> userIds = fixtures.users().stream().map(UserResponse::getId).collect(Collectors.toSet());
+        Set<Integer> productIds = fixtures.products().stream().map(ProductResponse::getId).collect(Collectors.toSet());
+
+        for (CartResponse cart : fixtures.carts()) {
+            assertThat(userIds)
+                    .as("User of cart " + cart.getId() + " should exist")
+                    .contains(cart.getUserId());
+            assertThat(productIds)
+                    .as("Products of cart " + cart.getId() + " should exist")
+                    .containsAll(cart.getProducts().stream()
+                            .map(CartResponse.ProductItem::getProductId)
+                            .collect(Collectors.toList()));
+        }
+    }
+
+    @Test(priority = 13, description = "Verify pricing all carts against the cached catalogue")
+    @Story("Get All Carts")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that CartPricingService prices every cart of GET /carts from the product price cache")
+    public void testPriceAllCarts() {
+        List<CartResponse> carts = FixtureStore.suite().carts();
+        Map<Integer, Double> catalogue = FixtureStore.suite().products().stream()
+                .collect(Collectors.toMap(ProductResponse::getId, ProductResponse::getPrice));
+
+        try (CartPricingService pricing = CartPricingService.start(Duration.ofMinutes(5))) {
+            PricingResult result = pricing.price(carts);
+
+            assertThat(result.getUnpricedItems())
+                    .as("Every cart item should have a price")
+                    .isZero();
+
+            for (int i = 0; i < carts.size(); i++) {
+                double expected = carts.get(i).getProducts().stream()
+                        .mapToDouble(item -> catalogue.get(item.getProductId()) * item.getQuantity())
+                        .sum();
+                assertThat(result.getCarts().get(i).getTotal())
+                        .as("Total of cart " + carts.get(i).getId())
+                        .isCloseTo(expected, within(0.001));
+            }
+        }
+    }
+
+    @Test(priority = 14, description = "Verify carts, users and products are referentially consistent")
+    @Story("Get All Carts")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that every user and product referenced by GET /carts appears in GET /users and GET /products")
+    public void testEnvironmentIntegrity() {
+        IntegrityReport report = IntegrityChecker.fetch().report(20);
+
+        assertThat(report.getCarts())
+                .as("Carts should have been checked")
+                .isPositive();
+
+        assertThat(report.getSamples())
+                .as("Carts should only reference existing users and products")
+                .isEmpty();
+    }
+
+    @Test(priority = 15, description = "Verify the local cart date index answers range queries like a filter")
+    @Story("Get Carts By Date Range")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that CartDateIndex range, per-user and incremental queries match a plain filter over GET /carts")
+    public void testCartDateIndex() {
+        List<CartResponse> carts = FixtureStore.suite().carts();
+        CartDateIndex index = CartDateIndex.of(carts);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        LocalDate end = LocalDate.of(2020, 3, 1);
+        long from = start.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        long to = end.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        List<CartResponse> expected = carts.stream()
+                .filter(cart -> CartDateIndex.epochMillis(cart.getDate()) >= from && CartDateIndex.epochMillis(cart.getDate()) < to)
+                .collect(Collectors.toList());
+
+        assertThat(index.between(start, end))
+                .as("Indexed range should match filtering the carts")
+                .containsExactlyInAnyOrderElementsOf(expected);
+
+        Integer userId = carts.get(0).getUserId();
+        assertThat(index.forUser(userId, start, end))
+                .as("Indexed user range should match filtering the carts")
+                .containsExactlyInAnyOrderElementsOf(expected.stream()
+                        .filter(cart -> userId.equals(cart.getUserId()))
+                        .collect(Collectors.toList()));
+
+        index.add(CartResponse.builder().id(-1).userId(userId).date(start + "T12:00:00.000Z").products(List.of()).build());
+        assertThat(index.countForUser(userId, start, start))
+                .as("Added cart should be found on its day")
+                .isEqualTo((int) carts.stream()
+                        .filter(cart -> userId.equals(cart.getUserId()) && cart.getDate().startsWith(start.toString()))
+                        .count() + 1);
+    }
+
+    @Test(priority = 16, description = "Verify per-product demand aggregated over all carts")
+    @Story("Get All Carts")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that DemandReport quantities, distinct users and co-occurrences match the carts of GET /carts")
+    public void testProductDemand() {
+        List<CartResponse> carts = FixtureStore.suite().carts();
+        DemandReport demand = DemandReport.of(carts);
+
+        assertThat(demand.getCarts())
+                .as("Every cart should be aggregated")
+                .isEqualTo(carts.size());
+
+        CartResponse cart = carts.get(0);
+        int productId = cart.getProducts().get(0).getProductId();
+        long expectedQuantity = carts.stream()
+                .flatMap(c -> c.getProducts().stream())
+                .filter(item -> item.getProductId() == productId)
+                .mapToLong(CartResponse.ProductItem::getQuantity)
+                .sum();
+        long expectedUsers = carts.stream()
+                .filter(c -> c.getProducts().stream().anyMatch(item -> item.getProductId() == productId))
+                .map(CartResponse::getUserId)
+                .distinct()
+                .count();
+
+        assertThat(demand.quantityOf(productId))
+                .as("Quantity of product " + productId)
+                .isEqualTo(expectedQuantity);
+        assertThat(demand.distinctUsersOf(productId))
+                .as("Distinct users of product " + productId)
+                .isEqualTo(expectedUsers);
+
+        assertThat(demand.topPairs(5))
+                .as("Pairs should be ordered by cart count")
+                .isSortedAccordingTo(Comparator.comparingLong(ProductPair::getCarts).reversed()
+                        .thenComparingInt(ProductPair::getProductA)
+                        .thenComparingInt(ProductPair::getProductB));
+    }
+}
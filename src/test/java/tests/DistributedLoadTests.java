@@ -0,0 +1,97 @@
+package tests;
+
+import api.load.LoadPhase;
+import api.load.LoadResult;
+import api.load.PhaseResult;
+import api.load.Scenarios;
+import api.load.distributed.LoadCoordinator;
+import com.sun.net.httpserver.HttpServer;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for distributed load runs
+ * Runs the coordinator with two local worker JVMs against a local server, so no API calls are made
+ */
+@Epic("E-Commerce API")
+@Feature("Load Generation")
+public class DistributedLoadTests {
+
+    private static final Duration PHASE = Duration.ofSeconds(2);
+    private static final Duration START_DELAY = Duration.ofSeconds(2);
+
+    @Test(priority = 1, description = "Verify a coordinator with two local workers merges their results losslessly")
+    @Story("Distributed Load")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that the merged histograms count every request the workers sent, and that the workers start together")
+    public void testCoordinatorMergesLocalWorkers() throws IOException {
+        Queue<Long> arrivals = new ConcurrentLinkedQueue<>();
+        ExecutorService handlers = Executors.newCachedThreadPool();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(handlers);
+        server.createContext("/products", exchange -> {
+            arrivals.add(System.nanoTime());
+            byte[] body = "{\"id\":1,\"title\":\"Backpack\",\"price\":109.95}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        LoadResult result;
+        try {
+            result = new LoadCoordinator(Scenarios.PRODUCT_BY_ID, List.of(LoadPhase.steady(PHASE, 20)))
+                    .port(0)
+                    .workers(2, 2)
+                    .startDelay(START_DELAY)
+                    .baseUri("http://localhost:" + server.getAddress().getPort())
+                    .run();
+        } finally {
+            server.stop(0);
+            handlers.shutdownNow();
+        }
+        PhaseResult total = result.getTotal();
+
+        assertThat(arrivals)
+                .as("The workers should have sent requests")
+                .isNotEmpty();
+
+        assertThat(total.getRequests())
+                .as("Merged requests should equal the requests the workers sent")
+                .isEqualTo(arrivals.size());
+
+        assertThat(total.getErrors() + total.getDropped())
+                .as("No request should fail or be dropped")
+                .isZero();
+
+        assertThat(total.getLatencyHistogram().getTotalCount())
+                .as("The merged latency histogram should hold one value per request of both workers")
+                .isEqualTo(arrivals.size());
+
+        assertThat(total.getServiceTimeHistogram().getTotalCount())
+                .as("The merged service time histogram should hold one value per request of both workers")
+                .isEqualTo(arrivals.size());
+
+        long first = arrivals.stream().mapToLong(Long::longValue).min().getAsLong();
+        long last = arrivals.stream().mapToLong(Long::longValue).max().getAsLong();
+        assertThat(Duration.ofNanos(last - first))
+                .as("Both workers should start at the common start time, so their requests span about one phase")
+                .isLessThan(PHASE.plusSeconds(1));
+    }
+}
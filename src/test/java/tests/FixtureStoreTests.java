@@ -0,0 +1,136 @@
+package tests;
+
+import api.fixtures.FixtureStore;
+import api.pojos.response.CartResponse;
+import api.pojos.response.ProductResponse;
+import io.qameta.allure.*;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the suite-scoped fixture store
+ * Serves canned responses, so no API calls are made
+ */
+@Epic("E-Commerce API")
+@Feature("Shared Fixtures")
+public class FixtureStoreTests {
+
+    private static final String PRODUCTS = "[{\"id\":1,\"title\":\"Backpack\",\"price\":109.95,\"category\":\"bags\","
+            + "\"rating\":{\"rate\":3.9,\"count\":120}},{\"id\":2,\"title\":\"T-Shirt\",\"price\":22.3,\"category\":\"clothing\"}]";
+    private static final String CART = "{\"id\":5,\"userId\":3,\"date\":\"2020-03-01T00:00:00.000Z\","
+            + "\"products\":[{\"productId\":1,\"quantity\":2}]}";
+
+    @Test(priority = 1, description = "Verify concurrent callers share one load and the same instances")
+    @Story("Shared Reference Data")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that a list fixture is fetched once and every caller, on any thread, gets the same list")
+    public void testConcurrentCallersShareOneLoad() throws Exception {
+        int threads = 8;
+        int callsPerThread = 5;
+        FixtureStore store = new FixtureStore();
+        AtomicInteger fetches = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Supplier<Response> fetch = () -> {
+            fetches.incrementAndGet();
+            try {
+                // Keeps the load in flight while the other threads ask for the same key
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return canned(PRODUCTS);
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<List<List<ProductResponse>>>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    List<List<ProductResponse>> seen = new ArrayList<>();
+                    for (int i = 0; i < callsPerThread; i++) {
+                        seen.add(store.list(ProductResponse.class, "GET /products", fetch));
+                    }
+                    return seen;
+                }));
+            }
+            start.countDown();
+
+            List<List<ProductResponse>> seen = new ArrayList<>();
+            for (Future<List<List<ProductResponse>>> result : results) {
+                seen.addAll(result.get());
+            }
+            List<ProductResponse> first = seen.get(0);
+
+            assertThat(seen)
+                    .as("Every call should return the same list instance")
+                    .allSatisfy(list -> assertThat(list).isSameAs(first));
+
+            assertThat(first)
+                    .as("The list should hold the parsed products")
+                    .extracting(ProductResponse::getTitle)
+                    .containsExactly("Backpack", "T-Shirt");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(store.getLoads())
+                .as("The fixture should be loaded once")
+                .isEqualTo(1);
+
+        assertThat(fetches.get())
+                .as("The endpoint should be called once")
+                .isEqualTo(1);
+
+        assertThat(store.getHits())
+                .as("Every other call should be served from the store")
+                .isEqualTo(threads * callsPerThread - 1);
+    }
+
+    @Test(priority = 2, description = "Verify stored fixtures cannot be modified")
+    @Story("Shared Reference Data")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that shared lists, including lists nested in a fixture, reject changes")
+    public void testStoredFixturesAreReadOnly() {
+        FixtureStore store = new FixtureStore();
+        List<ProductResponse> products = store.list(ProductResponse.class, "GET /products", () -> canned(PRODUCTS));
+        CartResponse cart = store.single(CartResponse.class, "GET /carts/{id}", () -> canned(CART), 5);
+
+        assertThat(store.single(CartResponse.class, "GET /carts/{id}", () -> canned(CART), 5))
+                .as("A hit should return the same cart instance")
+                .isSameAs(cart);
+
+        assertThatThrownBy(() -> products.remove(0))
+                .as("The shared list should be unmodifiable")
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        assertThatThrownBy(() -> cart.getProducts().clear())
+                .as("Lists inside a shared fixture should be unmodifiable")
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(store.getLoads())
+                .as("Each key should be loaded once")
+                .isEqualTo(2);
+    }
+
+    private static Response canned(String json) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType("application/json")
+                .setBody(json)
+                .build();
+    }
+}
@@ -0,0 +1,320 @@
+package tests;
+
+import api.utils.collections.IntDoubleHashMap;
+import api.utils.collections.IntHashSet;
+import api.utils.collections.IntIntHashMap;
+import api.utils.collections.IntLongHashMap;
+import api.utils.collections.LongLongHashMap;
+import api.utils.collections.StringIntHashMap;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the primitive open-addressing collections
+ * Pure in-memory checks against java.util collections, so no API calls are made
+ */
+@Epic("E-Commerce API")
+@Feature("Primitive Collections")
+public class PrimitiveCollectionsTests {
+
+    /** Capacity of a table created for 4 entries: ceil(4 / 0.6) rounded up to a power of two */
+    private static final int SMALL_CAPACITY = 8;
+    private static final int SMALL_EXPECTED_SIZE = 4;
+    private static final int GROWTH_ENTRIES = 50_000;
+
+    @Test(priority = 1, description = "Verify key 0 and negative keys are stored like any other key")
+    @Story("Special Keys")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that the free-slot marker 0 and negative keys can be stored, read, listed and cleared")
+    public void testZeroAndNegativeKeys() {
+        int[] keys = {0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 7};
+
+        IntIntHashMap ints = new IntIntHashMap();
+        IntLongHashMap longs = new IntLongHashMap();
+        IntDoubleHashMap doubles = new IntDoubleHashMap();
+        IntHashSet set = new IntHashSet();
+        for (int key : keys) {
+            ints.put(key, key * 3);
+            longs.put(key, key * 3L);
+            doubles.put(key, key / 2.0);
+            set.add(key);
+        }
+
+        assertThat(ints.size()).as("Int map should hold every key").isEqualTo(keys.length);
+        assertThat(ints.keys()).as("Int map keys should include 0").containsExactlyInAnyOrder(keys);
+        assertThat(longs.keys()).as("Long map keys should include 0").containsExactlyInAnyOrder(keys);
+        assertThat(doubles.keys()).as("Double map keys should include 0").containsExactlyInAnyOrder(keys);
+        assertThat(set.toArray()).as("Set should include 0").containsExactlyInAnyOrder(keys);
+        for (int key : keys) {
+            assertThat(ints.get(key, -99)).as("Int value of key %d", key).isEqualTo(key * 3);
+            assertThat(longs.get(key, -99L)).as("Long value of key %d", key).isEqualTo(key * 3L);
+            assertThat(doubles.get(key, -99.0)).as("Double value of key %d", key).isEqualTo(key / 2.0);
+            assertThat(set.contains(key)).as("Set should contain %d", key).isTrue();
+        }
+
+        List<Integer> visited = new ArrayList<>();
+        ints.forEach((key, value) -> visited.add(key));
+        assertThat(visited).as("forEach should visit key 0 once").containsOnlyOnce(0);
+
+        ints.put(0, 42);
+        assertThat(ints.size()).as("Replacing key 0 should not change the size").isEqualTo(keys.length);
+        assertThat(ints.get(0, -99)).as("Key 0 should hold the new value").isEqualTo(42);
+        assertThat(set.add(0)).as("Adding 0 twice should report a duplicate").isFalse();
+
+        LongLongHashMap wide = new LongLongHashMap();
+        long[] longKeys = {0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 40};
+        for (long key : longKeys) {
+            wide.put(key, ~key);
+        }
+        assertThat(wide.keys()).as("Long-keyed map keys should include 0").containsExactlyInAnyOrder(longKeys);
+        for (long key : longKeys) {
+            assertThat(wide.get(key, 5L)).as("Value of long key %d", key).isEqualTo(~key);
+        }
+
+        ints.clear();
+        wide.clear();
+        assertThat(ints.containsKey(0)).as("Clear should drop key 0").isFalse();
+        assertThat(wide.containsKey(0L)).as("Clear should drop long key 0").isFalse();
+        assertThat(ints.isEmpty() && wide.isEmpty()).as("Cleared maps should be empty").isTrue();
+    }
+
+    @Test(priority = 2, description = "Verify keys that hash to the same slot are all found")
+    @Story("Collisions")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that linear probing keeps colliding keys apart, including a probe that wraps past the table end")
+    public void testCollidingKeys() {
+        // Last bucket, so the probe sequence wraps around to slot 0
+        int[] colliding = collidingInts(SMALL_CAPACITY - 1, SMALL_EXPECTED_SIZE + 1);
+        int absent = colliding[SMALL_EXPECTED_SIZE];
+
+        IntIntHashMap ints = new IntIntHashMap(SMALL_EXPECTED_SIZE);
+        IntLongHashMap longs = new IntLongHashMap(SMALL_EXPECTED_SIZE);
+        IntHashSet set = new IntHashSet(SMALL_EXPECTED_SIZE);
+        for (int i = 0; i < SMALL_EXPECTED_SIZE; i++) {
+            ints.put(colliding[i], i);
+            longs.put(colliding[i], i * 10L);
+            set.add(colliding[i]);
+        }
+        for (int i = 0; i < SMALL_EXPECTED_SIZE; i++) {
+            assertThat(ints.get(colliding[i], -1)).as("Int value of colliding key %d", colliding[i]).isEqualTo(i);
+            assertThat(longs.get(colliding[i], -1L)).as("Long value of colliding key %d", colliding[i]).isEqualTo(i * 10L);
+            assertThat(set.contains(colliding[i])).as("Set should contain colliding key %d", colliding[i]).isTrue();
+        }
+        assertThat(ints.containsKey(absent)).as("An absent key of the same bucket should not be found").isFalse();
+        assertThat(longs.get(absent, -1L)).as("An absent key of the same bucket should read the default").isEqualTo(-1L);
+        assertThat(set.contains(absent)).as("Set should not contain an absent key of the same bucket").isFalse();
+
+        ints.addTo(colliding[SMALL_EXPECTED_SIZE - 1], 100);
+        assertThat(ints.get(colliding[SMALL_EXPECTED_SIZE - 1], -1))
+                .as("addTo should update the colliding key at the end of the probe")
+                .isEqualTo(SMALL_EXPECTED_SIZE - 1 + 100);
+
+        long[] collidingLongs = collidingLongs(SMALL_CAPACITY - 1, SMALL_EXPECTED_SIZE);
+        LongLongHashMap wide = new LongLongHashMap(SMALL_EXPECTED_SIZE);
+        for (long key : collidingLongs) {
+            wide.put(key, key + 1);
+        }
+        for (long key : collidingLongs) {
+            assertThat(wide.get(key, -1L)).as("Value of colliding long key %d", key).isEqualTo(key + 1);
+        }
+
+        // "Aa" and "BB" share a String hash code, so they also share the cached hash
+        StringIntHashMap strings = new StringIntHashMap(SMALL_EXPECTED_SIZE);
+        strings.put("Aa", 1);
+        strings.put("BB", 2);
+        strings.put("AaAa", 3);
+        strings.put("BBBB", 4);
+        assertThat(strings.get("Aa", 0)).as("Value of Aa").isEqualTo(1);
+        assertThat(strings.get("BB", 0)).as("Value of BB").isEqualTo(2);
+        assertThat(strings.get("AaAa", 0)).as("Value of AaAa").isEqualTo(3);
+        assertThat(strings.get("BBBB", 0)).as("Value of BBBB").isEqualTo(4);
+        assertThat(strings.containsKey("AaBB")).as("An absent key with the same hash should not be found").isFalse();
+    }
+
+    @Test(priority = 3, description = "Verify the tables keep every entry while growing through several rehashes")
+    @Story("Growth")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that maps and sets created small match java.util collections after many resizes")
+    public void testGrowthAcrossRehashes() {
+        Random random = new Random(44);
+        Map<Integer, Integer> expectedInts = new HashMap<>();
+        Map<Long, Long> expectedLongs = new HashMap<>();
+        Set<Integer> expectedSet = new HashSet<>();
+        IntIntHashMap ints = new IntIntHashMap(SMALL_EXPECTED_SIZE);
+        IntLongHashMap intLongs = new IntLongHashMap(SMALL_EXPECTED_SIZE);
+        IntDoubleHashMap doubles = new IntDoubleHashMap(SMALL_EXPECTED_SIZE);
+        LongLongHashMap longs = new LongLongHashMap(SMALL_EXPECTED_SIZE);
+        IntHashSet set = new IntHashSet(SMALL_EXPECTED_SIZE);
+        StringIntHashMap strings = new StringIntHashMap(SMALL_EXPECTED_SIZE);
+
+        for (int i = 0; i < GROWTH_ENTRIES; i++) {
+            // Sequential ids and random (also negative) keys, with repeats
+            int key = i % 2 == 0 ? i : random.nextInt(GROWTH_ENTRIES) - GROWTH_ENTRIES / 2;
+            long longKey = random.nextLong();
+            expectedInts.put(key, i);
+            expectedLongs.put(longKey, (long) i);
+            expectedSet.add(key);
+            ints.put(key, i);
+            intLongs.put(key, i);
+            doubles.put(key, i);
+            longs.put(longKey, i);
+            set.add(key);
+            strings.put("key-" + key, i);
+        }
+
+        assertThat(ints.size()).as("Int map size").isEqualTo(expectedInts.size());
+        assertThat(intLongs.size()).as("Int-long map size").isEqualTo(expectedInts.size());
+        assertThat(doubles.size()).as("Int-double map size").isEqualTo(expectedInts.size());
+        assertThat(longs.size()).as("Long map size").isEqualTo(expectedLongs.size());
+        assertThat(set.size()).as("Set size").isEqualTo(expectedSet.size());
+        assertThat(strings.size()).as("String map size").isEqualTo(expectedInts.size());
+
+        expectedInts.forEach((key, value) -> {
+            assertThat(ints.get(key, -1)).as("Int value of %d", key).isEqualTo(value);
+            assertThat(intLongs.get(key, -1L)).as("Int-long value of %d", key).isEqualTo(value.longValue());
+            assertThat(doubles.get(key, -1.0)).as("Int-double value of %d", key).isEqualTo(value.doubleValue());
+            assertThat(strings.get("key-" + key, -1)).as("String value of key-%d", key).isEqualTo(value);
+        });
+        expectedLongs.forEach((key, value) ->
+                assertThat(longs.get(key, -1L)).as("Long value of %d", key).isEqualTo(value));
+        assertThat(set.toArray())
+                .as("Set should hold exactly the added values")
+                .containsExactlyInAnyOrder(expectedSet.stream().mapToInt(Integer::intValue).toArray());
+
+        IntIntHashMap copy = new IntIntHashMap(ints);
+        copy.put(-7, Integer.MAX_VALUE);
+        assertThat(ints.get(-7, -1))
+                .as("Changing a copy should leave the original untouched")
+                .isEqualTo(expectedInts.getOrDefault(-7, -1));
+    }
+
+    @Test(priority = 4, description = "Verify addTo and addAll sum values per key")
+    @Story("Merging")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that addTo starts absent keys from zero and addAll merges partial maps like a reduction")
+    public void testAddToAndAddAllMerge() {
+        IntIntHashMap left = new IntIntHashMap();
+        IntIntHashMap right = new IntIntHashMap();
+        assertThat(left.addTo(5, 3)).as("addTo on an absent key should return the delta").isEqualTo(3);
+        assertThat(left.addTo(5, 4)).as("addTo should return the new sum").isEqualTo(7);
+        left.addTo(0, 2);
+        left.addTo(-3, 1);
+        right.addTo(5, 10);
+        right.addTo(0, 5);
+        right.addTo(9, 1);
+
+        left.addAll(right);
+
+        assertThat(left.get(5, 0)).as("Shared key should be summed").isEqualTo(17);
+        assertThat(left.get(0, 0)).as("Key 0 should be summed").isEqualTo(7);
+        assertThat(left.get(-3, 0)).as("Key only on the left should keep its value").isEqualTo(1);
+        assertThat(left.get(9, 0)).as("Key only on the right should be added").isEqualTo(1);
+        assertThat(left.size()).as("Merged size").isEqualTo(4);
+        assertThat(right.get(5, 0)).as("addAll should leave its argument untouched").isEqualTo(10);
+
+        // Partial sums merged from several parts equal one sequential sum, as in a parallel reduction
+        Random random = new Random(45);
+        IntLongHashMap sequential = new IntLongHashMap();
+        LongLongHashMap sequentialWide = new LongLongHashMap();
+        List<IntLongHashMap> parts = new ArrayList<>();
+        List<LongLongHashMap> wideParts = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            IntLongHashMap part = new IntLongHashMap(SMALL_EXPECTED_SIZE);
+            LongLongHashMap widePart = new LongLongHashMap(SMALL_EXPECTED_SIZE);
+            for (int i = 0; i < 5_000; i++) {
+                int key = random.nextInt(300) - 150;
+                long quantity = random.nextInt(10) + 1;
+                part.addTo(key, quantity);
+                widePart.addTo(key * 1_000_000_007L, quantity);
+                sequential.addTo(key, quantity);
+                sequentialWide.addTo(key * 1_000_000_007L, quantity);
+            }
+            parts.add(part);
+            wideParts.add(widePart);
+        }
+        IntLongHashMap merged = new IntLongHashMap();
+        parts.forEach(merged::addAll);
+        LongLongHashMap mergedWide = new LongLongHashMap();
+        wideParts.forEach(mergedWide::addAll);
+
+        assertThat(merged.size()).as("Merged key count").isEqualTo(sequential.size());
+        sequential.forEach((key, total) ->
+                assertThat(merged.get(key, -1L)).as("Merged total of %d", key).isEqualTo(total));
+        assertThat(mergedWide.size()).as("Merged long key count").isEqualTo(sequentialWide.size());
+        sequentialWide.forEach((key, total) ->
+                assertThat(mergedWide.get(key, -1L)).as("Merged total of long key %d", key).isEqualTo(total));
+
+        IntDoubleHashMap sums = new IntDoubleHashMap();
+        sums.addTo(0, 1.5);
+        sums.addTo(0, 2.25);
+        sums.addTo(-8, 0.5);
+        IntDoubleHashMap more = new IntDoubleHashMap();
+        more.put(-8, 4.0);
+        sums.putAll(more);
+        assertThat(sums.get(0, 0.0)).as("Double addTo should sum").isEqualTo(3.75);
+        assertThat(sums.get(-8, 0.0)).as("putAll should replace, not sum").isEqualTo(4.0);
+    }
+
+    @Test(priority = 5, description = "Verify putIfAbsent keeps the first value of a duplicate key")
+    @Story("Special Keys")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that putIfAbsent reports duplicates and leaves their value unchanged, across growth")
+    public void testPutIfAbsentOnDuplicates() {
+        StringIntHashMap index = new StringIntHashMap(SMALL_EXPECTED_SIZE);
+        assertThat(index.putIfAbsent("alice", 1)).as("First insert should add").isTrue();
+        assertThat(index.putIfAbsent("alice", 2)).as("Duplicate should not add").isFalse();
+        assertThat(index.get("alice", 0)).as("Duplicate should keep the first value").isEqualTo(1);
+        assertThat(index.size()).as("Duplicate should not change the size").isEqualTo(1);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(index.putIfAbsent("user" + i, i)).as("user%d should be new", i).isTrue();
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(index.putIfAbsent("user" + i, -i)).as("user%d should be a duplicate after growth", i).isFalse();
+            assertThat(index.get("user" + i, -1)).as("Value of user%d", i).isEqualTo(i);
+        }
+        assertThat(index.size()).as("Size after duplicates").isEqualTo(1_001);
+
+        index.put("alice", 5);
+        assertThat(index.get("alice", 0)).as("put should still replace").isEqualTo(5);
+        assertThat(index.get(null, -1)).as("A null lookup should read the default").isEqualTo(-1);
+    }
+
+    /**
+     * Int keys whose mixed hash falls into one bucket of a table of SMALL_CAPACITY slots
+     * Uses the same spread as the collections (golden-ratio multiply, fold the high half).
+     */
+    private static int[] collidingInts(int bucket, int count) {
+        int[] keys = new int[count];
+        int found = 0;
+        for (int key = 1; found < count; key++) {
+            int h = key * 0x9E3779B9;
+            if (((h ^ (h >>> 16)) & (SMALL_CAPACITY - 1)) == bucket) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+
+    private static long[] collidingLongs(int bucket, int count) {
+        long[] keys = new long[count];
+        int found = 0;
+        for (long key = 1L << 33; found < count; key++) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            if (((int) (h ^ (h >>> 32)) & (SMALL_CAPACITY - 1)) == bucket) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+}
@@ -1,15 +1,42 @@
 package tests;
 
 import api.base.BaseTest;
+import api.bulk.BulkItem;
+import api.bulk.BulkResult;
+import api.diff.DiffSummary;
+import api.diff.EntityChange;
+import api.diff.FieldChange;
+import api.diff.SnapshotDiff;
 import api.endpoints.ProductsAPI;
+import api.fixtures.FixtureRow;
+import api.fixtures.FixtureStore;
+import api.fixtures.FixtureStream;
+import api.metrics.MaxLatency;
 import api.pojos.request.ProductRequest;
 import api.pojos.response.ProductResponse;
 import api.utils.JsonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static tests.assertions.ResponseAssert.assertThat;
 
 /**
  * Test class for Products API endpoints
@@ -23,9 +50,12 @@ public class ProductsTests extends BaseTest {
     @Story("Get All Products")
     @Severity(SeverityLevel.CRITICAL)
     @Description("Test to verify that GET /products returns all products with status code 200")
+    @MaxLatency(p95 = 3000, max = 5000)
     public void testGetAllProducts() {
         Response response = ProductsAPI.getAllProducts();
         
+        assertThat(response).respondedWithin(Duration.ofSeconds(5));
+        
         assertThat(response.getStatusCode())
                 .as("Status code should be 200")
                 .isEqualTo(200);
@@ -41,10 +71,11 @@ public class ProductsTests extends BaseTest {
                 .isNotNull();
     }
 
-    @Test(priority = 2, description = "Verify getting a single product by ID returns 200 and correct product")
+    @Test(priority = 2, invocationCount = 3, description = "Verify getting a single product by ID returns 200 and correct product")
     @Story("Get Product By ID")
     @Severity(SeverityLevel.CRITICAL)
     @Description("Test to verify that GET /products/{id} returns the correct product")
+    @MaxLatency(p95 = 2000, max = 5000)
     public void testGetProductById() {
         int productId = 1;
         Response response = ProductsAPI.getProductById(productId);
@@ -240,5 +271,131 @@ public class ProductsTests extends BaseTest {
                 .as("Patched product title should match request")
                 .isEqualTo(patchProduct.getTitle());
     }
-}
 
+    @DataProvider(name = "productFixtures", parallel = true)
+    public Iterator<Object[]> productFixtures() {
+        return FixtureStream.parallelRows(FixtureStream.fixtureFile("products.jsonl"), ProductRequest.class);
+    }
+
+    @Test(priority = 11, dataProvider = "productFixtures", description = "Verify creating products from the fixture file")
+    @Story("Create Product")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that POST /products accepts every product in the streamed fixture file")
+    public void testCreateProductFromFixture(FixtureRow<ProductRequest> row) {
+        ProductRequest product = row.get();
+        Response response = ProductsAPI.createProduct(product);
+
+        assertThat(response.getStatusCode())
+                .as("Status code should be 200 or 201 for " + row)
+                .isIn(200, 201);
+
+        ProductResponse createdProduct = JsonUtils.fromResponse(response, ProductResponse.class);
+
+        assertThat(createdProduct.getTitle())
+                .as("Created product title should match " + row)
+                .isEqualTo(product.getTitle());
+    }
+
+    @Test(priority = 12, description = "Verify streaming products page by page returns the whole catalogue")
+    @Story("Get All Products")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that paging GET /products?limit={n} visits every product exactly once, in order")
+    public void testStreamAllProducts() {
+        List<ProductResponse> allProducts = FixtureStore.suite().products();
+
+        List<Integer> streamedIds;
+        try (Stream<ProductResponse> products = ProductsAPI.getProductPages(7).stream()) {
+            streamedIds = products.map(ProductResponse::getId).collect(Collectors.toList());
+        }
+
+        assertThat(streamedIds)
+                .as("Paged products should match GET /products")
+                .containsExactlyElementsOf(allProducts.stream().map(ProductResponse::getId).collect(Collectors.toList()));
+    }
+
+    @Test(priority = 13, description = "Verify creating products in bulk returns every result in order")
+    @Story("Create Product")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that pipelined POST /products calls succeed and keep the input order")
+    public void testCreateProductsInBulk() {
+        List<ProductRequest> products = IntStream.range(0, 10)
+                .mapToObj(i -> ProductRequest.builder()
+                        .title("Bulk Product " + i)
+                        .price(10.0 + i)
+                        .description("Created in bulk")
+                        .image("https://i.pravatar.cc/300")
+                        .category("electronics")
+                        .build())
+                .collect(Collectors.toList());
+
+        BulkResult<ProductResponse> result = ProductsAPI.createProducts(products, 4);
+
+        assertThat(result.failures())
+                .as("No bulk item should fail")
+                .isEmpty();
+
+        assertThat(result.getItems())
+                .as("Results should be in input order")
+                .extracting(BulkItem::getIndex)
+                .containsExactly(IntStream.range(0, 10).boxed().toArray(Integer[]::new));
+
+        assertThat(result.values())
+                .as("Created product titles should match the requests")
+                .extracting(ProductResponse::getTitle)
+                .containsExactly(products.stream().map(ProductRequest::getTitle).toArray(String[]::new));
+    }
+
+    @Test(priority = 14, description = "Verify diffing two product snapshots reports added, removed and changed products")
+    @Story("Get All Products")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that a snapshot diff of GET /products against an edited copy finds every edit")
+    public void testSnapshotDiff() throws IOException {
+        List<JsonNode> before = FixtureStore.suite().products().stream()
+                .map(JsonUtils::toTree)
+                .collect(Collectors.toList());
+        assertThat(before.size()).as("Catalogue needs at least two products").isGreaterThanOrEqualTo(2);
+
+        List<JsonNode> after = new ArrayList<>(before);
+        JsonNode removed = after.remove(after.size() - 1);
+        ObjectNode repriced = after.get(0).deepCopy();
+        repriced.put("price", repriced.get("price").decimalValue().add(BigDecimal.ONE));
+        after.set(0, repriced);
+        ObjectNode added = repriced.deepCopy();
+        added.put("id", before.stream().mapToLong(node -> node.get("id").longValue()).max().getAsLong() + 1);
+        after.add(added);
+
+        // runSize(2) spills every few products, so the external sort and merge are exercised too
+        Path runDir = Files.createTempDirectory("snapshot-diff-");
+        try {
+            for (SnapshotDiff snapshotDiff : List.of(SnapshotDiff.byId(), SnapshotDiff.byId().runSize(2).tempDir(runDir))) {
+                List<EntityChange> changes = new ArrayList<>();
+                DiffSummary summary = snapshotDiff.diff(before.iterator(), after.iterator(), changes::add);
+
+                assertThat(changes)
+                        .as("Changes should be reported in ID order")
+                        .extracting(EntityChange::getType, EntityChange::getId)
+                        .containsExactly(
+                                tuple(EntityChange.Type.CHANGED, repriced.get("id").longValue()),
+                                tuple(EntityChange.Type.REMOVED, removed.get("id").longValue()),
+                                tuple(EntityChange.Type.ADDED, added.get("id").longValue()));
+
+                assertThat(changes.get(0).getFields())
+                        .as("Only the price should have changed")
+                        .extracting(FieldChange::getPath)
+                        .containsExactly("price");
+
+                assertThat(summary.getUnchanged())
+                        .as("Every other product should be unchanged")
+                        .isEqualTo(before.size() - 2);
+            }
+
+            try (Stream<Path> left = Files.list(runDir)) {
+                assertThat(left)
+                        .as("Sorted runs should be deleted after the diff")
+                        .isEmpty();
+            }
+        } finally {
+            Files.deleteIfExists(runDir);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package tests;
+
+import api.retry.RetryBudget;
+import api.retry.RetryPolicy;
+import api.retry.RetryingHttpClient;
+import com.sun.net.httpserver.HttpServer;
+import io.qameta.allure.*;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.util.EntityUtils;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for retrying HTTP calls
+ * Runs against a local server, so no API calls are made
+ */
+@Epic("E-Commerce API")
+@Feature("Retries")
+public class RetryTests {
+
+    private static final int SOCKET_TIMEOUT_MILLIS = 300;
+
+    @Test(priority = 1, description = "Verify a socket timeout is retried and the retry succeeds")
+    @Story("Transient Failures")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that RetryingHttpClient retries a GET whose first response exceeds the socket timeout")
+    @SuppressWarnings("deprecation")
+    public void testSocketTimeoutIsRetried() throws IOException {
+        AtomicInteger attempts = new AtomicInteger();
+        ExecutorService handlers = Executors.newCachedThreadPool();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(handlers);
+        server.createContext("/slow-once", exchange -> {
+            try {
+                if (attempts.incrementAndGet() == 1) {
+                    Thread.sleep(SOCKET_TIMEOUT_MILLIS * 4L);
+                }
+                byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException | IOException e) {
+                exchange.close();
+            }
+        });
+        server.start();
+
+        RetryPolicy policy = RetryPolicy.builder().maxRetries(2).baseDelayMillis(10).maxDelayMillis(50).build();
+        RetryBudget budget = new RetryBudget(10);
+        RetryingHttpClient client = new RetryingHttpClient(null, policy, budget);
+        HttpConnectionParams.setSoTimeout(client.getParams(), SOCKET_TIMEOUT_MILLIS);
+        try {
+            HttpResponse response = client.execute(new HttpGet(
+                    "http://localhost:" + server.getAddress().getPort() + "/slow-once"));
+            EntityUtils.consume(response.getEntity());
+
+            assertThat(response.getStatusLine().getStatusCode())
+                    .as("The retried call should succeed")
+                    .isEqualTo(200);
+
+            assertThat(RetryingHttpClient.lastCallRetries())
+                    .as("The timed-out attempt should be retried once")
+                    .isEqualTo(1);
+
+            assertThat(RetryingHttpClient.lastCallExhausted())
+                    .as("Retries should not be exhausted")
+                    .isFalse();
+
+            assertThat(attempts.get())
+                    .as("The server should see the timed-out attempt and the retry")
+                    .isEqualTo(2);
+        } finally {
+            client.getConnectionManager().shutdown();
+            server.stop(0);
+            handlers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package tests;
+
+import api.scheduling.DurationAwareScheduler;
+import api.scheduling.DurationHistory;
+import api.scheduling.PriorityLevelExecutorFactory;
+import api.scheduling.ShardSelector;
+import api.scheduling.VirtualThreadExecutorFactory;
+import io.qameta.allure.*;
+import lombok.Value;
+import org.testng.TestNG;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.thread.IExecutorFactory;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the test scheduling extensions
+ * Runs a small nested TestNG suite, so no API calls are made
+ */
+@Epic("E-Commerce API")
+@Feature("Test Scheduling")
+public class SchedulingTests {
+
+    private static final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+    private static final Map<String, Span> spans = new ConcurrentHashMap<>();
+
+    @Test(priority = 1, description = "Verify priority levels hold on the virtual thread executor with duration history")
+    @Story("Duration-Aware Scheduling")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that methods run level by level in priority order, longest-first within a level")
+    public void testPriorityOrderOnVirtualExecutor() throws IOException {
+        Path durations = Files.createTempFile("test-durations-", ".json");
+        String className = PrioritizedMethods.class.getName();
+        DurationHistory history = new DurationHistory();
+        history.update(Map.of(
+                className + ".setUpShort", 10.0,
+                className + ".setUpLong", 500.0,
+                className + ".readLong", 5000.0,
+                className + ".cleanUp", 1.0));
+        history.writeTo(durations.toString());
+
+        String previousFile = System.getProperty(DurationHistory.FILE_PROPERTY);
+        System.setProperty(DurationHistory.FILE_PROPERTY, durations.toString());
+        executed.clear();
+        try {
+            TestNG testng = new TestNG(false);
+            testng.setTestClasses(new Class[]{PrioritizedMethods.class});
+            testng.setParallel(XmlSuite.ParallelMode.METHODS);
+            // One worker makes the start order the executed order
+            testng.setThreadCount(1);
+            testng.setExecutorFactory(new VirtualThreadExecutorFactory());
+            testng.addListener(new DurationAwareScheduler());
+            testng.setListenersToSkipFromBeingWiredInViaServiceLoaders("io.qameta.allure.testng.AllureTestNg");
+            testng.setVerbose(0);
+            testng.run();
+
+            assertThat(testng.hasFailure())
+                    .as("Nested suite should pass")
+                    .isFalse();
+        } finally {
+            if (previousFile != null) {
+                System.setProperty(DurationHistory.FILE_PROPERTY, previousFile);
+            } else {
+                System.clearProperty(DurationHistory.FILE_PROPERTY);
+            }
+            Files.deleteIfExists(durations);
+        }
+
+        assertThat(executed)
+                .as("Priority levels should run in order, the longest method of a level first")
+                .containsExactly("setUpLong", "setUpShort", "readLong", "cleanUp");
+    }
+
+    @DataProvider(name = "levelExecutors")
+    public Object[][] levelExecutors() {
+        return new Object[][]{
+                {new PriorityLevelExecutorFactory()},
+                {new VirtualThreadExecutorFactory()}
+        };
+    }
+
+    @Test(priority = 2, dataProvider = "levelExecutors", description = "Verify a priority level starts only after the previous level has finished")
+    @Story("Duration-Aware Scheduling")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that with three threads no method starts before every method of a lower priority has finished")
+    public void testPriorityLevelsAreBarriers(IExecutorFactory executorFactory) {
+        spans.clear();
+        TestNG testng = new TestNG(false);
+        testng.setTestClasses(new Class[]{LeveledMethods.class, OtherLeveledMethods.class});
+        testng.setParallel(XmlSuite.ParallelMode.METHODS);
+        testng.setThreadCount(3);
+        testng.setExecutorFactory(executorFactory);
+        testng.setListenersToSkipFromBeingWiredInViaServiceLoaders("io.qameta.allure.testng.AllureTestNg");
+        testng.setVerbose(0);
+        testng.run();
+
+        assertThat(testng.hasFailure())
+                .as("Nested suite should pass")
+                .isFalse();
+
+        assertThat(spans)
+                .as("Every nested method should have run")
+                .hasSize(7);
+
+        spans.forEach((name, span) -> spans.values().stream()
+                .filter(earlier -> earlier.getPriority() < span.getPriority())
+                .forEach(earlier -> assertThat(span.getStartNanos())
+                        .as("%s (priority %d) should start after every lower priority has finished", name, span.getPriority())
+                        .isGreaterThanOrEqualTo(earlier.getEndNanos())));
+
+        assertThat(spans.get("longSetUp").getEndNanos())
+                .as("Methods of one level should still run in parallel")
+                .isGreaterThan(spans.get("shortSetUp").getStartNanos())
+                .isGreaterThan(spans.get("otherSetUp").getStartNanos());
+    }
+
+    @Test(priority = 3, description = "Verify sharding assigns every method once, keeps dependencies together and balances the shards")
+    @Story("Sharding")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that ShardSelector splits a suite into two shards by duration history without splitting dependent methods")
+    public void testShardSelectorSplitsSuite() throws IOException {
+        String catalogue = ShardedCatalogue.class.getName();
+        String orders = ShardedOrders.class.getName();
+        Map<String, Double> millis = new HashMap<>();
+        millis.put(catalogue + ".slowSearch", 600.0);
+        millis.put(catalogue + ".bulkImport", 500.0);
+        millis.put(catalogue + ".createItem", 250.0);
+        millis.put(catalogue + ".readItem", 150.0);
+        millis.put(catalogue + ".seedData", 100.0);
+        millis.put(catalogue + ".report", 200.0);
+        millis.put(catalogue + ".excluded", 900.0);
+        millis.put(orders + ".useSeed", 200.0);
+        Path durations = Files.createTempFile("test-durations-", ".json");
+        DurationHistory history = new DurationHistory();
+        history.update(millis);
+        history.writeTo(durations.toString());
+
+        Map<String, Integer> shardOf = new HashMap<>();
+        double[] loads = new double[2];
+        Map<String, String> previous = new HashMap<>();
+        for (String key : List.of(DurationHistory.FILE_PROPERTY, ShardSelector.COUNT_PROPERTY, ShardSelector.INDEX_PROPERTY)) {
+            previous.put(key, System.getProperty(key));
+        }
+        System.setProperty(DurationHistory.FILE_PROPERTY, durations.toString());
+        System.setProperty(ShardSelector.COUNT_PROPERTY, "2");
+        try {
+            for (int shard = 0; shard < 2; shard++) {
+                System.setProperty(ShardSelector.INDEX_PROPERTY, String.valueOf(shard));
+                XmlSuite suite = shardingSuite();
+                new ShardSelector().alter(List.of(suite));
+
+                for (XmlTest test : suite.getTests()) {
+                    for (XmlClass xmlClass : test.getXmlClasses()) {
+                        assertThat(xmlClass.getExcludedMethods())
+                                .as("Excludes should be folded into the include list")
+                                .isEmpty();
+                        for (XmlInclude include : xmlClass.getIncludedMethods()) {
+                            String method = xmlClass.getName() + "." + include.getName();
+                            assertThat(shardOf.put(method, shard))
+                                    .as("%s should be assigned to one shard only", method)
+                                    .isNull();
+                            loads[shard] += millis.get(method);
+                        }
+                    }
+                }
+            }
+        } finally {
+            previous.forEach((key, value) -> {
+                if (value != null) {
+                    System.setProperty(key, value);
+                } else {
+                    System.clearProperty(key);
+                }
+            });
+            Files.deleteIfExists(durations);
+        }
+
+        assertThat(shardOf.keySet())
+                .as("Every method except the excluded one should run on some shard")
+                .containsExactlyInAnyOrder(catalogue + ".slowSearch", catalogue + ".bulkImport",
+                        catalogue + ".createItem", catalogue + ".readItem", catalogue + ".seedData",
+                        catalogue + ".report", orders + ".useSeed");
+
+        assertThat(shardOf.get(catalogue + ".readItem"))
+                .as("A method should share the shard of the method it depends on")
+                .isEqualTo(shardOf.get(catalogue + ".createItem"));
+
+        assertThat(shardOf.get(orders + ".useSeed"))
+                .as("A method should share the shard of the group it depends on, even across classes")
+                .isEqualTo(shardOf.get(catalogue + ".seedData"));
+
+        assertThat(Math.abs(loads[0] - loads[1]))
+                .as("Shard loads %s should differ by no more than the lightest unit", Arrays.toString(loads))
+                .isLessThanOrEqualTo(200.0);
+    }
+
+    /**
+     * One test block with both sharded classes; excluded is removed before sharding
+     */
+    private static XmlSuite shardingSuite() {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("Sharded");
+        XmlTest test = new XmlTest(suite);
+        test.setName("Sharded Tests");
+        XmlClass catalogue = new XmlClass(ShardedCatalogue.class);
+        catalogue.setExcludedMethods(new ArrayList<>(List.of("excluded")));
+        test.setXmlClasses(new ArrayList<>(List.of(catalogue, new XmlClass(ShardedOrders.class))));
+        return suite;
+    }
+
+    private static void run(String name, int priority, long sleepMillis) {
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(sleepMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        spans.put(name, new Span(priority, start, System.nanoTime()));
+    }
+
+    /**
+     * Start and end of one nested method
+     */
+    @Value
+    private static class Span {
+        int priority;
+        long startNanos;
+        long endNanos;
+    }
+
+    /**
+     * Nested suite; the long priority-1 method outlasts the short ones, so a freed thread would pick up priority 2 early
+     */
+    public static class LeveledMethods {
+
+        @Test(priority = 1)
+        public void longSetUp() {
+            run("longSetUp", 1, 400);
+        }
+
+        @Test(priority = 1)
+        public void shortSetUp() {
+            run("shortSetUp", 1, 50);
+        }
+
+        @Test(priority = 2)
+        public void read() {
+            run("read", 2, 150);
+        }
+
+        @Test(priority = 3)
+        public void cleanUp() {
+            run("cleanUp", 3, 10);
+        }
+    }
+
+    /**
+     * Second class of the nested suite; levels span classes
+     */
+    public static class OtherLeveledMethods {
+
+        @Test(priority = 1)
+        public void otherSetUp() {
+            run("otherSetUp", 1, 50);
+        }
+
+        @Test(priority = 2)
+        public void otherRead() {
+            run("otherRead", 2, 50);
+        }
+
+        @Test(priority = 3)
+        public void otherCleanUp() {
+            run("otherCleanUp", 3, 10);
+        }
+    }
+
+    /**
+     * Sharded class; readItem depends on createItem, and seedData is in the group ShardedOrders depends on
+     * Abstract, as it is only read by ShardSelector and must not be picked up as a test class itself
+     */
+    public abstract static class ShardedCatalogue {
+
+        @Test
+        public void slowSearch() {
+        }
+
+        @Test
+        public void bulkImport() {
+        }
+
+        @Test
+        public void createItem() {
+        }
+
+        @Test(dependsOnMethods = "createItem")
+        public void readItem() {
+        }
+
+        @Test(groups = "seed")
+        public void seedData() {
+        }
+
+        @Test
+        public void report() {
+        }
+
+        @Test
+        public void excluded() {
+        }
+    }
+
+    /**
+     * Second sharded class, linked to the first through a group dependency
+     */
+    public abstract static class ShardedOrders {
+
+        @Test(dependsOnGroups = "seed")
+        public void useSeed() {
+        }
+    }
+
+    /**
+     * Nested suite; the longest method has a later priority, so duration alone would run it first
+     */
+    public static class PrioritizedMethods {
+
+        @Test(priority = 1)
+        public void setUpShort() {
+            executed.add("setUpShort");
+        }
+
+        @Test(priority = 1)
+        public void setUpLong() {
+            executed.add("setUpLong");
+        }
+
+        @Test(priority = 2)
+        public void readLong() {
+            executed.add("readLong");
+        }
+
+        @Test(priority = 3)
+        public void cleanUp() {
+            executed.add("cleanUp");
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package tests;
+
+import api.metrics.RequestTiming;
+import api.metrics.TimingLog;
+import api.metrics.TimingLogReader;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the binary timing log
+ * Writes and reads log files in a temporary directory, so no API calls are made
+ */
+@Epic("E-Commerce API")
+@Feature("Timing Log")
+public class TimingLogTests {
+
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 32;
+    private static final int THREADS = 8;
+    private static final int RECORDS_PER_THREAD = 2_000;
+    private static final long BASE_MILLIS = 1_700_000_000_000L;
+    private static final String[] ENDPOINTS = {"GET /products", "GET /carts/{id}", "POST /users"};
+
+    @Test(priority = 1, description = "Verify records written from several threads read back complete and unchanged")
+    @Story("Binary Log")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify the header, the 32-byte records and the endpoint sidecar after a multi-threaded write")
+    public void testRecordsRoundTripFromSeveralThreads() throws Exception {
+        Path dir = Files.createTempDirectory("timing-log-");
+        Path file = dir.resolve("timing.log");
+        long maxBytes = 1024 * 1024;
+        try {
+            TimingLog log = TimingLog.open(file.toString(), maxBytes);
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<?>> writers = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    int thread = t;
+                    writers.add(pool.submit(() -> {
+                        for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                            log.onRequest(timing(thread, i));
+                        }
+                    }));
+                }
+                for (Future<?> writer : writers) {
+                    writer.get();
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+            log.close();
+            long total = (long) THREADS * RECORDS_PER_THREAD;
+
+            assertThat(log.getWritten()).as("Every record should be written").isEqualTo(total);
+            assertThat(log.getDropped()).as("No record should be dropped").isZero();
+
+            long capacity = (maxBytes - HEADER_SIZE) / RECORD_SIZE;
+            ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file), 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            assertThat(Files.size(file)).as("File size").isEqualTo(HEADER_SIZE + capacity * RECORD_SIZE);
+            assertThat(header.getInt(0)).as("Magic").isEqualTo(0x52544C47);
+            assertThat(header.getInt(4)).as("Version").isEqualTo(1);
+            assertThat(header.getInt(8)).as("Record size").isEqualTo(RECORD_SIZE);
+            assertThat(header.getInt(12)).as("Header size").isEqualTo(HEADER_SIZE);
+            assertThat(header.getLong(16)).as("Capacity").isEqualTo(capacity);
+            assertThat(header.getLong(24)).as("Record count").isEqualTo(total);
+            assertThat(header.getLong(32)).as("Start time").isPositive();
+
+            TimingLogReader reader = new TimingLogReader(file);
+            assertThat(reader.getEndpoints())
+                    .as("The sidecar should hold each endpoint once")
+                    .containsExactlyInAnyOrder(ENDPOINTS);
+
+            boolean[] seen = new boolean[(int) total];
+            List<String> mismatches = new ArrayList<>();
+            reader.forEach((startEpochMillis, endpointId, statusCode, latencyMicros, timeToFirstByteMicros,
+                            requestBytes, responseBytes) -> {
+                int key = (int) (startEpochMillis - BASE_MILLIS);
+                int thread = key / RECORDS_PER_THREAD;
+                int i = key % RECORDS_PER_THREAD;
+                if (key < 0 || key >= total || seen[key]) {
+                    mismatches.add("unexpected or repeated record " + startEpochMillis);
+                    return;
+                }
+                seen[key] = true;
+                if (!reader.endpoint(endpointId).equals(ENDPOINTS[i % ENDPOINTS.length])
+                        || statusCode != 200 + thread
+                        || latencyMicros != i + 1
+                        || timeToFirstByteMicros != thread + 1
+                        || requestBytes != i
+                        || responseBytes != thread * 10_000 + i) {
+                    mismatches.add("record " + thread + "/" + i);
+                }
+            });
+
+            assertThat(mismatches).as("Every record should read back with its own fields").isEmpty();
+            int read = 0;
+            for (boolean record : seen) {
+                read += record ? 1 : 0;
+            }
+            assertThat(read).as("Every written record should be read back").isEqualTo((int) total);
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    @Test(priority = 2, description = "Verify the log never grows past its size limit")
+    @Story("Binary Log")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that records beyond the preallocated capacity, or after close, are counted as dropped")
+    public void testSizeBoundDropsOverflow() throws IOException {
+        Path dir = Files.createTempDirectory("timing-log-");
+        Path file = dir.resolve("bounded.log");
+        int capacity = 256;
+        try {
+            TimingLog log = TimingLog.open(file.toString(), HEADER_SIZE + (long) capacity * RECORD_SIZE);
+            for (int i = 0; i < capacity + 44; i++) {
+                log.onRequest(timing(0, i));
+            }
+            log.close();
+            log.onRequest(timing(0, 0));
+
+            assertThat(log.getWritten()).as("Written records should stop at the capacity").isEqualTo(capacity);
+            assertThat(log.getDropped()).as("Overflow and late records should be dropped").isEqualTo(45);
+            assertThat(Files.size(file))
+                    .as("The file should keep its preallocated size")
+                    .isEqualTo(HEADER_SIZE + (long) capacity * RECORD_SIZE);
+
+            long[] read = new long[1];
+            new TimingLogReader(file).forEach((startEpochMillis, endpointId, statusCode, latencyMicros,
+                                               timeToFirstByteMicros, requestBytes, responseBytes) -> read[0]++);
+            assertThat(read[0]).as("The reader should see exactly the stored records").isEqualTo(capacity);
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    /**
+     * Record i of a thread; every field is derived from both, so a torn or misplaced record shows
+     */
+    private static RequestTiming timing(int thread, int i) {
+        return RequestTiming.builder()
+                .endpoint(ENDPOINTS[i % ENDPOINTS.length])
+                .statusCode(200 + thread)
+                .startEpochMillis(BASE_MILLIS + (long) thread * RECORDS_PER_THREAD + i)
+                .timeToFullBodyNanos((i + 1) * 1_000L)
+                .timeToFirstByteNanos((thread + 1) * 1_000L)
+                .requestBytes(i)
+                .responseBytes(thread * 10_000L + i)
+                .build();
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -2,6 +2,11 @@ package tests;
 
 import api.base.BaseTest;
 import api.endpoints.UsersAPI;
+import api.fixtures.FixtureStore;
+import api.index.GeoIndex;
+import api.index.GeoMatch;
+import api.index.UserDirectory;
+import api.metrics.MaxLatency;
 import api.pojos.request.UserRequest;
 import api.pojos.response.UserResponse;
 import api.utils.JsonUtils;
@@ -9,7 +14,17 @@ import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.testng.annotations.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static tests.assertions.ResponseAssert.assertThat;
 
 /**
  * Test class for Users API endpoints
@@ -23,9 +38,12 @@ public class UsersTests extends BaseTest {
     @Story("Get All Users")
     @Severity(SeverityLevel.CRITICAL)
     @Description("Test to verify that GET /users returns all users with status code 200")
+    @MaxLatency(p95 = 3000, max = 5000)
     public void testGetAllUsers() {
         Response response = UsersAPI.getAllUsers();
         
+        assertThat(response).respondedWithin(Duration.ofSeconds(5));
+        
         assertThat(response.getStatusCode())
                 .as("Status code should be 200")
                 .isEqualTo(200);
@@ -41,10 +59,11 @@ public class UsersTests extends BaseTest {
                 .isNotNull();
     }
 
-    @Test(priority = 2, description = "Verify getting a single user by ID returns 200 and correct user")
+    @Test(priority = 2, invocationCount = 3, description = "Verify getting a single user by ID returns 200 and correct user")
     @Story("Get User By ID")
     @Severity(SeverityLevel.CRITICAL)
     @Description("Test to verify that GET /users/{id} returns the correct user")
+    @MaxLatency(p95 = 2000, max = 5000)
     public void testGetUserById() {
         int userId = 1;
         Response response = UsersAPI.getUserById(userId);
@@ -200,5 +219,114 @@ public class UsersTests extends BaseTest {
         assertThat(user.getAddress()).as("Address should not be null").isNotNull();
         assertThat(user.getPhone()).as("Phone should not be null").isNotNull();
     }
-}
 
+    @Test(priority = 9, description = "Verify publishing users page by page honours demand and completes")
+    @Story("Get All Users")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that the paged users publisher delivers every user against small request(n) demand")
+    public void testPublishAllUsers() throws Exception {
+        int expectedUsers = FixtureStore.suite().users().size();
+        CompletableFuture<List<UserResponse>> received = new CompletableFuture<>();
+
+        UsersAPI.getUserPages(3).publisher().subscribe(new Flow.Subscriber<UserResponse>() {
+            private final List<UserResponse> users = new ArrayList<>();
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(2);
+            }
+
+            @Override
+            public void onNext(UserResponse user) {
+                users.add(user);
+                if (users.size() % 2 == 0) {
+                    subscription.request(2);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                received.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                received.complete(users);
+            }
+        });
+
+        List<UserResponse> users = received.get(30, TimeUnit.SECONDS);
+
+        assertThat(users)
+                .as("Published users should cover GET /users")
+                .hasSize(expectedUsers)
+                .extracting(UserResponse::getId)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test(priority = 10, description = "Verify the user directory finds every user by ID, username and email")
+    @Story("Get All Users")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that UserDirectory indexes every user of GET /users by ID, username and case-insensitive email")
+    public void testUserDirectoryLookups() {
+        try (UserDirectory directory = UserDirectory.start(Duration.ofMinutes(1))) {
+            assertThat(directory.all())
+                    .as("Directory should hold every user")
+                    .hasSameSizeAs(FixtureStore.suite().users());
+
+            for (UserResponse user : FixtureStore.suite().users()) {
+                assertThat(directory.byId(user.getId()).getId())
+                        .as("Lookup by ID " + user.getId())
+                        .isEqualTo(user.getId());
+                assertThat(directory.byUsername(user.getUsername()).getId())
+                        .as("Lookup by username " + user.getUsername())
+                        .isEqualTo(user.getId());
+                assertThat(directory.byEmail(user.getEmail().toUpperCase()).getId())
+                        .as("Lookup by email " + user.getEmail())
+                        .isEqualTo(user.getId());
+            }
+
+            assertThat(directory.byUsername("no-such-user"))
+                    .as("Unknown username should not be found")
+                    .isNull();
+        }
+    }
+
+    @Test(priority = 11, description = "Verify nearest-user and radius queries over user geolocations")
+    @Story("Get All Users")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to verify that GeoIndex nearest and within-radius queries match brute-force distances over GET /users")
+    public void testNearestUsers() {
+        List<UserResponse> users = FixtureStore.suite().users();
+        GeoIndex geo = GeoIndex.of(users);
+        UserResponse.GeolocationResponse origin = users.get(0).getAddress().getGeolocation();
+        double lat = Double.parseDouble(origin.getLat());
+        double lng = Double.parseDouble(origin.getLng());
+        List<Double> distances = users.stream()
+                .map(user -> user.getAddress().getGeolocation())
+                .map(point -> GeoIndex.distanceKm(lat, lng, Double.parseDouble(point.getLat()), Double.parseDouble(point.getLng())))
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertThat(geo.size())
+                .as("Every user should be indexed")
+                .isEqualTo(users.size());
+
+        List<GeoMatch> nearest = geo.nearest(lat, lng, 3);
+        assertThat(nearest)
+                .as("Nearest users should be found")
+                .hasSize(3);
+        for (int i = 0; i < nearest.size(); i++) {
+            assertThat(nearest.get(i).getDistanceKm())
+                    .as("Distance of nearest user " + (i + 1) + " should match brute force")
+                    .isCloseTo(distances.get(i), within(1e-6));
+        }
+
+        double radiusKm = distances.get(distances.size() / 2);
+        assertThat(geo.countWithin(lat, lng, radiusKm))
+                .as("Users within " + radiusKm + " km should match brute force")
+                .isEqualTo((int) distances.stream().filter(distance -> distance <= radiusKm).count());
+    }
+}
@@ -0,0 +1,55 @@
+package tests.assertions;
+
+import io.restassured.response.Response;
+import org.assertj.core.api.AbstractAssert;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AssertJ assertions for RestAssured responses
+ * Adds status and response-time checks, e.g. assertThat(response).respondedWithin(Duration.ofSeconds(2))
+ */
+public class ResponseAssert extends AbstractAssert<ResponseAssert, Response> {
+
+    public ResponseAssert(Response actual) {
+        super(actual, ResponseAssert.class);
+    }
+
+    /**
+     * Entry point for response assertions
+     * @param actual Response under test
+     * @return ResponseAssert
+     */
+    public static ResponseAssert assertThat(Response actual) {
+        return new ResponseAssert(actual);
+    }
+
+    /**
+     * Verify the response was received within the given duration
+     * @param limit Maximum response time
+     * @return this assertion
+     */
+    public ResponseAssert respondedWithin(Duration limit) {
+        isNotNull();
+        long elapsedMillis = actual.getTimeIn(TimeUnit.MILLISECONDS);
+        if (elapsedMillis > limit.toMillis()) {
+            failWithMessage("Expected response <%s> within <%d ms> but it took <%d ms>",
+                    actual.getStatusLine(), limit.toMillis(), elapsedMillis);
+        }
+        return this;
+    }
+
+    /**
+     * Verify the response status code
+     * @param statusCode Expected status code
+     * @return this assertion
+     */
+    public ResponseAssert hasStatusCode(int statusCode) {
+        isNotNull();
+        if (actual.getStatusCode() != statusCode) {
+            failWithMessage("Expected status code <%d> but was <%d>", statusCode, actual.getStatusCode());
+        }
+        return this;
+    }
+}